@@ -0,0 +1,119 @@
+package vn.edu.husc.researchhub.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import vn.edu.husc.researchhub.service.ConcurrencyLimiterService;
+
+/**
+ * Sheds load per route group before the request reaches the controller (and the DB pool).
+ * Runs right after the security chain so rejected responses still carry CORS headers and
+ * requests that security turns away (401/403) never take a permit. Anonymous requests to
+ * permitAll routes (e.g. /api/auth/**) do reach this filter; they pass through unlimited, so
+ * anonymous clients cannot use up the permits of signed-in users.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+  private final ConcurrencyLimiterService concurrencyLimiterService;
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    String group =
+        "OPTIONS".equals(request.getMethod()) || !isAuthenticated()
+            ? null
+            : concurrencyLimiterService.resolveGroup(
+                request.getRequestURI().substring(request.getContextPath().length()));
+    if (group == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    if (!concurrencyLimiterService.tryAcquire(group)) {
+      reject(response);
+      return;
+    }
+
+    long start = System.nanoTime();
+    AtomicBoolean released = new AtomicBoolean();
+    Runnable release =
+        () -> {
+          if (released.compareAndSet(false, true)) {
+            concurrencyLimiterService.release(group, System.nanoTime() - start);
+          }
+        };
+    boolean async = false;
+    try {
+      filterChain.doFilter(request, response);
+      if (request.isAsyncStarted()) {
+        // Streaming responses (e.g. ZIP export) keep the permit until the async work ends
+        request.getAsyncContext().addListener(new ReleasingListener(release));
+        async = true;
+      }
+    } finally {
+      if (!async) {
+        release.run();
+      }
+    }
+  }
+
+  private static boolean isAuthenticated() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    return authentication != null
+        && authentication.isAuthenticated()
+        && !(authentication instanceof AnonymousAuthenticationToken);
+  }
+
+  private void reject(HttpServletResponse response) throws IOException {
+    response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+    response.setHeader(
+        HttpHeaders.RETRY_AFTER, String.valueOf(concurrencyLimiterService.getRetryAfterSeconds()));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setCharacterEncoding("UTF-8");
+    response
+        .getWriter()
+        .write(
+            "{\"status\":503,\"error\":\"Service Unavailable\","
+                + "\"message\":\"Hệ thống đang bận, vui lòng thử lại sau\"}");
+  }
+
+  private record ReleasingListener(Runnable release) implements AsyncListener {
+    @Override
+    public void onComplete(AsyncEvent event) {
+      release.run();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+      release.run();
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+      release.run();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {}
+  }
+}
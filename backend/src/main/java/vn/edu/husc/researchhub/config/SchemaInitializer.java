@@ -0,0 +1,209 @@
+package vn.edu.husc.researchhub.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tạo các đối tượng CSDL mà entity cần nhưng schema gốc chưa có (ddl-auto=none nên Hibernate
+ * không tự tạo, các annotation @Index chỉ mang tính mô tả). Mỗi thay đổi được kiểm tra qua
+ * information_schema trước khi chạy nên an toàn khi khởi động lại nhiều lần.
+ * Chạy trong lúc khởi tạo context, tức là trước khi web server nhận request.
+ */
+@Component
+@RequiredArgsConstructor
+public class SchemaInitializer {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @PostConstruct
+  public void ensureSchema() {
+    // Chat sidebar summaries; the upsert in ConversationSummaryRepository relies on the pair key
+    ensureTable(
+        "conversation_summary",
+        "CREATE TABLE conversation_summary ("
+            + " id INT NOT NULL AUTO_INCREMENT,"
+            + " user_a_id INT NOT NULL,"
+            + " user_b_id INT NOT NULL,"
+            + " last_message_id INT NULL,"
+            + " last_message_preview VARCHAR(200) NULL,"
+            + " last_message_at DATETIME(6) NULL,"
+            + " last_sender_id INT NULL,"
+            + " unread_a INT NOT NULL DEFAULT 0,"
+            + " unread_b INT NOT NULL DEFAULT 0,"
+            + " read_up_to_a INT NULL,"
+            + " read_up_to_b INT NULL,"
+            + " PRIMARY KEY (id),"
+            + " UNIQUE KEY uk_conversation_summary_pair (user_a_id, user_b_id),"
+            + " KEY idx_conversation_summary_a_last (user_a_id, last_message_at),"
+            + " KEY idx_conversation_summary_b_last (user_b_id, last_message_at)"
+            + ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4");
+    // Tables created by hand before this existed may lack the key; without it the upsert
+    // inserts a second row per pair instead of updating
+    ensureIndex(
+        "conversation_summary",
+        "uk_conversation_summary_pair",
+        "ALTER TABLE conversation_summary ADD UNIQUE KEY uk_conversation_summary_pair"
+            + " (user_a_id, user_b_id)");
+
+    // Email outbox; dispatchers claim due rows through (status, next_attempt_at).
+    // body is cleared once a row is SENT or FAILED, so it is nullable
+    ensureTable(
+        "email_outbox",
+        "CREATE TABLE email_outbox ("
+            + " id BIGINT NOT NULL AUTO_INCREMENT,"
+            + " recipient VARCHAR(255) NOT NULL,"
+            + " subject VARCHAR(255) NOT NULL,"
+            + " body TEXT NULL,"
+            + " status VARCHAR(20) NOT NULL,"
+            + " attempts INT NOT NULL DEFAULT 0,"
+            + " next_attempt_at DATETIME(6) NOT NULL,"
+            + " locked_at DATETIME(6) NULL,"
+            + " last_error VARCHAR(1000) NULL,"
+            + " created_at DATETIME(6) NULL,"
+            + " sent_at DATETIME(6) NULL,"
+            + " PRIMARY KEY (id),"
+            + " KEY idx_email_outbox_status_next (status, next_attempt_at)"
+            + ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4");
+    ensureIndex(
+        "email_outbox",
+        "idx_email_outbox_status_next",
+        "ALTER TABLE email_outbox ADD INDEX idx_email_outbox_status_next"
+            + " (status, next_attempt_at)");
+
+    // Content-addressed uploads: the refcount upsert relies on the sha256 key, and the storage
+    // sweep scans unreferenced blobs through (ref_count, updated_at)
+    ensureTable(
+        "stored_blob",
+        "CREATE TABLE stored_blob ("
+            + " id BIGINT NOT NULL AUTO_INCREMENT,"
+            + " sha256 VARCHAR(64) NOT NULL,"
+            + " object_key VARCHAR(255) NOT NULL,"
+            + " size_bytes BIGINT NOT NULL,"
+            + " content_type VARCHAR(255) NULL,"
+            + " ref_count INT NOT NULL DEFAULT 0,"
+            + " created_at DATETIME(6) NOT NULL,"
+            + " updated_at DATETIME(6) NOT NULL,"
+            + " PRIMARY KEY (id),"
+            + " UNIQUE KEY uk_stored_blob_sha256 (sha256),"
+            + " UNIQUE KEY uk_stored_blob_object_key (object_key),"
+            + " KEY idx_stored_blob_ref_updated (ref_count, updated_at)"
+            + ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4");
+    ensureIndex(
+        "stored_blob",
+        "uk_stored_blob_sha256",
+        "ALTER TABLE stored_blob ADD UNIQUE KEY uk_stored_blob_sha256 (sha256)");
+    ensureIndex(
+        "stored_blob",
+        "uk_stored_blob_object_key",
+        "ALTER TABLE stored_blob ADD UNIQUE KEY uk_stored_blob_object_key (object_key)");
+    ensureIndex(
+        "stored_blob",
+        "idx_stored_blob_ref_updated",
+        "ALTER TABLE stored_blob ADD INDEX idx_stored_blob_ref_updated (ref_count, updated_at)");
+
+    // One membership row per (topic, user): RegistrationGatewayService treats the duplicate-key
+    // error of a concurrent second insert as an already-registered request
+    ensureUniqueKey("topic_member", "uk_topic_member_topic_user", "topic_id", "user_id");
+
+    // Avatar variants (256px original plus 64px/32px thumbnails for lists and chat)
+    ensureColumn(
+        "user",
+        "avatar_small_url",
+        "ALTER TABLE `user` ADD COLUMN avatar_small_url VARCHAR(500) NULL");
+    ensureColumn(
+        "user",
+        "avatar_tiny_url",
+        "ALTER TABLE `user` ADD COLUMN avatar_tiny_url VARCHAR(500) NULL");
+
+    // JWT revocation: tokens carrying an older version than the user's are rejected
+    ensureColumn(
+        "user",
+        "token_version",
+        "ALTER TABLE `user` ADD COLUMN token_version INT NOT NULL DEFAULT 0");
+
+    // Keyset pagination: ORDER BY created_at DESC, id DESC with (created_at, id) < cursor
+    ensureIndex(
+        "topic",
+        "idx_topic_created_at_id",
+        "ALTER TABLE topic ADD INDEX idx_topic_created_at_id (created_at, id)");
+    ensureIndex(
+        "approved_topic",
+        "idx_approved_topic_created_at_id",
+        "ALTER TABLE approved_topic ADD INDEX idx_approved_topic_created_at_id (created_at, id)");
+    // Conversation paging: both directions of a pair are prefix lookups, ordered by created_at
+    ensureIndex(
+        "message",
+        "idx_message_sender_receiver_created",
+        "ALTER TABLE message ADD INDEX idx_message_sender_receiver_created"
+            + " (sender_id, receiver_id, created_at)");
+  }
+
+  // A missing table breaks the feature outright, so a failure here aborts startup
+  private void ensureTable(String table, String ddl) {
+    if (!exists(
+        "SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE()"
+            + " AND table_name = ?",
+        table)) {
+      System.out.println("Creating table " + table);
+      jdbcTemplate.execute(ddl);
+    }
+  }
+
+  // Entities map the column, so a failure here aborts startup like a missing table
+  private void ensureColumn(String table, String column, String ddl) {
+    if (!exists(
+        "SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE()"
+            + " AND table_name = ? AND column_name = ?",
+        table,
+        column)) {
+      System.out.println("Adding column " + column + " to " + table);
+      jdbcTemplate.execute(ddl);
+    }
+  }
+
+  // Indexes only affect speed, so a failure is logged and startup continues
+  private void ensureIndex(String table, String index, String ddl) {
+    try {
+      if (!exists(
+          "SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE()"
+              + " AND table_name = ? AND index_name = ?",
+          table,
+          index)) {
+        System.out.println("Creating index " + index + " on " + table);
+        jdbcTemplate.execute(ddl);
+      }
+    } catch (Exception e) {
+      System.err.println(
+          "Could not create index " + index + " on " + table + ": " + e.getMessage());
+    }
+  }
+
+  // Skipped when any unique index already covers exactly these columns (e.g. one generated by
+  // Hibernate under a random name). Existing duplicate rows make the ALTER fail; that is logged.
+  private void ensureUniqueKey(String table, String index, String... columns) {
+    String columnList = String.join(",", columns);
+    try {
+      if (!exists(
+          "SELECT COUNT(*) FROM (SELECT index_name FROM information_schema.statistics"
+              + " WHERE table_schema = DATABASE() AND table_name = ? AND non_unique = 0"
+              + " GROUP BY index_name"
+              + " HAVING GROUP_CONCAT(column_name ORDER BY seq_in_index) = ?) u",
+          table,
+          columnList)) {
+        System.out.println("Creating unique key " + index + " on " + table);
+        jdbcTemplate.execute(
+            "ALTER TABLE " + table + " ADD UNIQUE KEY " + index + " (" + columnList + ")");
+      }
+    } catch (Exception e) {
+      System.err.println(
+          "Could not create unique key " + index + " on " + table + ": " + e.getMessage());
+    }
+  }
+
+  private boolean exists(String countSql, Object... args) {
+    Integer count = jdbcTemplate.queryForObject(countSql, Integer.class, args);
+    return count != null && count > 0;
+  }
+}
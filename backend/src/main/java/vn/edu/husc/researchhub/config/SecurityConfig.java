@@ -41,6 +41,9 @@ public class SecurityConfig {
         .authorizeHttpRequests(
             auth ->
                 auth.requestMatchers("/api/auth/**", "/uploads/**")
+                    .permitAll()
+                    // Completion/timeout of an SSE stream re-dispatches without a security context
+                    .dispatcherTypeMatchers(jakarta.servlet.DispatcherType.ASYNC)
                     .permitAll()
                     .anyRequest()
                     .authenticated())
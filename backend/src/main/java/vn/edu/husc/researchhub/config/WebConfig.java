@@ -1,21 +0,0 @@
-package vn.edu.husc.researchhub.config;
-
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-
-@Configuration
-public class WebConfig implements WebMvcConfigurer {
-
-  @Value("${file.upload-dir:uploads}")
-  private String uploadDir;
-
-  @Override
-  public void addResourceHandlers(ResourceHandlerRegistry registry) {
-    Path uploadPath = Paths.get(uploadDir);
-    registry.addResourceHandler("/uploads/**").addResourceLocations(uploadPath.toUri().toString());
-  }
-}
@@ -8,6 +8,7 @@ import org.springframework.web.bind.annotation.*;
 import vn.edu.husc.researchhub.dto.request.UpdateApprovedTopicRequest;
 import vn.edu.husc.researchhub.dto.response.ApprovedTopicDocumentResponse;
 import vn.edu.husc.researchhub.dto.response.ApprovedTopicResponse;
+import vn.edu.husc.researchhub.dto.response.CursorPageResponse;
 import vn.edu.husc.researchhub.dto.response.PageResponse;
 import vn.edu.husc.researchhub.service.ApprovedTopicService;
 
@@ -17,6 +18,7 @@ import vn.edu.husc.researchhub.service.ApprovedTopicService;
 public class ApprovedTopicController {
 
   private final ApprovedTopicService approvedTopicService;
+  private final vn.edu.husc.researchhub.service.DocumentExportService documentExportService;
 
   /**
    * Lấy danh sách đề tài đã duyệt
@@ -36,6 +38,25 @@ public class ApprovedTopicController {
             departmentId, academicYearId, keyword, status, page, size));
   }
 
+  /**
+   * Lấy danh sách đề tài đã duyệt theo con trỏ (keyset pagination)
+   * Truyền nextCursor của trang trước để lấy trang kế tiếp
+   */
+  @GetMapping("/cursor")
+  public ResponseEntity<CursorPageResponse<ApprovedTopicResponse>> getApprovedTopicsByCursor(
+      @RequestParam(required = false) Integer departmentId,
+      @RequestParam(required = false) Integer academicYearId,
+      @RequestParam(required = false) String keyword,
+      @RequestParam(required = false)
+          vn.edu.husc.researchhub.model.enums.ApprovedTopicStatus status,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "10") int size,
+      @RequestParam(defaultValue = "false") boolean includeTotal) {
+    return ResponseEntity.ok(
+        approvedTopicService.getApprovedTopicsByCursor(
+            departmentId, academicYearId, keyword, status, cursor, size, includeTotal));
+  }
+
   /**
    * Cập nhật thông tin đề tài đã duyệt
    */
@@ -66,6 +87,56 @@ public class ApprovedTopicController {
     return ResponseEntity.ok(approvedTopicService.uploadDocument(topicId, file, type, summary));
   }
 
+  /**
+   * Xin URL presigned để client tải tài liệu trực tiếp lên storage
+   */
+  @PostMapping("/upload/presign")
+  public ResponseEntity<vn.edu.husc.researchhub.dto.response.PresignedUploadResponse>
+      presignDocumentUpload(
+          @RequestParam("topicId") Integer topicId,
+          @RequestParam("fileName") String fileName,
+          @RequestParam(value = "contentType", required = false) String contentType) {
+    return ResponseEntity.ok(
+        approvedTopicService.presignDocumentUpload(topicId, fileName, contentType));
+  }
+
+  /**
+   * Xác nhận tài liệu đã tải lên qua URL presigned
+   */
+  @PostMapping("/upload/finalize")
+  public ResponseEntity<ApprovedTopicDocumentResponse> finalizeDocumentUpload(
+      @RequestBody vn.edu.husc.researchhub.dto.request.FinalizeDocumentUploadRequest request) {
+    return ResponseEntity.ok(approvedTopicService.finalizeDocumentUpload(request));
+  }
+
+  /**
+   * Lấy URL tải xuống có thời hạn của tài liệu
+   */
+  @GetMapping("/documents/{documentId}/download-url")
+  public ResponseEntity<java.util.Map<String, String>> getDocumentDownloadUrl(
+      @PathVariable Integer documentId) {
+    return ResponseEntity.ok(
+        java.util.Map.of("url", approvedTopicService.getDocumentDownloadUrl(documentId)));
+  }
+
+  /**
+   * Tải toàn bộ tài liệu của khoa trong năm học dưới dạng ZIP (mỗi đề tài một thư mục)
+   */
+  @GetMapping("/documents/export")
+  @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('ADMIN', 'ASSISTANT')")
+  public ResponseEntity<org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody>
+      exportDocuments(
+          @RequestParam("departmentId") Integer departmentId,
+          @RequestParam("academicYearId") Integer academicYearId) {
+    String fileName = "tai-lieu-khoa-" + departmentId + "-nam-hoc-" + academicYearId + ".zip";
+    return ResponseEntity.ok()
+        .header(
+            org.springframework.http.HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"" + fileName + "\"")
+        .contentType(org.springframework.http.MediaType.parseMediaType("application/zip"))
+        .body(out -> documentExportService.writeDocumentsZip(departmentId, academicYearId, out));
+  }
+
   /**
    * Lấy tài liệu theo ID đề tài (API phụ trợ)
    */
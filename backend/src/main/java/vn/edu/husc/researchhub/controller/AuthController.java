@@ -24,12 +24,18 @@ public class AuthController {
 
   @Autowired UserService userService;
 
+  @Autowired vn.edu.husc.researchhub.service.LoginThrottleService loginThrottleService;
+
   /**
    * Đăng nhập hệ thống.
    * Trả về JWT token nếu thông tin hợp lệ.
    */
   @PostMapping("/login")
-  public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+  public ResponseEntity<?> authenticateUser(
+      @Valid @RequestBody LoginRequest loginRequest,
+      jakarta.servlet.http.HttpServletRequest httpRequest) {
+    // Throttle before BCrypt runs
+    loginThrottleService.checkLogin(loginRequest.getUsername(), httpRequest.getRemoteAddr());
 
     Authentication authentication =
         authenticationManager.authenticate(
@@ -46,8 +52,11 @@ public class AuthController {
    * Quên mật khẩu.
    */
   @PostMapping("/forgot-password")
-  public ResponseEntity<?> forgotPassword(@RequestBody java.util.Map<String, String> request) {
+  public ResponseEntity<?> forgotPassword(
+      @RequestBody java.util.Map<String, String> request,
+      jakarta.servlet.http.HttpServletRequest httpRequest) {
     String username = request.get("username");
+    loginThrottleService.checkForgotPassword(username, httpRequest.getRemoteAddr());
     userService.forgotPassword(username);
     return ResponseEntity.ok("Mật khẩu mới đã được gửi đến email của bạn");
   }
@@ -104,6 +113,28 @@ public class AuthController {
         });
   }
 
+  /**
+   * Xin URL presigned để tải ảnh đại diện trực tiếp lên storage.
+   */
+  @PostMapping("/avatar/presign")
+  public ResponseEntity<vn.edu.husc.researchhub.dto.response.PresignedUploadResponse>
+      presignAvatarUpload(
+          @RequestParam("fileName") String fileName,
+          @RequestParam("contentType") String contentType) {
+    String username = SecurityContextHolder.getContext().getAuthentication().getName();
+    return ResponseEntity.ok(userService.presignAvatarUpload(username, fileName, contentType));
+  }
+
+  /**
+   * Xác nhận ảnh đại diện đã tải lên qua URL presigned.
+   */
+  @PostMapping("/avatar/finalize")
+  public ResponseEntity<?> finalizeAvatarUpload(@RequestParam("key") String key) {
+    String username = SecurityContextHolder.getContext().getAuthentication().getName();
+    String fileUrl = userService.finalizeAvatarUpload(username, key);
+    return ResponseEntity.ok(java.util.Map.of("avatarUrl", fileUrl));
+  }
+
   /**
    * Lấy thông tin người dùng hiện tại (dựa trên token).
    */
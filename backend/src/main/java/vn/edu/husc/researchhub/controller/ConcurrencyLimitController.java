@@ -0,0 +1,27 @@
+package vn.edu.husc.researchhub.controller;
+
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import vn.edu.husc.researchhub.service.ConcurrencyLimiterService;
+
+@RestController
+@RequestMapping("/api/admin/concurrency")
+@RequiredArgsConstructor
+public class ConcurrencyLimitController {
+
+  private final ConcurrencyLimiterService concurrencyLimiterService;
+
+  /**
+   * Giới hạn đồng thời hiện tại, số đang xử lý và số request bị từ chối (503) theo nhóm route.
+   */
+  @GetMapping("/stats")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<Map<String, Object>> getStats() {
+    return ResponseEntity.ok(concurrencyLimiterService.getStats());
+  }
+}
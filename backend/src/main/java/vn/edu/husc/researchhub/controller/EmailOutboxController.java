@@ -0,0 +1,27 @@
+package vn.edu.husc.researchhub.controller;
+
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import vn.edu.husc.researchhub.service.EmailOutboxService;
+
+@RestController
+@RequestMapping("/api/admin/email-outbox")
+@RequiredArgsConstructor
+public class EmailOutboxController {
+
+  private final EmailOutboxService emailOutboxService;
+
+  /**
+   * Độ sâu hàng đợi email: số email theo trạng thái và tuổi email chờ lâu nhất.
+   */
+  @GetMapping("/stats")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<Map<String, Object>> getStats() {
+    return ResponseEntity.ok(emailOutboxService.getQueueStats());
+  }
+}
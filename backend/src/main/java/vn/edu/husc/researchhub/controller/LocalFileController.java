@@ -0,0 +1,162 @@
+package vn.edu.husc.researchhub.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.util.UrlPathHelper;
+import vn.edu.husc.researchhub.service.impl.LocalFileServiceImpl;
+
+/**
+ * Phục vụ file trong thư mục upload cục bộ (/uploads/**): hỗ trợ Range, ETag/Last-Modified và
+ * gửi file bằng sendfile của Tomcat (zero-copy) khi connector hỗ trợ.
+ */
+@RestController
+@RequestMapping(LocalFileController.URL_PATTERN)
+@RequiredArgsConstructor
+public class LocalFileController {
+
+  static final String URL_PATTERN = "/uploads/**";
+
+  // Tomcat's NIO connector sends a file with sendfile(2) after the servlet returns when asked to
+  private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+  private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+  private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+  private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+  private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+  // Only present with app.storage.backend=local; the S3 backend still serves legacy local files
+  private final ObjectProvider<LocalFileServiceImpl> localFileService;
+
+  @Value("${file.upload-dir:uploads}")
+  private String uploadDir;
+
+  /**
+   * Tải file (hỗ trợ tải một phần qua header Range và cache qua ETag/Last-Modified).
+   */
+  @RequestMapping(method = {RequestMethod.GET, RequestMethod.HEAD})
+  public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+    Path file = root.resolve(keyOf(request)).normalize();
+    if (!file.startsWith(root)
+        || !Files.isRegularFile(file)
+        || file.getFileName().toString().startsWith(".")) {
+      response.sendError(HttpServletResponse.SC_NOT_FOUND);
+      return;
+    }
+
+    long size = Files.size(file);
+    long lastModified = Files.getLastModifiedTime(file).toMillis();
+    String eTag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+    if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) {
+      return;
+    }
+
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+    response.setContentType(
+        MediaTypeFactory.getMediaType(file.getFileName().toString())
+            .orElse(MediaType.APPLICATION_OCTET_STREAM)
+            .toString());
+    // Blob names are content hashes, so their bytes can never change
+    response.setHeader(
+        HttpHeaders.CACHE_CONTROL,
+        root.relativize(file).startsWith("blobs")
+            ? "public, max-age=31536000, immutable"
+            : "no-cache");
+
+    long start = 0;
+    long length = size;
+    String range = request.getHeader(HttpHeaders.RANGE);
+    String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+    // A stale If-Range means the client's partial copy is outdated: send the whole file
+    if (range != null && (ifRange == null || ifRange.equals(eTag))) {
+      try {
+        List<HttpRange> ranges = HttpRange.parseRanges(range);
+        // Multi-range requests are answered with the full file, which RFC 9110 allows
+        if (ranges.size() == 1) {
+          start = ranges.get(0).getRangeStart(size);
+          length = ranges.get(0).getRangeEnd(size) - start + 1;
+          response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+          response.setHeader(
+              HttpHeaders.CONTENT_RANGE,
+              "bytes " + start + "-" + (start + length - 1) + "/" + size);
+        }
+      } catch (IllegalArgumentException e) {
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+        response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        return;
+      }
+    }
+    response.setContentLengthLong(length);
+
+    if ("HEAD".equals(request.getMethod()) || length == 0) {
+      return;
+    }
+
+    if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+      request.setAttribute(SENDFILE_FILENAME, file.toString());
+      request.setAttribute(SENDFILE_START, start);
+      request.setAttribute(SENDFILE_END, start + length);
+      return;
+    }
+
+    // Fallback: let the kernel move the bytes from the page cache where the channel allows it
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+      long position = start;
+      long end = start + length;
+      while (position < end) {
+        position += channel.transferTo(position, end - position, out);
+      }
+    }
+  }
+
+  /**
+   * Nhận file tải lên qua URL presigned (chỉ với storage cục bộ).
+   */
+  @PutMapping
+  public ResponseEntity<Void> upload(
+      HttpServletRequest request,
+      @RequestParam("expires") long expires,
+      @RequestParam("signature") String signature)
+      throws IOException {
+    LocalFileServiceImpl service = localFileService.getIfAvailable();
+    if (service == null) {
+      return ResponseEntity.notFound().build();
+    }
+    try {
+      service.acceptSignedUpload(
+          keyOf(request), request.getContentType(), expires, signature, request.getInputStream());
+    } catch (SecurityException e) {
+      return ResponseEntity.status(HttpServletResponse.SC_FORBIDDEN).build();
+    }
+    return ResponseEntity.ok().build();
+  }
+
+  private String keyOf(HttpServletRequest request) {
+    String path = URL_PATH_HELPER.getPathWithinApplication(request);
+    return path.substring(LocalFileServiceImpl.URL_PATH.length());
+  }
+}
@@ -8,8 +8,15 @@ import org.springframework.web.bind.annotation.*;
 import vn.edu.husc.researchhub.dto.request.SendMessageRequest;
 import vn.edu.husc.researchhub.dto.request.UpdateMessageRequest;
 import vn.edu.husc.researchhub.dto.response.ChatPartnerResponse;
+import vn.edu.husc.researchhub.dto.response.CursorPageResponse;
 import vn.edu.husc.researchhub.dto.response.MessageResponse;
+import vn.edu.husc.researchhub.service.ConversationSummaryService;
 import vn.edu.husc.researchhub.service.MessageService;
+import org.springframework.security.access.prepost.PreAuthorize;
+import java.util.Map;
+import vn.edu.husc.researchhub.service.MessageStreamService;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -20,6 +27,32 @@ public class MessageController {
 
     private final MessageService messageService;
     private final vn.edu.husc.researchhub.service.UserService userService;
+    private final MessageStreamService messageStreamService;
+    private final ConversationSummaryService conversationSummaryService;
+    private final vn.edu.husc.researchhub.service.StreamTicketService streamTicketService;
+
+    /**
+     * Luồng SSE nhận tin nhắn mới/sửa/xóa/đã đọc theo thời gian thực, thay cho việc gọi lại /inbox định kỳ.
+     * EventSource không gửi được header nên client truyền vé lấy từ POST /stream-ticket qua tham số ?ticket=.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        return messageStreamService.subscribe(username);
+    }
+
+    /**
+     * Cấp vé dùng một lần (hạn ngắn) để mở luồng SSE, tránh đưa JWT lên URL.
+     */
+    @PostMapping("/stream-ticket")
+    public ResponseEntity<Map<String, Object>> issueStreamTicket() {
+        vn.edu.husc.researchhub.security.JwtUserPrincipal principal =
+                (vn.edu.husc.researchhub.security.JwtUserPrincipal)
+                        SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return ResponseEntity.ok(Map.of(
+                "ticket", streamTicketService.issue(principal),
+                "expiresInSeconds", streamTicketService.getTtlSeconds()));
+    }
 
     @GetMapping("/partners")
     public ResponseEntity<List<ChatPartnerResponse>> getChatPartners(@RequestParam(required = false) String query) {
@@ -27,6 +60,25 @@ public class MessageController {
         return ResponseEntity.ok(userService.findChatPartners(username, query));
     }
 
+    /**
+     * Danh sách hội thoại cho thanh bên chat: người nhắn, tin cuối và số tin chưa đọc,
+     * sắp xếp theo hoạt động gần nhất.
+     */
+    @GetMapping("/conversations")
+    public ResponseEntity<List<ChatPartnerResponse>> getConversations(@RequestParam(defaultValue = "50") int size) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        return ResponseEntity.ok(conversationSummaryService.getConversations(username, size));
+    }
+
+    /**
+     * Dựng lại bảng tóm tắt hội thoại từ bảng message (dùng khi triển khai lần đầu).
+     */
+    @PostMapping("/conversations/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildConversations() {
+        return ResponseEntity.ok(Map.of("rebuilt", conversationSummaryService.rebuild()));
+    }
+
     @PostMapping
     public ResponseEntity<MessageResponse> sendMessage(@RequestBody SendMessageRequest request) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
@@ -45,6 +97,22 @@ public class MessageController {
         return ResponseEntity.ok(messageService.getSent(username));
     }
 
+    /**
+     * Tin nhắn giữa người dùng hiện tại và một người, phân trang theo con trỏ (createdAt, id).
+     * direction=before lấy các tin cũ hơn con trỏ (mặc định, bắt đầu từ tin mới nhất),
+     * direction=after lấy các tin mới hơn. Nội dung luôn theo thứ tự thời gian tăng dần.
+     * Mỗi trang trả về newestCursor (dùng với after để lấy tin mới) và oldestCursor (dùng với before).
+     */
+    @GetMapping("/conversation/{partnerId}")
+    public ResponseEntity<CursorPageResponse<MessageResponse>> getConversation(
+            @PathVariable Integer partnerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "before") String direction,
+            @RequestParam(defaultValue = "30") int size) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        return ResponseEntity.ok(messageService.getConversation(username, partnerId, cursor, direction, size));
+    }
+
     @PutMapping("/{id}/read")
     public ResponseEntity<Void> markAsRead(@PathVariable Integer id) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
@@ -52,6 +120,17 @@ public class MessageController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Đánh dấu đã đọc toàn bộ tin từ partnerId đến tin upTo (mặc định: tin mới nhất)
+     * bằng một câu UPDATE, thay cho việc gọi /{id}/read cho từng tin.
+     */
+    @PutMapping("/conversation/{partnerId}/read")
+    public ResponseEntity<Map<String, Integer>> markConversationRead(
+            @PathVariable Integer partnerId, @RequestParam(required = false) Integer upTo) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        return ResponseEntity.ok(Map.of("updated", messageService.markConversationRead(username, partnerId, upTo)));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteMessage(@PathVariable Integer id) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
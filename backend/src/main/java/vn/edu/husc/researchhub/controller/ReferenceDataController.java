@@ -0,0 +1,27 @@
+package vn.edu.husc.researchhub.controller;
+
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import vn.edu.husc.researchhub.service.ReferenceDataService;
+
+@RestController
+@RequestMapping("/api/admin/reference-cache")
+@RequiredArgsConstructor
+public class ReferenceDataController {
+
+  private final ReferenceDataService referenceDataService;
+
+  /**
+   * Số lần trúng/trượt và kích thước bộ đệm khoa, năm học, phiên năm học.
+   */
+  @GetMapping("/stats")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<Map<String, Object>> getStats() {
+    return ResponseEntity.ok(referenceDataService.getStats());
+  }
+}
@@ -0,0 +1,37 @@
+package vn.edu.husc.researchhub.controller;
+
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import vn.edu.husc.researchhub.service.StorageGcService;
+
+@RestController
+@RequestMapping("/api/admin/storage-gc")
+@RequiredArgsConstructor
+public class StorageGcController {
+
+  private final StorageGcService storageGcService;
+
+  /**
+   * Kết quả lượt dọn storage gần nhất (số object, dung lượng đã thu hồi).
+   */
+  @GetMapping("/stats")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<Map<String, Object>> getLastRun() {
+    return ResponseEntity.ok(storageGcService.getLastRun());
+  }
+
+  /**
+   * Chạy dọn storage ngay.
+   */
+  @PostMapping("/run")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<Map<String, Object>> run() {
+    return ResponseEntity.ok(storageGcService.sweep());
+  }
+}
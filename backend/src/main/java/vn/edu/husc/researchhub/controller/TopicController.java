@@ -5,6 +5,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import vn.edu.husc.researchhub.dto.request.AssignUserRequest;
 import vn.edu.husc.researchhub.dto.request.UpdateTopicStatusRequest;
+import vn.edu.husc.researchhub.dto.response.CursorPageResponse;
 import vn.edu.husc.researchhub.dto.response.PageResponse;
 import vn.edu.husc.researchhub.dto.response.TopicResponse;
 import vn.edu.husc.researchhub.model.enums.TopicStatus;
@@ -16,6 +17,9 @@ import vn.edu.husc.researchhub.service.TopicService;
 public class TopicController {
 
   private final TopicService topicService;
+  private final vn.edu.husc.researchhub.service.TopicReadModelService topicReadModelService;
+  private final vn.edu.husc.researchhub.service.RegistrationGatewayService
+      registrationGatewayService;
 
   /**
    * Lấy danh sách đề tài (đang đăng ký/xét duyệt).
@@ -33,6 +37,24 @@ public class TopicController {
         topicService.getAllTopics(keyword, status, departmentId, academicYearId, page, size));
   }
 
+  /**
+   * Lấy danh sách đề tài theo con trỏ (keyset pagination).
+   * Truyền nextCursor của trang trước để lấy trang kế tiếp.
+   */
+  @GetMapping("/cursor")
+  public ResponseEntity<CursorPageResponse<TopicResponse>> getTopicsByCursor(
+      @RequestParam(required = false) String keyword,
+      @RequestParam(required = false) TopicStatus status,
+      @RequestParam(required = false) Integer departmentId,
+      @RequestParam(required = false) Integer academicYearId,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "10") int size,
+      @RequestParam(defaultValue = "false") boolean includeTotal) {
+    return ResponseEntity.ok(
+        topicService.getTopicsByCursor(
+            keyword, status, departmentId, academicYearId, cursor, size, includeTotal));
+  }
+
   /**
    * Lấy danh sách đề tài của tôi (User hiện tại).
    */
@@ -116,16 +138,34 @@ public class TopicController {
   @PostMapping
   public ResponseEntity<Void> proposeTopic(
       @RequestBody vn.edu.husc.researchhub.dto.request.ProposeTopicRequest request) {
-    topicService.proposeTopic(request);
+    registrationGatewayService.proposeTopic(request);
     return ResponseEntity.ok().build();
   }
 
+  /**
+   * Dựng lại bản đọc (read model) của đề tài từ các bảng gốc (Admin).
+   */
+  @PostMapping("/read-model/rebuild")
+  @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<java.util.Map<String, Integer>> rebuildReadModel() {
+    return ResponseEntity.ok(java.util.Map.of("rebuilt", topicReadModelService.rebuild()));
+  }
+
   /**
    * Sinh viên đăng ký tham gia đề tài.
    */
   @PostMapping("/{id}/register")
   public ResponseEntity<Void> registerTopic(@PathVariable Integer id) {
-    topicService.registerTopic(id);
+    registrationGatewayService.registerTopic(id);
     return ResponseEntity.ok().build();
   }
+
+  /**
+   * Thống kê cổng tiếp nhận đăng ký: số yêu cầu nhận, từ chối (429), trùng lặp (Admin).
+   */
+  @GetMapping("/registration-gateway/stats")
+  @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<java.util.Map<String, Object>> getRegistrationGatewayStats() {
+    return ResponseEntity.ok(registrationGatewayService.getStats());
+  }
 }
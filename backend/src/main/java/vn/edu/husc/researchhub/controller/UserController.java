@@ -6,8 +6,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import vn.edu.husc.researchhub.dto.request.UserRequest;
+import vn.edu.husc.researchhub.dto.response.CursorPageResponse;
+import vn.edu.husc.researchhub.dto.response.ImportJobResponse;
 import vn.edu.husc.researchhub.dto.response.UserResponse;
 import vn.edu.husc.researchhub.model.Role;
+import vn.edu.husc.researchhub.service.UserImportService;
 import vn.edu.husc.researchhub.service.UserService;
 
 @RestController
@@ -16,6 +19,7 @@ import vn.edu.husc.researchhub.service.UserService;
 public class UserController {
 
   private final UserService userService;
+  private final UserImportService userImportService;
 
   /**
    * Lấy danh sách người dùng.
@@ -31,6 +35,22 @@ public class UserController {
     return ResponseEntity.ok(userService.getAll(keyword, role, departmentId, page, size));
   }
 
+  /**
+   * Lấy danh sách người dùng theo con trỏ (keyset pagination).
+   * Truyền nextCursor của trang trước để lấy trang kế tiếp.
+   */
+  @GetMapping("/cursor")
+  public ResponseEntity<CursorPageResponse<UserResponse>> getAllByCursor(
+      @RequestParam(required = false) String keyword,
+      @RequestParam(required = false) Role role,
+      @RequestParam(required = false) Integer departmentId,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "10") int size,
+      @RequestParam(defaultValue = "false") boolean includeTotal) {
+    return ResponseEntity.ok(
+        userService.getAllByCursor(keyword, role, departmentId, cursor, size, includeTotal));
+  }
+
   /**
    * Lấy danh sách giảng viên đủ điều kiện hướng dẫn.
    * (Đã được duyệt làm GVHD trong năm học).
@@ -68,13 +88,35 @@ public class UserController {
 
   /**
    * Import người dùng từ file Excel.
+   * Chạy nền: trả về ngay thông tin job (202), theo dõi tiến độ qua GET /import/{jobId}.
    */
   @PostMapping(
       value = "/import",
       consumes = org.springframework.http.MediaType.MULTIPART_FORM_DATA_VALUE)
-  public ResponseEntity<String> importUsers(
+  public ResponseEntity<ImportJobResponse> importUsers(
       @RequestParam("file") org.springframework.web.multipart.MultipartFile file) {
-    userService.importUsers(file);
-    return ResponseEntity.ok("Import successful");
+    return ResponseEntity.accepted().body(userImportService.submit(file));
+  }
+
+  /**
+   * Tiến độ job import: số dòng đã xử lý, đã tạo, bỏ qua, lỗi.
+   */
+  @GetMapping("/import/{jobId}")
+  public ResponseEntity<ImportJobResponse> getImportJob(@PathVariable String jobId) {
+    return ResponseEntity.ok(userImportService.getJob(jobId));
+  }
+
+  /**
+   * Tải báo cáo CSV các dòng bị bỏ qua/lỗi của job import (khi job đã kết thúc).
+   */
+  @GetMapping("/import/{jobId}/report")
+  public ResponseEntity<org.springframework.core.io.Resource> getImportReport(
+      @PathVariable String jobId) {
+    return ResponseEntity.ok()
+        .header(
+            org.springframework.http.HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"import-" + jobId + ".csv\"")
+        .contentType(org.springframework.http.MediaType.parseMediaType("text/csv; charset=UTF-8"))
+        .body(userImportService.getReport(jobId));
   }
 }
@@ -11,8 +11,7 @@ import vn.edu.husc.researchhub.dto.request.YearSessionRequest;
 import vn.edu.husc.researchhub.dto.response.PageResponse;
 import vn.edu.husc.researchhub.dto.response.YearSessionResponse;
 import vn.edu.husc.researchhub.model.AcademicYear;
-import vn.edu.husc.researchhub.model.enums.AcademicYearStatus;
-import vn.edu.husc.researchhub.repository.AcademicYearRepository;
+import vn.edu.husc.researchhub.service.ReferenceDataService;
 import vn.edu.husc.researchhub.service.YearSessionService;
 
 @RestController
@@ -21,7 +20,7 @@ import vn.edu.husc.researchhub.service.YearSessionService;
 public class YearSessionController {
 
   private final YearSessionService yearSessionService;
-  private final AcademicYearRepository academicYearRepository;
+  private final ReferenceDataService referenceDataService;
 
   /**
    * Lấy danh sách đợt đăng ký theo điều kiện lọc (từ khóa, khoa, trạng thái)
@@ -70,7 +69,6 @@ public class YearSessionController {
    */
   @GetMapping("/available-years")
   public ResponseEntity<List<AcademicYear>> getAvailableYears() {
-    return ResponseEntity.ok(
-        academicYearRepository.findByIsActiveTrueAndStatus(AcademicYearStatus.START));
+    return ResponseEntity.ok(referenceDataService.findAvailableAcademicYears());
   }
 }
@@ -0,0 +1,12 @@
+package vn.edu.husc.researchhub.dto.request;
+
+import lombok.Data;
+import vn.edu.husc.researchhub.model.enums.DocumentType;
+
+@Data
+public class FinalizeDocumentUploadRequest {
+  private Integer topicId;
+  private DocumentType type;
+  private String key;
+  private String summary;
+}
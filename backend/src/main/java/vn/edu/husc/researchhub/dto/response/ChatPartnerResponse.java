@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
 
 @Data
 @Builder
@@ -15,4 +16,11 @@ public class ChatPartnerResponse {
     private String fullName; // To match frontend expectations
     private String avatarUrl;
     private String role;
+
+    // Filled from the conversation summary, null when the users have never exchanged messages
+    private Integer lastMessageId;
+    private String lastMessagePreview;
+    private LocalDateTime lastMessageAt;
+    private Integer lastSenderId;
+    private Integer unreadCount;
 }
@@ -0,0 +1,24 @@
+package vn.edu.husc.researchhub.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CursorPageResponse<T> {
+  private int size;
+  private List<T> content;
+  private String nextCursor; // null when there is no further page
+  private boolean hasNext;
+  private Long totalElements; // only filled when includeTotal=true
+
+  // Two-way paging (conversations): cursors of the newest/oldest row seen so far, kept
+  // non-null on an empty page so the client can keep polling "after" / loading "before"
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private String newestCursor;
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private String oldestCursor;
+}
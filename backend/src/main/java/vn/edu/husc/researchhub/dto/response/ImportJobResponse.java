@@ -0,0 +1,21 @@
+package vn.edu.husc.researchhub.dto.response;
+
+import java.time.LocalDateTime;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ImportJobResponse {
+  private String jobId;
+  private String fileName;
+  private String status; // QUEUED, RUNNING, COMPLETED, FAILED
+  private int processed;
+  private int created;
+  private int skipped;
+  private int failed;
+  private String error; // set when the whole job failed
+  private boolean reportAvailable;
+  private LocalDateTime submittedAt;
+  private LocalDateTime finishedAt;
+}
@@ -0,0 +1,19 @@
+package vn.edu.husc.researchhub.dto.response;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresignedUploadResponse {
+  private String key; // object key to send back to the finalize call
+  private String uploadUrl; // PUT the file bytes here with the same Content-Type
+  private String method;
+  private String contentType;
+  private Instant expiresAt;
+}
@@ -10,7 +10,7 @@ import lombok.NoArgsConstructor;
 import vn.edu.husc.researchhub.model.enums.TopicStatus;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class TopicResponse {
@@ -49,7 +49,7 @@ public class TopicResponse {
   private List<MemberResponse> advisors;
 
   @Data
-  @Builder
+  @Builder(toBuilder = true)
   @NoArgsConstructor
   @AllArgsConstructor
   public static class MemberResponse {
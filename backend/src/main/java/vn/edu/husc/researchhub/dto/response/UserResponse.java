@@ -23,6 +23,9 @@ public class UserResponse {
   private Boolean sex;
   private String bornDate; // ISO string
   private String avatarUrl;
+  // 64px and 32px avatar variants (null for avatars uploaded before variants existed)
+  private String avatarSmallUrl;
+  private String avatarTinyUrl;
   private Integer course;
   private String className;
   private String academicDegree;
@@ -125,6 +128,22 @@ public class UserResponse {
     this.avatarUrl = avatarUrl;
   }
 
+  public String getAvatarSmallUrl() {
+    return avatarSmallUrl;
+  }
+
+  public void setAvatarSmallUrl(String avatarSmallUrl) {
+    this.avatarSmallUrl = avatarSmallUrl;
+  }
+
+  public String getAvatarTinyUrl() {
+    return avatarTinyUrl;
+  }
+
+  public void setAvatarTinyUrl(String avatarTinyUrl) {
+    this.avatarTinyUrl = avatarTinyUrl;
+  }
+
   public Integer getCourse() {
     return course;
   }
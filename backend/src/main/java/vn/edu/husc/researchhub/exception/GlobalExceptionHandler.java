@@ -25,6 +25,36 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
   }
 
+  @ExceptionHandler(BadRequestException.class)
+  public ResponseEntity<Object> handleBadRequestException(
+      BadRequestException ex, WebRequest request) {
+    Map<String, Object> body = new LinkedHashMap<>();
+    body.put("timestamp", LocalDateTime.now());
+    body.put("status", HttpStatus.BAD_REQUEST.value());
+    body.put("error", "Bad Request");
+    body.put("message", ex.getMessage());
+    body.put("path", request.getDescription(false).replace("uri=", ""));
+
+    return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+  }
+
+  @ExceptionHandler(TooManyRequestsException.class)
+  public ResponseEntity<Object> handleTooManyRequestsException(
+      TooManyRequestsException ex, WebRequest request) {
+    Map<String, Object> body = new LinkedHashMap<>();
+    body.put("timestamp", LocalDateTime.now());
+    body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+    body.put("error", "Too Many Requests");
+    body.put("message", ex.getMessage());
+    body.put("path", request.getDescription(false).replace("uri=", ""));
+
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(
+            org.springframework.http.HttpHeaders.RETRY_AFTER,
+            String.valueOf(ex.getRetryAfterSeconds()))
+        .body(body);
+  }
+
   @ExceptionHandler(Exception.class)
   public ResponseEntity<Object> handleGlobalException(Exception ex, WebRequest request) {
     Map<String, Object> body = new LinkedHashMap<>();
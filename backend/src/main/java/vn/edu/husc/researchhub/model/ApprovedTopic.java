@@ -9,7 +9,9 @@ import org.hibernate.annotations.CreationTimestamp;
 import vn.edu.husc.researchhub.model.enums.ApprovedTopicStatus;
 
 @Entity
-@Table(name = "approved_topic")
+@Table(
+    name = "approved_topic",
+    indexes = {@Index(name = "idx_approved_topic_created_at_id", columnList = "created_at, id")})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,68 @@
+package vn.edu.husc.researchhub.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row per user pair, kept up to date by MessageService so the chat sidebar does not have to
+ * scan the message table. The pair is stored ordered: userA has the smaller id.
+ */
+@Entity
+@Table(
+    name = "conversation_summary",
+    uniqueConstraints = {
+      @UniqueConstraint(
+          name = "uk_conversation_summary_pair",
+          columnNames = {"user_a_id", "user_b_id"})
+    },
+    indexes = {
+      @Index(name = "idx_conversation_summary_a_last", columnList = "user_a_id, last_message_at"),
+      @Index(name = "idx_conversation_summary_b_last", columnList = "user_b_id, last_message_at")
+    })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationSummary {
+  public static final int PREVIEW_LENGTH = 200;
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Integer id;
+
+  @ManyToOne
+  @JoinColumn(name = "user_a_id", nullable = false)
+  private User userA;
+
+  @ManyToOne
+  @JoinColumn(name = "user_b_id", nullable = false)
+  private User userB;
+
+  @Column(name = "last_message_id")
+  private Integer lastMessageId;
+
+  @Column(name = "last_message_preview", length = PREVIEW_LENGTH)
+  private String lastMessagePreview;
+
+  @Column(name = "last_message_at")
+  private LocalDateTime lastMessageAt;
+
+  @Column(name = "last_sender_id")
+  private Integer lastSenderId;
+
+  // Messages received by userA / userB that they have not read yet
+  @Column(name = "unread_a", nullable = false)
+  private Integer unreadA = 0;
+
+  @Column(name = "unread_b", nullable = false)
+  private Integer unreadB = 0;
+
+  // Read watermarks: every message to userA / userB with id <= this value has been read
+  @Column(name = "read_up_to_a")
+  private Integer readUpToA;
+
+  @Column(name = "read_up_to_b")
+  private Integer readUpToB;
+}
@@ -0,0 +1,62 @@
+package vn.edu.husc.researchhub.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import vn.edu.husc.researchhub.model.enums.EmailOutboxStatus;
+
+/**
+ * Email waiting to be sent. Rows are written in the same transaction as the change that triggers
+ * them and drained by the outbox dispatcher.
+ */
+@Entity
+@Table(
+    name = "email_outbox",
+    indexes = {
+      @Index(name = "idx_email_outbox_status_next", columnList = "status, next_attempt_at")
+    })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailOutbox {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false)
+  private String recipient;
+
+  @Column(nullable = false)
+  private String subject;
+
+  // Cleared once the row is SENT or FAILED: account emails carry plaintext passwords
+  @Column(columnDefinition = "TEXT")
+  private String body;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private EmailOutboxStatus status = EmailOutboxStatus.PENDING;
+
+  @Column(nullable = false)
+  private Integer attempts = 0;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private LocalDateTime nextAttemptAt;
+
+  // When a dispatcher claimed the row; stale claims are released after a crash
+  @Column(name = "locked_at")
+  private LocalDateTime lockedAt;
+
+  @Column(name = "last_error", length = 1000)
+  private String lastError;
+
+  @CreationTimestamp
+  @Column(name = "created_at", updatable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "sent_at")
+  private LocalDateTime sentAt;
+}
@@ -9,7 +9,11 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "message")
+@Table(
+        name = "message",
+        indexes = {
+            @Index(name = "idx_message_sender_receiver_created", columnList = "sender_id, receiver_id, created_at")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
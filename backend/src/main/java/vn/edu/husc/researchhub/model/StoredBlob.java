@@ -0,0 +1,52 @@
+package vn.edu.husc.researchhub.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A content-addressed object in storage. Uploads with the same SHA-256 digest share one object;
+ * refCount counts the documents and avatars pointing at it. Blobs whose count drops to zero are
+ * left for garbage collection rather than deleted inline; while the collector deletes the object,
+ * refCount is -1 and the row is no longer handed out to new uploads.
+ */
+@Entity
+@Table(
+    name = "stored_blob",
+    uniqueConstraints = {
+      @UniqueConstraint(name = "uk_stored_blob_sha256", columnNames = "sha256"),
+      @UniqueConstraint(name = "uk_stored_blob_object_key", columnNames = "object_key")
+    },
+    indexes = {@Index(name = "idx_stored_blob_ref_updated", columnList = "ref_count, updated_at")})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredBlob {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "sha256", nullable = false, length = 64)
+  private String sha256;
+
+  @Column(name = "object_key", nullable = false, length = 255)
+  private String objectKey;
+
+  @Column(name = "size_bytes", nullable = false)
+  private Long sizeBytes;
+
+  @Column(name = "content_type", length = 255)
+  private String contentType;
+
+  @Column(name = "ref_count", nullable = false)
+  private Integer refCount = 0;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  // Last time the reference count changed
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+}
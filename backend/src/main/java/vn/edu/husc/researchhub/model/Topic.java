@@ -10,7 +10,9 @@ import org.hibernate.annotations.CreationTimestamp;
 import vn.edu.husc.researchhub.model.enums.TopicStatus;
 
 @Entity
-@Table(name = "topic")
+@Table(
+    name = "topic",
+    indexes = {@Index(name = "idx_topic_created_at_id", columnList = "created_at, id")})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
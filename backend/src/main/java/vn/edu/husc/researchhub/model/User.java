@@ -44,6 +44,13 @@ public class User {
   @Column(name = "avatar_url", length = 500)
   private String avatarUrl;
 
+  // 64px and 32px variants generated on upload; avatarUrl holds the 256px one
+  @Column(name = "avatar_small_url", length = 500)
+  private String avatarSmallUrl;
+
+  @Column(name = "avatar_tiny_url", length = 500)
+  private String avatarTinyUrl;
+
   @ManyToOne
   @JoinColumn(name = "department_id")
   private Department department;
@@ -56,6 +63,10 @@ public class User {
   @Column(name = "academic_degree", length = 50)
   private String academicDegree;
 
+  // Bumped whenever existing tokens must stop working; JWTs carry the value they were issued with
+  @Column(name = "token_version", nullable = false)
+  private int tokenVersion;
+
   @CreationTimestamp
   @Column(name = "created_at", updatable = false)
   private LocalDateTime createdAt;
@@ -144,6 +155,27 @@ public class User {
     this.avatarUrl = avatarUrl;
   }
 
+  public String getAvatarSmallUrl() {
+    return avatarSmallUrl;
+  }
+
+  public void setAvatarSmallUrl(String avatarSmallUrl) {
+    this.avatarSmallUrl = avatarSmallUrl;
+  }
+
+  public String getAvatarTinyUrl() {
+    return avatarTinyUrl;
+  }
+
+  public void setAvatarTinyUrl(String avatarTinyUrl) {
+    this.avatarTinyUrl = avatarTinyUrl;
+  }
+
+  // Avatar for lists and member cards; avatars uploaded before variants existed have only the original
+  public String getListAvatarUrl() {
+    return avatarSmallUrl != null ? avatarSmallUrl : avatarUrl;
+  }
+
   public Department getDepartment() {
     return department;
   }
@@ -176,6 +208,14 @@ public class User {
     this.academicDegree = academicDegree;
   }
 
+  public int getTokenVersion() {
+    return tokenVersion;
+  }
+
+  public void setTokenVersion(int tokenVersion) {
+    this.tokenVersion = tokenVersion;
+  }
+
   public LocalDateTime getCreatedAt() {
     return createdAt;
   }
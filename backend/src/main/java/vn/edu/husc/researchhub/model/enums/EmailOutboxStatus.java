@@ -0,0 +1,8 @@
+package vn.edu.husc.researchhub.model.enums;
+
+public enum EmailOutboxStatus {
+  PENDING,
+  SENDING,
+  SENT,
+  FAILED
+}
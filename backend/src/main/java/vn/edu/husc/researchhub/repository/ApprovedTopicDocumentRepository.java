@@ -9,4 +9,16 @@ import vn.edu.husc.researchhub.model.ApprovedTopicDocument;
 public interface ApprovedTopicDocumentRepository
     extends JpaRepository<ApprovedTopicDocument, Integer> {
   List<ApprovedTopicDocument> findByApprovedTopicId(Integer approvedTopicId);
+
+  @org.springframework.data.jpa.repository.Query(
+      "SELECT d.fileUrl FROM ApprovedTopicDocument d WHERE d.fileUrl IS NOT NULL")
+  List<String> findAllFileUrls();
+
+  @org.springframework.data.jpa.repository.Query(
+      "SELECT d FROM ApprovedTopicDocument d JOIN FETCH d.approvedTopic at JOIN FETCH at.topic t"
+          + " WHERE t.department.id = :departmentId AND t.academicYear.id = :academicYearId"
+          + " ORDER BY at.code, at.id, d.documentType")
+  List<ApprovedTopicDocument> findForExport(
+      @org.springframework.data.repository.query.Param("departmentId") Integer departmentId,
+      @org.springframework.data.repository.query.Param("academicYearId") Integer academicYearId);
 }
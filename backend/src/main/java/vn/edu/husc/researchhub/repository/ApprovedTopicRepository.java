@@ -16,6 +16,8 @@ public interface ApprovedTopicRepository extends JpaRepository<ApprovedTopic, In
 
   java.util.Optional<ApprovedTopic> findByTopicId(Integer topicId);
 
+  java.util.List<ApprovedTopic> findByTopicIdIn(java.util.Collection<Integer> topicIds);
+
   long countByTopicDepartmentIdAndTopicAcademicYearId(Integer departmentId, Integer academicYearId);
 
   java.util.List<ApprovedTopic> findByTopicDepartmentIdAndTopicAcademicYearId(
@@ -32,4 +34,92 @@ public interface ApprovedTopicRepository extends JpaRepository<ApprovedTopic, In
       @Param("keyword") String keyword,
       @Param("status") vn.edu.husc.researchhub.model.enums.ApprovedTopicStatus status,
       Pageable pageable);
+
+  // Keyset variant of search: next page after (cursorCreatedAt, cursorId), no COUNT query
+  @Query(
+      "SELECT at FROM ApprovedTopic at JOIN FETCH at.topic t WHERE (:departmentId IS NULL OR"
+          + " t.department.id = :departmentId) AND (:academicYearId IS NULL OR t.academicYear.id ="
+          + " :academicYearId) AND (:keyword IS NULL OR :keyword = '' OR t.name LIKE %:keyword% OR"
+          + " at.code LIKE %:keyword%) AND (:status IS NULL OR at.status = :status) AND (:cursorId"
+          + " IS NULL OR at.createdAt < :cursorCreatedAt OR (at.createdAt = :cursorCreatedAt AND"
+          + " at.id < :cursorId)) ORDER BY at.createdAt DESC, at.id DESC")
+  java.util.List<ApprovedTopic> searchAfter(
+      @Param("departmentId") Integer departmentId,
+      @Param("academicYearId") Integer academicYearId,
+      @Param("keyword") String keyword,
+      @Param("status") vn.edu.husc.researchhub.model.enums.ApprovedTopicStatus status,
+      @Param("cursorCreatedAt") java.time.LocalDateTime cursorCreatedAt,
+      @Param("cursorId") Integer cursorId,
+      Pageable pageable);
+
+  // Matching ids come from a UNION so each branch can use its own index: the ngram FULLTEXT
+  // index on topic for MATCH (:phrase, a quoted boolean phrase) and idx_approved_topic_code for
+  // the code substring.
+  String FULLTEXT_FROM =
+      " FROM (SELECT a.id FROM approved_topic a JOIN topic ft ON ft.id = a.topic_id WHERE"
+          + " MATCH(ft.name, ft.description, ft.target, ft.main_content) AGAINST(:phrase IN"
+          + " BOOLEAN MODE) UNION SELECT id FROM approved_topic WHERE code LIKE"
+          + " CONCAT('%', :keyword, '%')) m JOIN approved_topic ap ON ap.id = m.id"
+          + " JOIN topic t ON t.id = ap.topic_id"
+          + " WHERE (:departmentId IS NULL OR t.department_id = :departmentId) AND (:academicYearId"
+          + " IS NULL OR t.academic_year_id = :academicYearId) AND (:status IS NULL OR ap.status ="
+          + " :status)";
+
+  // Ranked full-text search over name, code, description, target and main content.
+  // Requires the ngram FULLTEXT indexes created by TopicSearchServiceImpl.
+  @Query(
+      value =
+          "SELECT ap.*"
+              + FULLTEXT_FROM
+              + " ORDER BY COALESCE(ap.code = :keyword, 0) DESC, MATCH(t.name)"
+              + " AGAINST(:phrase IN BOOLEAN MODE) * 3 + MATCH(t.name, t.description,"
+              + " t.target, t.main_content) AGAINST(:phrase IN BOOLEAN MODE) DESC,"
+              + " ap.created_at DESC",
+      countQuery = "SELECT COUNT(*)" + FULLTEXT_FROM,
+      nativeQuery = true)
+  Page<ApprovedTopic> fullTextSearch(
+      @Param("departmentId") Integer departmentId,
+      @Param("academicYearId") Integer academicYearId,
+      @Param("keyword") String keyword,
+      @Param("phrase") String phrase,
+      @Param("status") String status,
+      Pageable pageable);
+
+  // Keyset variant of fullTextSearch: same matching, newest first instead of by relevance
+  @Query(
+      value =
+          "SELECT ap.*"
+              + FULLTEXT_FROM
+              + " AND (:cursorId IS NULL OR ap.created_at < :cursorCreatedAt OR"
+              + " (ap.created_at = :cursorCreatedAt AND ap.id < :cursorId))"
+              + " ORDER BY ap.created_at DESC, ap.id DESC",
+      nativeQuery = true)
+  java.util.List<ApprovedTopic> fullTextSearchAfter(
+      @Param("departmentId") Integer departmentId,
+      @Param("academicYearId") Integer academicYearId,
+      @Param("keyword") String keyword,
+      @Param("phrase") String phrase,
+      @Param("status") String status,
+      @Param("cursorCreatedAt") java.time.LocalDateTime cursorCreatedAt,
+      @Param("cursorId") Integer cursorId,
+      Pageable pageable);
+
+  @Query(value = "SELECT COUNT(*)" + FULLTEXT_FROM, nativeQuery = true)
+  long countFullTextSearch(
+      @Param("departmentId") Integer departmentId,
+      @Param("academicYearId") Integer academicYearId,
+      @Param("keyword") String keyword,
+      @Param("phrase") String phrase,
+      @Param("status") String status);
+
+  @Query(
+      "SELECT COUNT(at) FROM ApprovedTopic at JOIN at.topic t WHERE (:departmentId IS NULL OR"
+          + " t.department.id = :departmentId) AND (:academicYearId IS NULL OR t.academicYear.id ="
+          + " :academicYearId) AND (:keyword IS NULL OR :keyword = '' OR t.name LIKE %:keyword% OR"
+          + " at.code LIKE %:keyword%) AND (:status IS NULL OR at.status = :status)")
+  long countSearch(
+      @Param("departmentId") Integer departmentId,
+      @Param("academicYearId") Integer academicYearId,
+      @Param("keyword") String keyword,
+      @Param("status") vn.edu.husc.researchhub.model.enums.ApprovedTopicStatus status);
 }
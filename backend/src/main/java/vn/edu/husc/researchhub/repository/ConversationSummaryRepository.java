@@ -0,0 +1,204 @@
+package vn.edu.husc.researchhub.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import vn.edu.husc.researchhub.model.ConversationSummary;
+
+@Repository
+public interface ConversationSummaryRepository extends JpaRepository<ConversationSummary, Integer> {
+
+  @Query(
+      "SELECT c FROM ConversationSummary c JOIN FETCH c.userA JOIN FETCH c.userB"
+          + " WHERE c.userA.id = :userId OR c.userB.id = :userId"
+          + " ORDER BY c.lastMessageAt DESC, c.id DESC")
+  List<ConversationSummary> findByParticipant(@Param("userId") Integer userId, Pageable pageable);
+
+  // Single-statement upsert so concurrent sends in the same conversation cannot lose counts.
+  // Commits can land out of id order, so the last-message columns only move forward;
+  // last_message_id is assigned last because MySQL applies the SET clauses in order.
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO conversation_summary (user_a_id, user_b_id, last_message_id,"
+              + " last_message_preview, last_message_at, last_sender_id, unread_a, unread_b)"
+              + " VALUES (:userAId, :userBId, :messageId, :preview, :sentAt, :senderId,"
+              + " :unreadA, :unreadB)"
+              + " ON DUPLICATE KEY UPDATE"
+              + " last_message_preview = IF(VALUES(last_message_id) > COALESCE(last_message_id, 0),"
+              + " VALUES(last_message_preview), last_message_preview),"
+              + " last_message_at = IF(VALUES(last_message_id) > COALESCE(last_message_id, 0),"
+              + " VALUES(last_message_at), last_message_at),"
+              + " last_sender_id = IF(VALUES(last_message_id) > COALESCE(last_message_id, 0),"
+              + " VALUES(last_sender_id), last_sender_id),"
+              + " unread_a = unread_a + VALUES(unread_a), unread_b = unread_b + VALUES(unread_b),"
+              + " last_message_id = GREATEST(COALESCE(last_message_id, 0),"
+              + " VALUES(last_message_id))",
+      nativeQuery = true)
+  void upsertLastMessage(
+      @Param("userAId") Integer userAId,
+      @Param("userBId") Integer userBId,
+      @Param("messageId") Integer messageId,
+      @Param("preview") String preview,
+      @Param("sentAt") LocalDateTime sentAt,
+      @Param("senderId") Integer senderId,
+      @Param("unreadA") int unreadA,
+      @Param("unreadB") int unreadB);
+
+  @Modifying
+  @Query(
+      "UPDATE ConversationSummary c SET c.lastMessagePreview = :preview"
+          + " WHERE c.userA.id = :userAId AND c.userB.id = :userBId"
+          + " AND c.lastMessageId = :messageId")
+  int updatePreview(
+      @Param("userAId") Integer userAId,
+      @Param("userBId") Integer userBId,
+      @Param("messageId") Integer messageId,
+      @Param("preview") String preview);
+
+  // Repoints the summary at a new last message, but only if it still shows the deleted one;
+  // touches no counter columns, so concurrent send upserts keep their increments
+  @Modifying
+  @Query(
+      "UPDATE ConversationSummary c SET c.lastMessageId = :newMessageId,"
+          + " c.lastMessagePreview = :preview, c.lastMessageAt = :sentAt,"
+          + " c.lastSenderId = :senderId"
+          + " WHERE c.userA.id = :userAId AND c.userB.id = :userBId"
+          + " AND c.lastMessageId = :deletedMessageId")
+  int replaceLastMessage(
+      @Param("userAId") Integer userAId,
+      @Param("userBId") Integer userBId,
+      @Param("deletedMessageId") Integer deletedMessageId,
+      @Param("newMessageId") Integer newMessageId,
+      @Param("preview") String preview,
+      @Param("sentAt") LocalDateTime sentAt,
+      @Param("senderId") Integer senderId);
+
+  @Modifying
+  @Query(
+      "DELETE FROM ConversationSummary c WHERE c.userA.id = :userAId AND c.userB.id = :userBId"
+          + " AND c.lastMessageId = :deletedMessageId")
+  int deleteIfLastMessage(
+      @Param("userAId") Integer userAId,
+      @Param("userBId") Integer userBId,
+      @Param("deletedMessageId") Integer deletedMessageId);
+
+  // A deleted message only counted as unread if it lay beyond the receiver's read watermark
+  @Modifying
+  @Query(
+      "UPDATE ConversationSummary c SET c.unreadA = c.unreadA - 1"
+          + " WHERE c.userA.id = :userAId AND c.userB.id = :userBId AND c.unreadA > 0"
+          + " AND :messageId > COALESCE(c.readUpToA, 0)")
+  int decrementUnreadA(
+      @Param("userAId") Integer userAId,
+      @Param("userBId") Integer userBId,
+      @Param("messageId") Integer messageId);
+
+  @Modifying
+  @Query(
+      "UPDATE ConversationSummary c SET c.unreadB = c.unreadB - 1"
+          + " WHERE c.userA.id = :userAId AND c.userB.id = :userBId AND c.unreadB > 0"
+          + " AND :messageId > COALESCE(c.readUpToB, 0)")
+  int decrementUnreadB(
+      @Param("userAId") Integer userAId,
+      @Param("userBId") Integer userBId,
+      @Param("messageId") Integer messageId);
+
+  // Advances a side's watermark and recounts unread from it: unread is "messages to me with id
+  // above my watermark", independent of per-message is_read flags. MySQL applies SET clauses in
+  // order, so the count already sees the new watermark; only rows beyond it are scanned.
+  @Modifying
+  @Query(
+      value =
+          "UPDATE conversation_summary c"
+              + " SET c.read_up_to_a = GREATEST(COALESCE(c.read_up_to_a, 0), :upToId),"
+              + " c.unread_a = (SELECT COUNT(*) FROM message m WHERE m.sender_id = c.user_b_id"
+              + " AND m.receiver_id = c.user_a_id AND m.id > c.read_up_to_a)"
+              + " WHERE c.user_a_id = :userAId AND c.user_b_id = :userBId",
+      nativeQuery = true)
+  int advanceReadWatermarkA(
+      @Param("userAId") Integer userAId,
+      @Param("userBId") Integer userBId,
+      @Param("upToId") Integer upToId);
+
+  @Modifying
+  @Query(
+      value =
+          "UPDATE conversation_summary c"
+              + " SET c.read_up_to_b = GREATEST(COALESCE(c.read_up_to_b, 0), :upToId),"
+              + " c.unread_b = (SELECT COUNT(*) FROM message m WHERE m.sender_id = c.user_a_id"
+              + " AND m.receiver_id = c.user_b_id AND m.id > c.read_up_to_b)"
+              + " WHERE c.user_a_id = :userAId AND c.user_b_id = :userBId",
+      nativeQuery = true)
+  int advanceReadWatermarkB(
+      @Param("userAId") Integer userAId,
+      @Param("userBId") Integer userBId,
+      @Param("upToId") Integer upToId);
+
+  // Upserts the latest message of every pair. Existing watermarks are kept (never moved back);
+  // pairs without one start from the newest message flagged is_read, the only read state that
+  // predates watermarks. Unread counts are filled in by recountUnread.
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO conversation_summary (user_a_id, user_b_id, last_message_id,"
+              + " last_message_preview, last_message_at, last_sender_id, unread_a, unread_b,"
+              + " read_up_to_a, read_up_to_b)"
+              + " SELECT t.a, t.b, t.id, LEFT(t.content, 200), t.created_at, t.sender_id, 0, 0,"
+              + " t.read_a, t.read_b FROM ("
+              + "  SELECT LEAST(m.sender_id, m.receiver_id) a,"
+              + "   GREATEST(m.sender_id, m.receiver_id) b, m.id, m.content, m.created_at,"
+              + "   m.sender_id,"
+              + "   ROW_NUMBER() OVER w_last rn,"
+              + "   MAX(CASE WHEN m.is_read = 1 AND m.receiver_id = LEAST(m.sender_id,"
+              + "    m.receiver_id) THEN m.id END) OVER w_pair read_a,"
+              + "   MAX(CASE WHEN m.is_read = 1 AND m.receiver_id = GREATEST(m.sender_id,"
+              + "    m.receiver_id) AND m.sender_id <> m.receiver_id THEN m.id END)"
+              + "    OVER w_pair read_b"
+              + "  FROM message m"
+              + "  WINDOW w_pair AS (PARTITION BY LEAST(m.sender_id, m.receiver_id),"
+              + "    GREATEST(m.sender_id, m.receiver_id)),"
+              + "   w_last AS (PARTITION BY LEAST(m.sender_id, m.receiver_id),"
+              + "    GREATEST(m.sender_id, m.receiver_id) ORDER BY m.created_at DESC, m.id DESC)"
+              + " ) t WHERE t.rn = 1"
+              + " ON DUPLICATE KEY UPDATE last_message_id = VALUES(last_message_id),"
+              + " last_message_preview = VALUES(last_message_preview),"
+              + " last_message_at = VALUES(last_message_at),"
+              + " last_sender_id = VALUES(last_sender_id),"
+              + " read_up_to_a = GREATEST(COALESCE(read_up_to_a, 0),"
+              + " COALESCE(VALUES(read_up_to_a), 0)),"
+              + " read_up_to_b = GREATEST(COALESCE(read_up_to_b, 0),"
+              + " COALESCE(VALUES(read_up_to_b), 0))",
+      nativeQuery = true)
+  int upsertFromMessages();
+
+  @Modifying
+  @Query(
+      value =
+          "DELETE FROM conversation_summary WHERE NOT EXISTS (SELECT 1 FROM message m WHERE"
+              + " (m.sender_id = conversation_summary.user_a_id"
+              + " AND m.receiver_id = conversation_summary.user_b_id)"
+              + " OR (m.sender_id = conversation_summary.user_b_id"
+              + " AND m.receiver_id = conversation_summary.user_a_id))",
+      nativeQuery = true)
+  int deleteWithoutMessages();
+
+  // Same definition as the watermark recount, applied to every pair. In a conversation with
+  // oneself only side A counts, matching the send upsert.
+  @Modifying
+  @Query(
+      value =
+          "UPDATE conversation_summary c"
+              + " SET c.unread_a = (SELECT COUNT(*) FROM message m WHERE m.sender_id = c.user_b_id"
+              + " AND m.receiver_id = c.user_a_id AND m.id > COALESCE(c.read_up_to_a, 0)),"
+              + " c.unread_b = (SELECT COUNT(*) FROM message m WHERE m.sender_id = c.user_a_id"
+              + " AND m.receiver_id = c.user_b_id AND m.id > COALESCE(c.read_up_to_b, 0)"
+              + " AND c.user_a_id <> c.user_b_id)",
+      nativeQuery = true)
+  int recountUnread();
+}
@@ -0,0 +1,62 @@
+package vn.edu.husc.researchhub.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import vn.edu.husc.researchhub.model.EmailOutbox;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+  // SKIP LOCKED lets several dispatcher threads claim disjoint batches without blocking
+  @Query(
+      value =
+          "SELECT * FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now"
+              + " ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+      nativeQuery = true)
+  List<EmailOutbox> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+  @Modifying
+  @Query(
+      "UPDATE EmailOutbox e SET e.status ="
+          + " vn.edu.husc.researchhub.model.enums.EmailOutboxStatus.SENT,"
+          + " e.sentAt = :now, e.lockedAt = null, e.lastError = null, e.body = null"
+          + " WHERE e.id IN :ids")
+  int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+  @Modifying
+  @Query(
+      "UPDATE EmailOutbox e SET e.status ="
+          + " vn.edu.husc.researchhub.model.enums.EmailOutboxStatus.PENDING,"
+          + " e.lockedAt = null WHERE e.status ="
+          + " vn.edu.husc.researchhub.model.enums.EmailOutboxStatus.SENDING"
+          + " AND e.lockedAt < :staleBefore")
+  int releaseStale(@Param("staleBefore") LocalDateTime staleBefore);
+
+  // Safety net for finished rows that still hold a body (e.g. written before bodies were cleared)
+  @Modifying
+  @Query(
+      "UPDATE EmailOutbox e SET e.body = null WHERE e.body IS NOT NULL AND e.status IN ("
+          + " vn.edu.husc.researchhub.model.enums.EmailOutboxStatus.SENT,"
+          + " vn.edu.husc.researchhub.model.enums.EmailOutboxStatus.FAILED)")
+  int clearFinishedBodies();
+
+  @Modifying
+  @Query(
+      "DELETE FROM EmailOutbox e WHERE e.status ="
+          + " vn.edu.husc.researchhub.model.enums.EmailOutboxStatus.SENT AND e.sentAt < :before")
+  int deleteSentBefore(@Param("before") LocalDateTime before);
+
+  @Query("SELECT e.status, COUNT(e) FROM EmailOutbox e GROUP BY e.status")
+  List<Object[]> countByStatus();
+
+  @Query(
+      "SELECT MIN(e.createdAt) FROM EmailOutbox e WHERE e.status ="
+          + " vn.edu.husc.researchhub.model.enums.EmailOutboxStatus.PENDING")
+  LocalDateTime findOldestPendingCreatedAt();
+}
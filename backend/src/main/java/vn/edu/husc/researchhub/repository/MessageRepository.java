@@ -1,12 +1,55 @@
 package vn.edu.husc.researchhub.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import vn.edu.husc.researchhub.model.Message;
 import vn.edu.husc.researchhub.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface MessageRepository extends JpaRepository<Message, Integer> {
     List<Message> findByReceiverOrderByCreatedAtDesc(User receiver);
     List<Message> findBySenderOrderByCreatedAtDesc(User sender);
+
+    // Both branches of the OR are prefix lookups on idx_message_sender_receiver_created
+    String CONVERSATION_WHERE =
+            "((m.sender.id = :userId AND m.receiver.id = :partnerId)"
+                    + " OR (m.sender.id = :partnerId AND m.receiver.id = :userId))";
+
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender JOIN FETCH m.receiver WHERE "
+            + CONVERSATION_WHERE
+            + " AND (:cursorCreatedAt IS NULL OR m.createdAt < :cursorCreatedAt"
+            + " OR (m.createdAt = :cursorCreatedAt AND m.id < :cursorId))"
+            + " ORDER BY m.createdAt DESC, m.id DESC")
+    List<Message> findConversationBefore(
+            @Param("userId") Integer userId,
+            @Param("partnerId") Integer partnerId,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Integer cursorId,
+            Pageable pageable);
+
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender JOIN FETCH m.receiver WHERE "
+            + CONVERSATION_WHERE
+            + " AND (:cursorCreatedAt IS NULL OR m.createdAt > :cursorCreatedAt"
+            + " OR (m.createdAt = :cursorCreatedAt AND m.id > :cursorId))"
+            + " ORDER BY m.createdAt ASC, m.id ASC")
+    List<Message> findConversationAfter(
+            @Param("userId") Integer userId,
+            @Param("partnerId") Integer partnerId,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Integer cursorId,
+            Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Message m SET m.isRead = true WHERE m.sender.id = :partnerId"
+            + " AND m.receiver.id = :userId AND m.id <= :upToId"
+            + " AND (m.isRead = false OR m.isRead IS NULL)")
+    int markConversationRead(
+            @Param("userId") Integer userId,
+            @Param("partnerId") Integer partnerId,
+            @Param("upToId") Integer upToId);
 }
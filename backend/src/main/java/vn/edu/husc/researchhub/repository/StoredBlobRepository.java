@@ -0,0 +1,85 @@
+package vn.edu.husc.researchhub.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import vn.edu.husc.researchhub.model.StoredBlob;
+
+@Repository
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, Long> {
+
+  Optional<StoredBlob> findBySha256(String sha256);
+
+  // ref_count = DELETING marks a blob whose object the storage GC is deleting; it is not reused
+  int DELETING = -1;
+
+  @Modifying
+  @Query(
+      value =
+          "UPDATE stored_blob SET ref_count = ref_count + 1, updated_at = NOW()"
+              + " WHERE sha256 = :sha256 AND ref_count >= 0",
+      nativeQuery = true)
+  int incrementRefCount(@Param("sha256") String sha256);
+
+  // Two uploads of the same new content can race; the first key wins and both get a reference.
+  // A row being deleted is taken over by the new object (ref_count is assigned last because
+  // MySQL applies the SET clauses in order).
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO stored_blob (sha256, object_key, size_bytes, content_type, ref_count,"
+              + " created_at, updated_at)"
+              + " VALUES (:sha256, :objectKey, :sizeBytes, :contentType, 1, NOW(), NOW())"
+              + " ON DUPLICATE KEY UPDATE"
+              + " object_key = IF(ref_count < 0, VALUES(object_key), object_key),"
+              + " size_bytes = IF(ref_count < 0, VALUES(size_bytes), size_bytes),"
+              + " content_type = IF(ref_count < 0, VALUES(content_type), content_type),"
+              + " updated_at = NOW(), ref_count = IF(ref_count < 0, 1, ref_count + 1)",
+      nativeQuery = true)
+  void upsertReference(
+      @Param("sha256") String sha256,
+      @Param("objectKey") String objectKey,
+      @Param("sizeBytes") long sizeBytes,
+      @Param("contentType") String contentType);
+
+  @Modifying
+  @Query(
+      value =
+          "UPDATE stored_blob SET ref_count = ref_count - 1, updated_at = NOW()"
+              + " WHERE object_key = :objectKey AND ref_count > 0",
+      nativeQuery = true)
+  int decrementRefCount(@Param("objectKey") String objectKey);
+
+  @Query("SELECT b.objectKey FROM StoredBlob b")
+  List<String> findAllObjectKeys();
+
+  // Also picks up rows left DELETING by a sweep that died before finishing them
+  @Query(
+      value =
+          "SELECT * FROM stored_blob WHERE ref_count <= 0 AND updated_at < :cutoff"
+              + " AND id > :afterId ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+      nativeQuery = true)
+  List<StoredBlob> lockUnreferenced(
+      @Param("cutoff") LocalDateTime cutoff,
+      @Param("afterId") long afterId,
+      @Param("limit") int limit);
+
+  // updated_at is left alone so a restored row stays past the grace period
+  @Modifying
+  @Query(
+      value = "UPDATE stored_blob SET ref_count = :refCount WHERE id IN (:ids) AND ref_count <= 0",
+      nativeQuery = true)
+  int setUnreferencedState(@Param("ids") List<Long> ids, @Param("refCount") int refCount);
+
+  // Only rows still DELETING: a row taken over by a new upload points at another object now
+  @Modifying
+  @Query(
+      value = "DELETE FROM stored_blob WHERE id IN (:ids) AND ref_count = " + DELETING,
+      nativeQuery = true)
+  int deleteIfDeleting(@Param("ids") List<Long> ids);
+}
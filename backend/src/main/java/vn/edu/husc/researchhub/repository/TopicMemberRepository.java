@@ -1,5 +1,6 @@
 package vn.edu.husc.researchhub.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -20,6 +21,13 @@ public interface TopicMemberRepository extends JpaRepository<TopicMember, Intege
 
   List<TopicMember> findByUserId(Integer userId);
 
+  // Batch-load members (with user) for a page of topics
+  @Query(
+      "SELECT tm FROM TopicMember tm JOIN FETCH tm.user "
+          + "WHERE tm.topic.id IN :topicIds "
+          + "ORDER BY tm.id")
+  List<TopicMember> findWithUserByTopicIdIn(@Param("topicIds") Collection<Integer> topicIds);
+
   // Queries for checking user participation
   @Query(
       "SELECT COUNT(tm) FROM TopicMember tm JOIN tm.topic t "
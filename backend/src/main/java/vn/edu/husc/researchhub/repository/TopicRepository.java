@@ -16,16 +16,120 @@ public interface TopicRepository extends JpaRepository<Topic, Integer> {
       Integer departmentId, Integer academicYearId);
 
   @org.springframework.data.jpa.repository.Query(
-      "SELECT t FROM Topic t WHERE "
+      value =
+          "SELECT t FROM Topic t LEFT JOIN FETCH t.department LEFT JOIN FETCH t.academicYear WHERE "
+              + "(:departmentId IS NULL OR t.department.id = :departmentId) AND "
+              + "(:academicYearId IS NULL OR t.academicYear.id = :academicYearId) AND "
+              + "(:keyword IS NULL OR :keyword = '' OR t.name LIKE %:keyword%) AND "
+              + "(:status IS NULL OR t.status = :status)",
+      countQuery =
+          "SELECT COUNT(t) FROM Topic t WHERE "
+              + "(:departmentId IS NULL OR t.department.id = :departmentId) AND "
+              + "(:academicYearId IS NULL OR t.academicYear.id = :academicYearId) AND "
+              + "(:keyword IS NULL OR :keyword = '' OR t.name LIKE %:keyword%) AND "
+              + "(:status IS NULL OR t.status = :status)")
+  org.springframework.data.domain.Page<Topic> search(
+      @org.springframework.data.repository.query.Param("departmentId") Integer departmentId,
+      @org.springframework.data.repository.query.Param("academicYearId") Integer academicYearId,
+      @org.springframework.data.repository.query.Param("keyword") String keyword,
+      @org.springframework.data.repository.query.Param("status")
+          vn.edu.husc.researchhub.model.enums.TopicStatus status,
+      org.springframework.data.domain.Pageable pageable);
+
+  // Keyset variant of search: next page after (cursorCreatedAt, cursorId), no COUNT query
+  @org.springframework.data.jpa.repository.Query(
+      "SELECT t FROM Topic t LEFT JOIN FETCH t.department LEFT JOIN FETCH t.academicYear WHERE "
           + "(:departmentId IS NULL OR t.department.id = :departmentId) AND "
           + "(:academicYearId IS NULL OR t.academicYear.id = :academicYearId) AND "
           + "(:keyword IS NULL OR :keyword = '' OR t.name LIKE %:keyword%) AND "
-          + "(:status IS NULL OR t.status = :status)")
-  org.springframework.data.domain.Page<Topic> search(
+          + "(:status IS NULL OR t.status = :status) AND "
+          + "(:cursorId IS NULL OR t.createdAt < :cursorCreatedAt OR "
+          + "(t.createdAt = :cursorCreatedAt AND t.id < :cursorId)) "
+          + "ORDER BY t.createdAt DESC, t.id DESC")
+  java.util.List<Topic> searchAfter(
       @org.springframework.data.repository.query.Param("departmentId") Integer departmentId,
       @org.springframework.data.repository.query.Param("academicYearId") Integer academicYearId,
       @org.springframework.data.repository.query.Param("keyword") String keyword,
       @org.springframework.data.repository.query.Param("status")
           vn.edu.husc.researchhub.model.enums.TopicStatus status,
+      @org.springframework.data.repository.query.Param("cursorCreatedAt")
+          java.time.LocalDateTime cursorCreatedAt,
+      @org.springframework.data.repository.query.Param("cursorId") Integer cursorId,
+      org.springframework.data.domain.Pageable pageable);
+
+  // Matching ids come from a UNION so each branch can use its own index: the ngram FULLTEXT
+  // index for MATCH and idx_approved_topic_code for the code substring. An OR of the two in one
+  // WHERE clause would force a full scan of topic. :phrase is the keyword as a quoted boolean
+  // phrase, so all of its bigrams must appear in order (natural language mode ORs them).
+  String TOPIC_FULLTEXT_FROM =
+      " FROM (SELECT id FROM topic WHERE MATCH(name, description, target, main_content)"
+          + " AGAINST(:phrase IN BOOLEAN MODE) UNION SELECT topic_id FROM approved_topic"
+          + " WHERE code LIKE CONCAT('%', :keyword, '%')) m JOIN topic t ON t.id = m.id"
+          + " LEFT JOIN approved_topic ap ON ap.topic_id = t.id"
+          + " WHERE (:departmentId IS NULL OR t.department_id = :departmentId) AND (:academicYearId"
+          + " IS NULL OR t.academic_year_id = :academicYearId) AND (:status IS NULL OR t.status ="
+          + " :status)";
+
+  // Ranked full-text search over name, code, description, target and main content.
+  // Requires the ngram FULLTEXT indexes created by TopicSearchServiceImpl.
+  @org.springframework.data.jpa.repository.Query(
+      value =
+          "SELECT t.*"
+              + TOPIC_FULLTEXT_FROM
+              + " ORDER BY COALESCE(ap.code = :keyword, 0) DESC, MATCH(t.name)"
+              + " AGAINST(:phrase IN BOOLEAN MODE) * 3 + MATCH(t.name, t.description,"
+              + " t.target, t.main_content) AGAINST(:phrase IN BOOLEAN MODE) DESC,"
+              + " t.created_at DESC",
+      countQuery = "SELECT COUNT(*)" + TOPIC_FULLTEXT_FROM,
+      nativeQuery = true)
+  org.springframework.data.domain.Page<Topic> fullTextSearch(
+      @org.springframework.data.repository.query.Param("departmentId") Integer departmentId,
+      @org.springframework.data.repository.query.Param("academicYearId") Integer academicYearId,
+      @org.springframework.data.repository.query.Param("keyword") String keyword,
+      @org.springframework.data.repository.query.Param("phrase") String phrase,
+      @org.springframework.data.repository.query.Param("status") String status,
       org.springframework.data.domain.Pageable pageable);
+
+  // Keyset variant of fullTextSearch: same matching, newest first instead of by relevance
+  @org.springframework.data.jpa.repository.Query(
+      value =
+          "SELECT t.*"
+              + TOPIC_FULLTEXT_FROM
+              + " AND (:cursorId IS NULL OR t.created_at < :cursorCreatedAt OR"
+              + " (t.created_at = :cursorCreatedAt AND t.id < :cursorId))"
+              + " ORDER BY t.created_at DESC, t.id DESC",
+      nativeQuery = true)
+  java.util.List<Topic> fullTextSearchAfter(
+      @org.springframework.data.repository.query.Param("departmentId") Integer departmentId,
+      @org.springframework.data.repository.query.Param("academicYearId") Integer academicYearId,
+      @org.springframework.data.repository.query.Param("keyword") String keyword,
+      @org.springframework.data.repository.query.Param("phrase") String phrase,
+      @org.springframework.data.repository.query.Param("status") String status,
+      @org.springframework.data.repository.query.Param("cursorCreatedAt")
+          java.time.LocalDateTime cursorCreatedAt,
+      @org.springframework.data.repository.query.Param("cursorId") Integer cursorId,
+      org.springframework.data.domain.Pageable pageable);
+
+  @org.springframework.data.jpa.repository.Query(
+      value = "SELECT COUNT(*)" + TOPIC_FULLTEXT_FROM,
+      nativeQuery = true)
+  long countFullTextSearch(
+      @org.springframework.data.repository.query.Param("departmentId") Integer departmentId,
+      @org.springframework.data.repository.query.Param("academicYearId") Integer academicYearId,
+      @org.springframework.data.repository.query.Param("keyword") String keyword,
+      @org.springframework.data.repository.query.Param("phrase") String phrase,
+      @org.springframework.data.repository.query.Param("status") String status);
+
+  @org.springframework.data.jpa.repository.Query(
+      "SELECT COUNT(t) FROM Topic t WHERE "
+          + "(:departmentId IS NULL OR t.department.id = :departmentId) AND "
+          + "(:academicYearId IS NULL OR t.academicYear.id = :academicYearId) AND "
+          + "(:keyword IS NULL OR :keyword = '' OR t.name LIKE %:keyword%) AND "
+          + "(:status IS NULL OR t.status = :status)")
+  long countSearch(
+      @org.springframework.data.repository.query.Param("departmentId") Integer departmentId,
+      @org.springframework.data.repository.query.Param("academicYearId") Integer academicYearId,
+      @org.springframework.data.repository.query.Param("keyword") String keyword,
+      @org.springframework.data.repository.query.Param("status")
+          vn.edu.husc.researchhub.model.enums.TopicStatus status);
 }
@@ -11,6 +11,22 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
   Boolean existsByUsername(String username);
 
+  @org.springframework.data.jpa.repository.Query("SELECT u.username FROM User u")
+  java.util.List<String> findAllUsernames();
+
+  // Each row: original/256px, 64px and 32px avatar URLs (variants may be null)
+  @org.springframework.data.jpa.repository.Query(
+      "SELECT u.avatarUrl, u.avatarSmallUrl, u.avatarTinyUrl FROM User u"
+          + " WHERE u.avatarUrl IS NOT NULL")
+  java.util.List<Object[]> findAllAvatarUrls();
+
+  // Each row: id, token_version, for users whose tokens have been revoked at least once
+  @org.springframework.data.jpa.repository.Query(
+      "SELECT u.id, u.tokenVersion FROM User u WHERE u.tokenVersion > 0")
+  java.util.List<Object[]> findTokenVersions();
+
+  java.util.List<User> findByUsernameIn(java.util.Collection<String> usernames);
+
   @org.springframework.data.jpa.repository.Query(
       "SELECT u FROM User u WHERE (:keyword IS NULL OR :keyword = '' OR LOWER(u.username) LIKE"
           + " LOWER(CONCAT('%', :keyword, '%')) OR LOWER(u.fullName) LIKE LOWER(CONCAT('%',"
@@ -22,6 +38,32 @@ public interface UserRepository extends JpaRepository<User, Integer> {
       Integer departmentId,
       org.springframework.data.domain.Pageable pageable);
 
+  // Keyset variant of search ordered by id DESC: next page after cursorId, no COUNT query
+  @org.springframework.data.jpa.repository.Query(
+      "SELECT u FROM User u WHERE (:keyword IS NULL OR :keyword = '' OR LOWER(u.username) LIKE"
+          + " LOWER(CONCAT('%', :keyword, '%')) OR LOWER(u.fullName) LIKE LOWER(CONCAT('%',"
+          + " :keyword, '%'))) AND (:role IS NULL OR u.role = :role) AND (:departmentId IS NULL OR"
+          + " u.department.id = :departmentId) AND (:cursorId IS NULL OR u.id < :cursorId) ORDER BY"
+          + " u.id DESC")
+  java.util.List<User> searchAfter(
+      @org.springframework.data.repository.query.Param("keyword") String keyword,
+      @org.springframework.data.repository.query.Param("role")
+          vn.edu.husc.researchhub.model.Role role,
+      @org.springframework.data.repository.query.Param("departmentId") Integer departmentId,
+      @org.springframework.data.repository.query.Param("cursorId") Integer cursorId,
+      org.springframework.data.domain.Pageable pageable);
+
+  @org.springframework.data.jpa.repository.Query(
+      "SELECT COUNT(u) FROM User u WHERE (:keyword IS NULL OR :keyword = '' OR LOWER(u.username)"
+          + " LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(u.fullName) LIKE LOWER(CONCAT('%',"
+          + " :keyword, '%'))) AND (:role IS NULL OR u.role = :role) AND (:departmentId IS NULL OR"
+          + " u.department.id = :departmentId)")
+  long countSearch(
+      @org.springframework.data.repository.query.Param("keyword") String keyword,
+      @org.springframework.data.repository.query.Param("role")
+          vn.edu.husc.researchhub.model.Role role,
+      @org.springframework.data.repository.query.Param("departmentId") Integer departmentId);
+
   boolean existsByUsernameAndIdNot(String username, Integer id);
 
   boolean existsByDepartmentId(Integer departmentId);
@@ -26,4 +26,7 @@ public interface YearSessionRepository extends JpaRepository<YearSession, Intege
       Integer academicYearId, Integer departmentId);
 
   java.util.List<YearSession> findByAcademicYearId(Integer academicYearId);
+
+  java.util.List<YearSession> findByAcademicYearIdInAndDepartmentIdIn(
+      java.util.Collection<Integer> academicYearIds, java.util.Collection<Integer> departmentIds);
 }
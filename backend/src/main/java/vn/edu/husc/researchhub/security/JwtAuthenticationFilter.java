@@ -1,25 +1,34 @@
 package vn.edu.husc.researchhub.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Collections;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
+import vn.edu.husc.researchhub.repository.UserRepository;
+import vn.edu.husc.researchhub.service.StreamTicketService;
+import vn.edu.husc.researchhub.service.TokenRevocationService;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
   @Autowired private JwtTokenProvider tokenProvider;
 
-  @Autowired private CustomUserDetailsService customUserDetailsService;
+  @Autowired private TokenRevocationService tokenRevocationService;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private StreamTicketService streamTicketService;
 
   @Override
   protected void doFilterInternal(
@@ -29,24 +38,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
       String jwt = getJwtFromRequest(request);
 
       if (StringUtils.hasText(jwt)) {
-        boolean isValid = tokenProvider.validateToken(jwt);
-        logger.info("JWT Token: " + jwt);
-        logger.info("Is Token Valid: " + isValid);
-
-        if (isValid) {
-          String username = tokenProvider.getUsernameFromJWT(jwt);
-          logger.info("Username from Token: " + username);
+        // Single parse: signature, expiry and claims in one pass with the cached parser
+        Claims claims = tokenProvider.parseClaims(jwt);
 
-          UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
-          UsernamePasswordAuthenticationToken authentication =
-              new UsernamePasswordAuthenticationToken(
-                  userDetails, null, userDetails.getAuthorities());
-          authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        if (claims != null) {
+          JwtUserPrincipal principal = tokenProvider.getPrincipal(claims);
+          if (principal == null) {
+            principal = loadLegacyPrincipal(claims.getSubject());
+          }
 
-          SecurityContextHolder.getContext().setAuthentication(authentication);
+          if (principal != null
+              && !tokenRevocationService.isRevoked(
+                  principal.id(), tokenProvider.getTokenVersion(claims))) {
+            authenticate(principal, request);
+          }
+        }
+      } else if ("/api/messages/stream".equals(request.getServletPath())) {
+        // EventSource cannot set headers: the stream authenticates with a single-use ticket
+        // from POST /api/messages/stream-ticket, so the JWT never appears in a URL
+        JwtUserPrincipal principal = streamTicketService.redeem(request.getParameter("ticket"));
+        if (principal != null) {
+          authenticate(principal, request);
         }
-      } else {
-        logger.warn("No JWT token found in request");
       }
     } catch (Exception ex) {
       logger.error("Could not set user authentication in security context", ex);
@@ -55,6 +68,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     filterChain.doFilter(request, response);
   }
 
+  private void authenticate(JwtUserPrincipal principal, HttpServletRequest request) {
+    UsernamePasswordAuthenticationToken authentication =
+        new UsernamePasswordAuthenticationToken(
+            principal, null, Collections.singletonList(new SimpleGrantedAuthority(principal.role())));
+    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+    SecurityContextHolder.getContext().setAuthentication(authentication);
+  }
+
+  // Tokens issued before the uid claim was added still work until they expire
+  private JwtUserPrincipal loadLegacyPrincipal(String username) {
+    return userRepository
+        .findByUsername(username)
+        .map(
+            user ->
+                new JwtUserPrincipal(
+                    user.getId(), user.getUsername(), "ROLE_" + user.getRole().name()))
+        .orElse(null);
+  }
+
   private String getJwtFromRequest(HttpServletRequest request) {
     String bearerToken = request.getHeader("Authorization");
     if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -3,6 +3,7 @@ package vn.edu.husc.researchhub.security;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import java.security.Key;
 import java.util.Date;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +22,16 @@ public class JwtTokenProvider {
 
   @Autowired private vn.edu.husc.researchhub.repository.UserRepository userRepository;
 
+  // Built once: decoding the secret and building the parser per request is pure overhead
+  private Key signingKey;
+  private JwtParser parser;
+
+  @PostConstruct
+  void init() {
+    signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+  }
+
   public String generateToken(Authentication authentication) {
     String username = authentication.getName();
     String role =
@@ -31,11 +42,15 @@ public class JwtTokenProvider {
             .getAuthority(); // Get the first authority (role)
 
     String fullName = "";
+    Integer userId = null;
+    int tokenVersion = 0;
     try {
       vn.edu.husc.researchhub.model.User user =
           userRepository.findByUsername(username).orElse(null);
       if (user != null) {
         fullName = user.getFullName();
+        userId = user.getId();
+        tokenVersion = user.getTokenVersion();
       }
     } catch (Exception e) {
       // Ignore if user not found (should not happen)
@@ -46,31 +61,31 @@ public class JwtTokenProvider {
 
     return Jwts.builder()
         .setSubject(username)
+        .claim("uid", userId)
         .claim("role", role)
         .claim("fullName", fullName)
-        .setIssuedAt(new Date())
+        .claim("ver", tokenVersion)
+        .setIssuedAt(currentDate)
         .setExpiration(expireDate)
-        .signWith(key())
+        .signWith(signingKey)
         .compact();
   }
 
-  private Key key() {
-    return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-  }
-
   public String getUsernameFromJWT(String token) {
-    return Jwts.parserBuilder()
-        .setSigningKey(key())
-        .build()
-        .parseClaimsJws(token)
-        .getBody()
-        .getSubject();
+    return parser.parseClaimsJws(token).getBody().getSubject();
   }
 
   public boolean validateToken(String authToken) {
+    return parseClaims(authToken) != null;
+  }
+
+  /**
+   * Verifies the signature and expiry once and returns the claims, or null when the token is
+   * not valid.
+   */
+  public Claims parseClaims(String authToken) {
     try {
-      Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(authToken);
-      return true;
+      return parser.parseClaimsJws(authToken).getBody();
     } catch (MalformedJwtException ex) {
       System.err.println("Invalid JWT token");
     } catch (ExpiredJwtException ex) {
@@ -79,7 +94,29 @@ public class JwtTokenProvider {
       System.err.println("Unsupported JWT token");
     } catch (IllegalArgumentException ex) {
       System.err.println("JWT claims string is empty.");
+    } catch (JwtException ex) {
+      System.err.println("Invalid JWT signature");
+    }
+    return null;
+  }
+
+  /**
+   * The user's token_version when the token was issued; null for tokens issued before the ver
+   * claim existed.
+   */
+  public Integer getTokenVersion(Claims claims) {
+    return claims.get("ver", Integer.class);
+  }
+
+  /**
+   * Principal from the uid/role claims; null for tokens issued before the uid claim existed.
+   */
+  public JwtUserPrincipal getPrincipal(Claims claims) {
+    Integer userId = claims.get("uid", Integer.class);
+    String role = claims.get("role", String.class);
+    if (userId == null || role == null) {
+      return null;
     }
-    return false;
+    return new JwtUserPrincipal(userId, claims.getSubject(), role);
   }
 }
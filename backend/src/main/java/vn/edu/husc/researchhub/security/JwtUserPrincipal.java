@@ -0,0 +1,15 @@
+package vn.edu.husc.researchhub.security;
+
+import java.security.Principal;
+
+/**
+ * Principal built from the JWT claims, so authenticated requests do not load the user from the
+ * database. getName() returns the username, which is what controllers read.
+ */
+public record JwtUserPrincipal(Integer id, String username, String role) implements Principal {
+
+  @Override
+  public String getName() {
+    return username;
+  }
+}
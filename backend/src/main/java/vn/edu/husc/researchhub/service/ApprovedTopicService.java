@@ -4,6 +4,7 @@ import java.util.List;
 import vn.edu.husc.researchhub.dto.request.UpdateApprovedTopicRequest;
 import vn.edu.husc.researchhub.dto.response.ApprovedTopicDocumentResponse;
 import vn.edu.husc.researchhub.dto.response.ApprovedTopicResponse;
+import vn.edu.husc.researchhub.dto.response.CursorPageResponse;
 import vn.edu.husc.researchhub.dto.response.PageResponse;
 
 /**
@@ -22,6 +23,18 @@ public interface ApprovedTopicService {
       int page,
       int size);
 
+  /**
+   * Lấy danh sách đề tài đã duyệt theo con trỏ (keyset), không đếm tổng trừ khi được yêu cầu.
+   */
+  CursorPageResponse<ApprovedTopicResponse> getApprovedTopicsByCursor(
+      Integer departmentId,
+      Integer academicYearId,
+      String keyword,
+      vn.edu.husc.researchhub.model.enums.ApprovedTopicStatus status,
+      String cursor,
+      int size,
+      boolean includeTotal);
+
   /**
    * Cập nhật thông tin đề tài đã duyệt.
    */
@@ -41,6 +54,23 @@ public interface ApprovedTopicService {
       vn.edu.husc.researchhub.model.enums.DocumentType type,
       String summary);
 
+  /**
+   * Tạo URL tải lên trực tiếp (presigned PUT) cho tài liệu, trong thư mục documents/{approvedTopicId}/.
+   */
+  vn.edu.husc.researchhub.dto.response.PresignedUploadResponse presignDocumentUpload(
+      Integer topicId, String fileName, String contentType);
+
+  /**
+   * Xác nhận tài liệu đã được client tải lên qua URL presigned và lưu thông tin tài liệu.
+   */
+  ApprovedTopicDocumentResponse finalizeDocumentUpload(
+      vn.edu.husc.researchhub.dto.request.FinalizeDocumentUploadRequest request);
+
+  /**
+   * URL tải xuống có thời hạn (presigned GET) của tài liệu.
+   */
+  String getDocumentDownloadUrl(Integer documentId);
+
   /**
    * Xóa tài liệu.
    */
@@ -0,0 +1,21 @@
+package vn.edu.husc.researchhub.service;
+
+import java.io.InputStream;
+import vn.edu.husc.researchhub.model.User;
+
+/**
+ * Service xử lý ảnh đại diện: từ ảnh gốc tạo các bản thu nhỏ cố định 256, 64 và 32 px
+ * để danh sách và thẻ thành viên không phải tải ảnh gốc.
+ */
+public interface AvatarService {
+  /**
+   * Giải mã ảnh một lần, cắt vuông ở giữa, lưu các bản thu nhỏ (JPEG) và gán vào người dùng.
+   * Ảnh đại diện cũ bị bỏ tham chiếu. Ảnh gốc không được lưu lại.
+   */
+  void replaceAvatar(User user, InputStream image);
+
+  /**
+   * Xóa ảnh đại diện của người dùng (bỏ tham chiếu mọi bản thu nhỏ).
+   */
+  void removeAvatar(User user);
+}
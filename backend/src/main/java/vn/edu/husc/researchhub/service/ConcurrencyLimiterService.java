@@ -0,0 +1,32 @@
+package vn.edu.husc.researchhub.service;
+
+import java.util.Map;
+
+/**
+ * Giới hạn số request xử lý đồng thời theo nhóm route (topics, approved-topics, messages,
+ * admin-import, uploads). Giới hạn tự điều chỉnh theo kiểu AIMD: tăng dần khi thời gian xử lý
+ * dưới ngưỡng mục tiêu, giảm theo tỉ lệ khi vượt ngưỡng.
+ */
+public interface ConcurrencyLimiterService {
+  /**
+   * Nhóm route của đường dẫn, null nếu đường dẫn không bị giới hạn.
+   */
+  String resolveGroup(String path);
+
+  /**
+   * Giành một suất xử lý trong nhóm; trả về false nếu nhóm đã đầy (cần từ chối 503).
+   */
+  boolean tryAcquire(String group);
+
+  /**
+   * Trả suất xử lý kèm thời gian xử lý của request để điều chỉnh giới hạn.
+   */
+  void release(String group, long elapsedNanos);
+
+  long getRetryAfterSeconds();
+
+  /**
+   * Giới hạn hiện tại, số đang xử lý, số đã nhận và số bị từ chối của từng nhóm.
+   */
+  Map<String, Object> getStats();
+}
@@ -0,0 +1,41 @@
+package vn.edu.husc.researchhub.service;
+
+import java.util.List;
+import vn.edu.husc.researchhub.dto.response.ChatPartnerResponse;
+import vn.edu.husc.researchhub.model.Message;
+
+/**
+ * Service duy trì bảng tóm tắt hội thoại (tin nhắn cuối, số tin chưa đọc mỗi bên),
+ * được cập nhật cùng transaction với thao tác trên tin nhắn.
+ */
+public interface ConversationSummaryService {
+  void onMessageSent(Message message);
+
+  void onMessageEdited(Message message);
+
+  /**
+   * Gọi sau khi tin nhắn đã bị xóa; tính lại tin cuối nếu tin bị xóa là tin cuối.
+   */
+  void onMessageDeleted(Message message);
+
+  /**
+   * Đánh dấu người dùng đã đọc mọi tin từ partner đến upToMessageId (mốc đọc),
+   * số tin chưa đọc được tính lại từ mốc này (tin gửi tới người dùng có id lớn hơn mốc).
+   */
+  void onConversationRead(Integer userId, Integer partnerId, Integer upToMessageId);
+
+  /**
+   * Danh sách hội thoại của người dùng, sắp xếp theo hoạt động gần nhất.
+   */
+  List<ChatPartnerResponse> getConversations(String username, int size);
+
+  /**
+   * Gắn tin nhắn cuối và số tin chưa đọc vào danh sách người có thể nhắn tin.
+   */
+  void attachSummaries(Integer userId, List<ChatPartnerResponse> partners);
+
+  /**
+   * Dựng lại toàn bộ bảng tóm tắt từ bảng message (giữ nguyên các mốc đọc đã có).
+   */
+  int rebuild();
+}
@@ -0,0 +1,16 @@
+package vn.edu.husc.researchhub.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service xuất toàn bộ tài liệu của đề tài đã duyệt theo khoa và năm học thành một file ZIP.
+ */
+public interface DocumentExportService {
+  /**
+   * Ghi file ZIP trực tiếp vào out (mỗi đề tài một thư mục theo mã đề tài). Tài liệu không đọc
+   * được từ storage được liệt kê trong _missing.txt thay vì làm hỏng cả file.
+   */
+  void writeDocumentsZip(Integer departmentId, Integer academicYearId, OutputStream out)
+      throws IOException;
+}
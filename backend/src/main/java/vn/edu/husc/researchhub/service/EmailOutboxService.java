@@ -0,0 +1,19 @@
+package vn.edu.husc.researchhub.service;
+
+import java.util.Map;
+
+/**
+ * Service gửi email từ hàng đợi email_outbox: nhóm nhiều email vào một lần gọi Brevo,
+ * thử lại với thời gian chờ tăng dần và giới hạn tốc độ gọi API.
+ */
+public interface EmailOutboxService {
+  /**
+   * Đánh thức dispatcher ngay (ví dụ sau khi transaction ghi email mới commit).
+   */
+  void wakeUp();
+
+  /**
+   * Số email theo trạng thái và tuổi của email chờ lâu nhất (giây).
+   */
+  Map<String, Object> getQueueStats();
+}
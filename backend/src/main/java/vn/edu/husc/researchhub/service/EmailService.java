@@ -3,10 +3,11 @@ package vn.edu.husc.researchhub.service;
 /**
  * Service gửi Email.
  * Xử lý việc gửi email thông báo, cấp tài khoản, reset mật khẩu.
+ * Email được ghi vào hàng đợi email_outbox trong transaction hiện tại và gửi nền.
  */
 public interface EmailService {
   /**
-   * Gửi email đơn giản (text thuần).
+   * Gửi email đơn giản (text thuần): ghi vào hàng đợi, gửi sau khi transaction commit.
    */
   void sendSimpleMessage(String to, String subject, String text);
 
@@ -1,15 +1,93 @@
 package vn.edu.husc.researchhub.service;
 
 import org.springframework.web.multipart.MultipartFile;
+import vn.edu.husc.researchhub.dto.response.PresignedUploadResponse;
 
 /**
  * Service xử lý File.
  * Quản lý việc lưu trữ file upload.
  */
 public interface FileService {
+  /**
+   * Thông tin một object trong bucket.
+   */
+  record StoredObject(String key, long size, java.time.Instant lastModified) {}
+
   /**
    * Lưu file vào thư mục chỉ định.
    * @return Tên file sau khi lưu.
    */
   String storeFile(MultipartFile file, String subDir);
+
+  /**
+   * Lưu file theo nội dung (SHA-256): file trùng nội dung dùng chung một object,
+   * chỉ tăng số tham chiếu. Nên gọi ngoài transaction để việc tải lên không giữ kết nối CSDL;
+   * nếu thao tác ghi tham chiếu sau đó thất bại thì gọi releaseBlob để trả lại tham chiếu.
+   * @return URL công khai của object.
+   */
+  String storeBlob(MultipartFile file);
+
+  /**
+   * Như storeBlob(MultipartFile) cho nội dung đã có trong bộ nhớ (ví dụ ảnh do server tạo ra);
+   * originalFileName chỉ dùng để lấy phần mở rộng.
+   */
+  String storeBlob(byte[] data, String contentType, String originalFileName);
+
+  /**
+   * Bỏ một tham chiếu tới file (giảm số tham chiếu, không xóa object).
+   * Bỏ qua URL không phải blob dùng chung (file cũ, file tải lên qua URL presigned).
+   */
+  void releaseBlob(String fileUrl);
+
+  /**
+   * Tạo URL PUT có thời hạn để client tải file trực tiếp lên storage (không qua backend).
+   * Object key nằm trong subDir, tên file được sinh ngẫu nhiên giữ nguyên phần mở rộng.
+   */
+  PresignedUploadResponse presignUpload(String subDir, String originalFileName, String contentType);
+
+  /**
+   * Tạo URL GET có thời hạn cho một object.
+   */
+  String presignDownload(String key);
+
+  /**
+   * Kích thước object (byte), hoặc -1 nếu object không tồn tại.
+   */
+  long getObjectSize(String key);
+
+  /**
+   * Kiểm tra file client đã tải lên qua URL presigned: key phải nằm trong requiredPrefix,
+   * object phải tồn tại và không vượt quá dung lượng cho phép (object quá lớn bị xóa).
+   */
+  void confirmUpload(String key, String requiredPrefix);
+
+  /**
+   * Mở luồng đọc nội dung object; người gọi phải đóng luồng.
+   */
+  java.io.InputStream openObject(String key);
+
+  /**
+   * Xóa object khỏi storage (bỏ qua nếu không tồn tại).
+   */
+  void deleteObject(String key);
+
+  /**
+   * URL công khai của object (dạng lưu trong cơ sở dữ liệu).
+   */
+  String getPublicUrl(String key);
+
+  /**
+   * Object key từ URL công khai, null nếu URL không thuộc bucket này.
+   */
+  String getKeyFromUrl(String fileUrl);
+
+  /**
+   * Liệt kê toàn bộ object có key bắt đầu bằng prefix.
+   */
+  java.util.List<StoredObject> listObjects(String prefix);
+
+  /**
+   * Xóa nhiều object (gom lô tối đa 1000 key mỗi lần gọi), trả về các key không xóa được.
+   */
+  java.util.List<String> deleteObjects(java.util.Collection<String> keys);
 }
@@ -0,0 +1,17 @@
+package vn.edu.husc.researchhub.service;
+
+/**
+ * Giới hạn tần suất đăng nhập và quên mật khẩu theo tên đăng nhập và theo IP (token bucket).
+ * Được gọi trước khi băm/kiểm tra mật khẩu; vượt giới hạn sẽ ném TooManyRequestsException (429).
+ */
+public interface LoginThrottleService {
+  /**
+   * Kiểm tra lượt đăng nhập của tên đăng nhập từ IP cho trước.
+   */
+  void checkLogin(String username, String clientIp);
+
+  /**
+   * Kiểm tra lượt yêu cầu cấp lại mật khẩu của tên đăng nhập từ IP cho trước.
+   */
+  void checkForgotPassword(String username, String clientIp);
+}
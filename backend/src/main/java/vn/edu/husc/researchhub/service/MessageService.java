@@ -2,6 +2,7 @@ package vn.edu.husc.researchhub.service;
 
 import vn.edu.husc.researchhub.dto.request.SendMessageRequest;
 import vn.edu.husc.researchhub.dto.request.UpdateMessageRequest;
+import vn.edu.husc.researchhub.dto.response.CursorPageResponse;
 import vn.edu.husc.researchhub.dto.response.MessageResponse;
 import java.util.List;
 
@@ -9,7 +10,10 @@ public interface MessageService {
     MessageResponse sendMessage(SendMessageRequest request, String username);
     List<MessageResponse> getInbox(String username);
     List<MessageResponse> getSent(String username);
+    CursorPageResponse<MessageResponse> getConversation(
+            String username, Integer partnerId, String cursor, String direction, int size);
     void markAsRead(Integer messageId, String username);
+    int markConversationRead(String username, Integer partnerId, Integer upToMessageId);
     void deleteMessage(Integer messageId, String username);
     void updateMessage(Integer messageId, UpdateMessageRequest request, String username);
 }
@@ -0,0 +1,25 @@
+package vn.edu.husc.researchhub.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service đẩy tin nhắn thời gian thực qua Server-Sent Events.
+ * Mỗi người dùng có thể mở nhiều kết nối (nhiều tab); sự kiện được gửi tới tất cả.
+ */
+public interface MessageStreamService {
+  /**
+   * Mở kết nối SSE cho người dùng hiện tại.
+   */
+  SseEmitter subscribe(String username);
+
+  /**
+   * Gửi sự kiện tới các kết nối của những người dùng liên quan
+   * (áp dụng sau khi transaction hiện tại commit).
+   */
+  void publish(String eventName, Object payload, Integer... userIds);
+
+  /**
+   * Số kết nối đang mở.
+   */
+  int getConnectionCount();
+}
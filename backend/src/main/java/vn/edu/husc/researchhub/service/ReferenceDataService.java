@@ -0,0 +1,52 @@
+package vn.edu.husc.researchhub.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import vn.edu.husc.researchhub.model.AcademicYear;
+import vn.edu.husc.researchhub.model.Department;
+import vn.edu.husc.researchhub.model.YearSession;
+
+/**
+ * Bộ nhớ đệm trong tiến trình cho dữ liệu danh mục ít thay đổi: khoa, năm học và phiên năm học.
+ * Entity trả về là bản detached dùng chung giữa mọi request: không được sửa thuộc tính hay
+ * truyền vào save/merge (thay đổi sẽ lộ sang request khác mà không có trong CSDL); cần sửa thì
+ * nạp lại qua repository.
+ * Các thao tác ghi trong DepartmentService, AcademicYearService và YearSessionService
+ * phải gọi hàm evict tương ứng.
+ */
+public interface ReferenceDataService {
+  Optional<Department> findDepartment(Integer id);
+
+  Optional<AcademicYear> findAcademicYear(Integer id);
+
+  /**
+   * Các năm học đang hoạt động và ở trạng thái START (dùng để mở đợt đăng ký).
+   */
+  List<AcademicYear> findAvailableAcademicYears();
+
+  /**
+   * Phiên năm học của một khoa (kể cả kết quả "không có" cũng được lưu đệm).
+   */
+  Optional<YearSession> findYearSession(Integer academicYearId, Integer departmentId);
+
+  /**
+   * Bỏ khoa khỏi bộ đệm (kèm các phiên của khoa), áp dụng sau khi transaction hiện tại commit.
+   */
+  void evictDepartment(Integer departmentId);
+
+  /**
+   * Bỏ năm học khỏi bộ đệm (kèm năm học đang hoạt động và các phiên của năm học).
+   */
+  void evictAcademicYear(Integer academicYearId);
+
+  /**
+   * Bỏ phiên năm học của một khoa khỏi bộ đệm.
+   */
+  void evictYearSession(Integer academicYearId, Integer departmentId);
+
+  /**
+   * Số lần trúng/trượt và kích thước của từng bộ đệm.
+   */
+  Map<String, Object> getStats();
+}
@@ -0,0 +1,26 @@
+package vn.edu.husc.researchhub.service;
+
+import java.util.Map;
+import vn.edu.husc.researchhub.dto.request.ProposeTopicRequest;
+
+/**
+ * Cổng tiếp nhận đăng ký/đề xuất đề tài khi phiên đăng ký vừa mở.
+ * Giới hạn số yêu cầu xử lý đồng thời (quá tải thì từ chối ngay với mã 429),
+ * tuần tự hoá các yêu cầu cùng đề tài (hoặc cùng người đề xuất) và bỏ qua thao tác bấm lặp.
+ */
+public interface RegistrationGatewayService {
+  /**
+   * Sinh viên đăng ký tham gia đề tài (qua cổng tiếp nhận).
+   */
+  void registerTopic(Integer topicId);
+
+  /**
+   * Đề xuất đề tài mới (qua cổng tiếp nhận).
+   */
+  void proposeTopic(ProposeTopicRequest request);
+
+  /**
+   * Số yêu cầu đã nhận, bị từ chối, trùng lặp và đang xử lý.
+   */
+  Map<String, Object> getStats();
+}
@@ -0,0 +1,19 @@
+package vn.edu.husc.researchhub.service;
+
+import java.util.Map;
+
+/**
+ * Service dọn rác storage: xóa các object không còn được tài liệu hay ảnh đại diện nào tham chiếu
+ * (sau một khoảng thời gian chờ) và blob dùng chung có số tham chiếu bằng 0.
+ */
+public interface StorageGcService {
+  /**
+   * Chạy một lượt dọn ngay, trả về kết quả (số object và dung lượng đã thu hồi).
+   */
+  Map<String, Object> sweep();
+
+  /**
+   * Kết quả của lượt dọn gần nhất.
+   */
+  Map<String, Object> getLastRun();
+}
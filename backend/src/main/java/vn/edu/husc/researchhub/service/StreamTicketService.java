@@ -0,0 +1,22 @@
+package vn.edu.husc.researchhub.service;
+
+import vn.edu.husc.researchhub.security.JwtUserPrincipal;
+
+/**
+ * Vé dùng một lần, thời hạn ngắn để mở luồng SSE tin nhắn. EventSource không gửi được header
+ * Authorization, nên client đổi JWT lấy vé rồi truyền vé qua ?ticket= thay vì đưa JWT lên URL
+ * (URL bị ghi vào access log và proxy).
+ */
+public interface StreamTicketService {
+  /**
+   * Phát hành vé cho người dùng đã xác thực.
+   */
+  String issue(JwtUserPrincipal principal);
+
+  /**
+   * Đổi vé lấy người dùng; vé chỉ dùng được một lần. Trả về null nếu vé không hợp lệ/hết hạn.
+   */
+  JwtUserPrincipal redeem(String ticket);
+
+  long getTtlSeconds();
+}
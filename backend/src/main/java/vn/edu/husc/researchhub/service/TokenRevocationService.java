@@ -0,0 +1,23 @@
+package vn.edu.husc.researchhub.service;
+
+import vn.edu.husc.researchhub.model.User;
+
+/**
+ * Service thu hồi JWT theo người dùng dựa trên cột user.token_version: token mang phiên bản tại
+ * thời điểm đăng nhập và bị từ chối khi phiên bản trong cơ sở dữ liệu đã tăng. Phiên bản được
+ * nạp vào bộ nhớ lúc khởi động và làm mới định kỳ, nên mỗi request không cần truy vấn thêm.
+ */
+public interface TokenRevocationService {
+  /**
+   * Thu hồi mọi token hiện có của người dùng (đổi mật khẩu, đổi vai trò, ...) bằng cách tăng
+   * token_version trên entity; được lưu cùng transaction của thay đổi, bộ nhớ đệm cập nhật sau
+   * khi commit.
+   */
+  void revokeAll(User user);
+
+  /**
+   * Token bị từ chối nếu phiên bản của nó thấp hơn phiên bản hiện tại của người dùng
+   * (token không có phiên bản được coi là phiên bản 0).
+   */
+  boolean isRevoked(Integer userId, Integer tokenVersion);
+}
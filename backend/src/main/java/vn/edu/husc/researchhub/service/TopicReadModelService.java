@@ -0,0 +1,42 @@
+package vn.edu.husc.researchhub.service;
+
+import java.util.List;
+import vn.edu.husc.researchhub.dto.response.TopicResponse;
+
+/**
+ * Service quản lý bản đọc (read model) đã phẳng hóa của Đề tài.
+ * Lưu sẵn TopicResponse (GVHD, chủ nhiệm, thành viên, mã đề tài, giải thưởng, trạng thái phiên)
+ * để các màn hình danh sách/chi tiết chỉ cần tra cứu theo ID.
+ */
+public interface TopicReadModelService {
+  /**
+   * Lấy bản đọc của một đề tài.
+   */
+  TopicResponse getTopic(Integer topicId);
+
+  /**
+   * Lấy bản đọc của nhiều đề tài, giữ nguyên thứ tự ID truyền vào.
+   */
+  List<TopicResponse> getTopics(List<Integer> topicIds);
+
+  /**
+   * Đánh dấu đề tài cần dựng lại (áp dụng sau khi transaction hiện tại commit).
+   */
+  void invalidateTopic(Integer topicId);
+
+  /**
+   * Đánh dấu các đề tài thuộc một phiên (năm học + khoa) cần dựng lại.
+   */
+  void invalidateSession(Integer academicYearId, Integer departmentId);
+
+  /**
+   * Đánh dấu các đề tài có người dùng này tham gia cần dựng lại.
+   */
+  void invalidateUser(Integer userId);
+
+  /**
+   * Dựng lại toàn bộ bản đọc từ các bảng gốc.
+   * @return Số đề tài đã được dựng lại.
+   */
+  int rebuild();
+}
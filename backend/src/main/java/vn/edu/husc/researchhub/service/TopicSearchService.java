@@ -0,0 +1,79 @@
+package vn.edu.husc.researchhub.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import vn.edu.husc.researchhub.model.ApprovedTopic;
+import vn.edu.husc.researchhub.model.Topic;
+import vn.edu.husc.researchhub.model.enums.ApprovedTopicStatus;
+import vn.edu.husc.researchhub.model.enums.TopicStatus;
+
+/**
+ * Service tìm kiếm Đề tài.
+ * Dùng chỉ mục FULLTEXT (ngram) của MySQL do ứng dụng tự tạo để xếp hạng theo tên, mã, mô tả,
+ * mục tiêu và nội dung; quay về LIKE khi chỉ mục chưa sẵn sàng hoặc không có từ khóa.
+ */
+public interface TopicSearchService {
+  /**
+   * Tìm kiếm đề tài (đang đăng ký/xét duyệt).
+   */
+  Page<Topic> searchTopics(
+      Integer departmentId,
+      Integer academicYearId,
+      String keyword,
+      TopicStatus status,
+      int page,
+      int size);
+
+  /**
+   * Tìm kiếm đề tài theo con trỏ (created_at, id), mới nhất trước; lấy tối đa limit dòng.
+   */
+  List<Topic> searchTopicsAfter(
+      Integer departmentId,
+      Integer academicYearId,
+      String keyword,
+      TopicStatus status,
+      LocalDateTime cursorCreatedAt,
+      Integer cursorId,
+      int limit);
+
+  /**
+   * Đếm số đề tài khớp bộ lọc (cùng điều kiện với searchTopicsAfter).
+   */
+  long countTopics(
+      Integer departmentId, Integer academicYearId, String keyword, TopicStatus status);
+
+  /**
+   * Tìm kiếm đề tài đã duyệt.
+   */
+  Page<ApprovedTopic> searchApprovedTopics(
+      Integer departmentId,
+      Integer academicYearId,
+      String keyword,
+      ApprovedTopicStatus status,
+      int page,
+      int size);
+
+  /**
+   * Tìm kiếm đề tài đã duyệt theo con trỏ (created_at, id), mới nhất trước.
+   */
+  List<ApprovedTopic> searchApprovedTopicsAfter(
+      Integer departmentId,
+      Integer academicYearId,
+      String keyword,
+      ApprovedTopicStatus status,
+      LocalDateTime cursorCreatedAt,
+      Integer cursorId,
+      int limit);
+
+  /**
+   * Đếm số đề tài đã duyệt khớp bộ lọc.
+   */
+  long countApprovedTopics(
+      Integer departmentId, Integer academicYearId, String keyword, ApprovedTopicStatus status);
+
+  /**
+   * Chỉ mục FULLTEXT đã sẵn sàng hay chưa.
+   */
+  boolean isFullTextReady();
+}
@@ -1,5 +1,6 @@
 package vn.edu.husc.researchhub.service;
 
+import vn.edu.husc.researchhub.dto.response.CursorPageResponse;
 import vn.edu.husc.researchhub.dto.response.PageResponse;
 import vn.edu.husc.researchhub.dto.response.TopicResponse;
 import vn.edu.husc.researchhub.model.enums.TopicStatus;
@@ -20,6 +21,18 @@ public interface TopicService {
       int page,
       int size);
 
+  /**
+   * Lấy danh sách đề tài theo con trỏ (keyset), không đếm tổng trừ khi được yêu cầu.
+   */
+  CursorPageResponse<TopicResponse> getTopicsByCursor(
+      String keyword,
+      TopicStatus status,
+      Integer departmentId,
+      Integer academicYearId,
+      String cursor,
+      int size,
+      boolean includeTotal);
+
   /**
    * Lấy chi tiết đề tài.
    */
@@ -62,7 +75,7 @@ public interface TopicService {
   void proposeTopic(vn.edu.husc.researchhub.dto.request.ProposeTopicRequest request);
 
   /**
-   * Sinh viên đăng ký tham gia đề tài.
+   * Sinh viên đăng ký tham gia đề tài. Đăng ký lặp lại (đã là thành viên) được bỏ qua.
    */
   void registerTopic(Integer topicId);
 
@@ -0,0 +1,26 @@
+package vn.edu.husc.researchhub.service;
+
+import org.springframework.core.io.Resource;
+import org.springframework.web.multipart.MultipartFile;
+import vn.edu.husc.researchhub.dto.response.ImportJobResponse;
+
+/**
+ * Service import người dùng hàng loạt từ file Excel (.xlsx) dưới dạng job chạy nền.
+ * Cột: mã người dùng, họ tên, vai trò, khoa (ID, mã hoặc tên khoa).
+ */
+public interface UserImportService {
+  /**
+   * Nhận file và đưa vào hàng đợi import, trả về ngay thông tin job.
+   */
+  ImportJobResponse submit(MultipartFile file);
+
+  /**
+   * Tiến độ job: số dòng đã xử lý, đã tạo, bỏ qua, lỗi.
+   */
+  ImportJobResponse getJob(String jobId);
+
+  /**
+   * File CSV liệt kê các dòng bị bỏ qua hoặc lỗi kèm lý do.
+   */
+  Resource getReport(String jobId);
+}
@@ -0,0 +1,36 @@
+package vn.edu.husc.researchhub.service;
+
+import java.util.Collection;
+import java.util.List;
+import vn.edu.husc.researchhub.dto.response.ChatPartnerResponse;
+import vn.edu.husc.researchhub.model.Role;
+import vn.edu.husc.researchhub.model.User;
+
+/**
+ * Chỉ mục tìm kiếm Người dùng trong bộ nhớ.
+ * Tìm theo họ tên / mã người dùng không phân biệt dấu và hoa thường ("nguyen" khớp "Nguyễn"),
+ * phân vùng theo khoa và vai trò, cập nhật dần từ các thao tác ghi của UserService.
+ */
+public interface UserSearchIndexService {
+  /**
+   * Chỉ mục đã được nạp đầy đủ hay chưa (chưa sẵn sàng thì dùng truy vấn DB).
+   */
+  boolean isReady();
+
+  /**
+   * Tìm ID người dùng khớp từ khóa, sắp xếp giảm dần theo ID.
+   * departmentId/roles = null nghĩa là không lọc theo tiêu chí đó.
+   */
+  List<Integer> searchIds(String query, Collection<Role> roles, Integer departmentId);
+
+  /**
+   * Tìm người dùng để nhắn tin trong phạm vi khoa (departmentId = null: toàn hệ thống).
+   */
+  List<ChatPartnerResponse> searchChatPartners(
+      String query, Collection<Role> roles, Integer departmentId, Integer excludeId);
+
+  /**
+   * Cập nhật chỉ mục cho người dùng (áp dụng sau khi transaction hiện tại commit).
+   */
+  void index(User user);
+}
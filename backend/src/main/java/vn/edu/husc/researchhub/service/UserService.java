@@ -3,6 +3,7 @@ package vn.edu.husc.researchhub.service;
 import org.springframework.data.domain.Page;
 import org.springframework.web.multipart.MultipartFile;
 import vn.edu.husc.researchhub.dto.request.UserRequest;
+import vn.edu.husc.researchhub.dto.response.CursorPageResponse;
 import vn.edu.husc.researchhub.dto.response.UserResponse;
 import vn.edu.husc.researchhub.model.Role;
 
@@ -15,6 +16,17 @@ public interface UserService {
    */
   Page<UserResponse> getAll(String keyword, Role role, Integer departmentId, int page, int size);
 
+  /**
+   * Lấy danh sách người dùng theo con trỏ (keyset), không đếm tổng trừ khi được yêu cầu.
+   */
+  CursorPageResponse<UserResponse> getAllByCursor(
+      String keyword,
+      Role role,
+      Integer departmentId,
+      String cursor,
+      int size,
+      boolean includeTotal);
+
   /**
    * Tạo người dùng mới.
    */
@@ -35,11 +47,6 @@ public interface UserService {
    */
   UserResponse resetPassword(Integer id);
 
-  /**
-   * Import danh sách người dùng từ file Excel.
-   */
-  void importUsers(MultipartFile file);
-
   /**
    * Đổi mật khẩu cá nhân.
    */
@@ -58,6 +65,17 @@ public interface UserService {
    */
   String updateAvatar(String username, MultipartFile file);
 
+  /**
+   * Tạo URL presigned để client tải ảnh đại diện trực tiếp lên storage.
+   */
+  vn.edu.husc.researchhub.dto.response.PresignedUploadResponse presignAvatarUpload(
+      String username, String fileName, String contentType);
+
+  /**
+   * Xác nhận ảnh đại diện đã tải lên qua URL presigned, trả về URL ảnh mới.
+   */
+  String finalizeAvatarUpload(String username, String key);
+
   /**
    * Lấy thông tin hồ sơ cá nhân.
    */
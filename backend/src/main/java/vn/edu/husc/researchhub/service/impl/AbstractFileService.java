@@ -0,0 +1,128 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import vn.edu.husc.researchhub.model.StoredBlob;
+import vn.edu.husc.researchhub.repository.StoredBlobRepository;
+import vn.edu.husc.researchhub.service.FileService;
+
+/**
+ * Logic shared by the storage backends: key naming, upload confirmation and the stored_blob
+ * bookkeeping behind content-addressed uploads. Subclasses only move bytes.
+ */
+abstract class AbstractFileService implements FileService {
+
+    protected final StoredBlobRepository storedBlobRepository;
+    // Short transactions around the stored_blob updates only; storage I/O runs outside them
+    protected final TransactionTemplate transactionTemplate;
+
+    // Same ceiling as multipart uploads (spring.servlet.multipart.max-file-size)
+    @Value("${app.upload.maxBytes:52428800}")
+    protected long maxUploadBytes;
+
+    protected AbstractFileService(
+            StoredBlobRepository storedBlobRepository, PlatformTransactionManager transactionManager) {
+        this.storedBlobRepository = storedBlobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void confirmUpload(String key, String requiredPrefix) {
+        if (key == null || !key.startsWith(requiredPrefix) || key.contains("..")) {
+            throw new RuntimeException("Khóa file không hợp lệ");
+        }
+        long size = getObjectSize(key);
+        if (size < 0) {
+            throw new RuntimeException("File chưa được tải lên storage");
+        }
+        // A presigned PUT cannot cap the body size, so enforce the limit here
+        if (size > maxUploadBytes) {
+            deleteObject(key);
+            throw new RuntimeException("File vượt quá dung lượng cho phép");
+        }
+    }
+
+    @Override
+    @Transactional
+    public void releaseBlob(String fileUrl) {
+        String key = getKeyFromUrl(fileUrl);
+        if (key != null && key.startsWith("blobs/")) {
+            storedBlobRepository.decrementRefCount(key);
+        }
+    }
+
+    protected static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    protected static String hex(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // Takes a reference on already stored content; returns its key, or null if the content is new
+    protected String acquireBlob(String sha256) {
+        return transactionTemplate.execute(status -> {
+            if (storedBlobRepository.incrementRefCount(sha256) == 0) {
+                return null;
+            }
+            return storedBlobRepository.findBySha256(sha256)
+                    .map(StoredBlob::getObjectKey)
+                    .orElseThrow(() -> new IllegalStateException("Blob disappeared: " + sha256));
+        });
+    }
+
+    // Records a reference to content just written under key and returns the key that holds it
+    protected String registerBlob(String sha256, String key, long size, String contentType) {
+        String winningKey = transactionTemplate.execute(status -> {
+            storedBlobRepository.upsertReference(sha256, key, size, contentType);
+            return storedBlobRepository.findBySha256(sha256)
+                    .map(StoredBlob::getObjectKey)
+                    .orElse(key);
+        });
+        if (!winningKey.equals(key)) {
+            // Same content already stored (or stored concurrently) under another key
+            deleteObject(key);
+        }
+        return winningKey;
+    }
+
+    // Random suffix per upload: content re-uploaded while the storage GC is still deleting its
+    // previous object gets a new key instead of being overwritten, then deleted, in place
+    protected String blobKey(String sha256, String originalFileName) {
+        return "blobs/" + sha256 + "-" + UUID.randomUUID().toString().substring(0, 8)
+                + fileExtension(originalFileName);
+    }
+
+    // <subDir>/<uuid><ext>: the random name keeps keys unguessable and collision-free
+    protected String newObjectKey(String subDir, String originalFileName) {
+        String fileName = UUID.randomUUID().toString() + fileExtension(originalFileName);
+
+        // Construct object key (path in bucket)
+        return (subDir != null && !subDir.isEmpty()) ? subDir + "/" + fileName : fileName;
+    }
+
+    private String fileExtension(String originalFileName) {
+        String cleanName = originalFileName != null ? StringUtils.cleanPath(originalFileName) : "";
+        String fileExtension = "";
+        int lastDotIndex = cleanName.lastIndexOf(".");
+        if (lastDotIndex > 0) {
+            fileExtension = cleanName.substring(lastDotIndex);
+        }
+        // The name comes from the client; keep only a plain extension so it cannot alter the path
+        if (!fileExtension.matches("\\.[A-Za-z0-9]{1,10}")) {
+            fileExtension = "";
+        }
+        return fileExtension;
+    }
+}
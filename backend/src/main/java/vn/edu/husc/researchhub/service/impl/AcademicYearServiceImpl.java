@@ -19,6 +19,7 @@ public class AcademicYearServiceImpl implements AcademicYearService {
   private final AcademicYearRepository academicYearRepository;
   private final vn.edu.husc.researchhub.repository.TopicRepository topicRepository;
   private final vn.edu.husc.researchhub.repository.YearSessionRepository yearSessionRepository;
+  private final vn.edu.husc.researchhub.service.ReferenceDataService referenceDataService;
 
   @Override
   public Page<AcademicYearResponse> getAllAcademicYears(
@@ -41,6 +42,7 @@ public class AcademicYearServiceImpl implements AcademicYearService {
     academicYear.setIsActive(request.getIsActive());
 
     AcademicYear savedYear = academicYearRepository.save(academicYear);
+    referenceDataService.evictAcademicYear(savedYear.getId());
     return mapToResponse(savedYear);
   }
 
@@ -81,6 +83,7 @@ public class AcademicYearServiceImpl implements AcademicYearService {
     academicYear.setIsActive(request.getIsActive());
 
     AcademicYear updatedYear = academicYearRepository.save(academicYear);
+    referenceDataService.evictAcademicYear(updatedYear.getId());
     return mapToResponse(updatedYear);
   }
 
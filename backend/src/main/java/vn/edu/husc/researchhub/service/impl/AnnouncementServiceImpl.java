@@ -11,9 +11,7 @@ import vn.edu.husc.researchhub.dto.response.AnnouncementResponse;
 import vn.edu.husc.researchhub.model.AcademicYear;
 import vn.edu.husc.researchhub.model.Announcement;
 import vn.edu.husc.researchhub.model.Department;
-import vn.edu.husc.researchhub.repository.AcademicYearRepository;
 import vn.edu.husc.researchhub.repository.AnnouncementRepository;
-import vn.edu.husc.researchhub.repository.DepartmentRepository;
 import vn.edu.husc.researchhub.service.AnnouncementService;
 
 @Service
@@ -21,8 +19,7 @@ import vn.edu.husc.researchhub.service.AnnouncementService;
 public class AnnouncementServiceImpl implements AnnouncementService {
 
   private final AnnouncementRepository announcementRepository;
-  private final DepartmentRepository departmentRepository;
-  private final AcademicYearRepository academicYearRepository;
+  private final vn.edu.husc.researchhub.service.ReferenceDataService referenceDataService;
 
   @Override
   public Page<AnnouncementResponse> getAll(
@@ -46,8 +43,8 @@ public class AnnouncementServiceImpl implements AnnouncementService {
 
     if (request.getDepartmentId() != null) {
       Department department =
-          departmentRepository
-              .findById(request.getDepartmentId())
+          referenceDataService
+              .findDepartment(request.getDepartmentId())
               .orElseThrow(
                   () ->
                       new RuntimeException(
@@ -57,8 +54,8 @@ public class AnnouncementServiceImpl implements AnnouncementService {
 
     if (request.getAcademicYearId() != null) {
       AcademicYear academicYear =
-          academicYearRepository
-              .findById(request.getAcademicYearId())
+          referenceDataService
+              .findAcademicYear(request.getAcademicYearId())
               .orElseThrow(
                   () ->
                       new RuntimeException(
@@ -82,8 +79,8 @@ public class AnnouncementServiceImpl implements AnnouncementService {
 
     if (request.getDepartmentId() != null) {
       Department department =
-          departmentRepository
-              .findById(request.getDepartmentId())
+          referenceDataService
+              .findDepartment(request.getDepartmentId())
               .orElseThrow(
                   () ->
                       new RuntimeException(
@@ -95,8 +92,8 @@ public class AnnouncementServiceImpl implements AnnouncementService {
 
     if (request.getAcademicYearId() != null) {
       AcademicYear academicYear =
-          academicYearRepository
-              .findById(request.getAcademicYearId())
+          referenceDataService
+              .findAcademicYear(request.getAcademicYearId())
               .orElseThrow(
                   () ->
                       new RuntimeException(
@@ -4,12 +4,10 @@ import java.util.List;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import vn.edu.husc.researchhub.dto.response.ApprovedTopicDocumentResponse;
 import vn.edu.husc.researchhub.dto.response.ApprovedTopicResponse;
+import vn.edu.husc.researchhub.dto.response.CursorPageResponse;
 import vn.edu.husc.researchhub.dto.response.PageResponse;
 import vn.edu.husc.researchhub.dto.response.TopicResponse;
 import vn.edu.husc.researchhub.exception.ResourceNotFoundException;
@@ -34,8 +32,11 @@ public class ApprovedTopicServiceImpl implements ApprovedTopicService {
   private final TopicRepository topicRepository;
   private final ApprovedTopicDocumentRepository approvedTopicDocumentRepository;
   private final TopicMemberRepository topicMemberRepository;
-  private final vn.edu.husc.researchhub.repository.YearSessionRepository yearSessionRepository;
+  private final vn.edu.husc.researchhub.service.ReferenceDataService referenceDataService;
   private final vn.edu.husc.researchhub.service.FileService fileService;
+  private final vn.edu.husc.researchhub.service.TopicReadModelService topicReadModelService;
+  private final vn.edu.husc.researchhub.service.TopicSearchService topicSearchService;
+  private final org.springframework.transaction.PlatformTransactionManager transactionManager;
 
   @Override
   public PageResponse<ApprovedTopicResponse> getAllApprovedTopics(
@@ -45,9 +46,9 @@ public class ApprovedTopicServiceImpl implements ApprovedTopicService {
       vn.edu.husc.researchhub.model.enums.ApprovedTopicStatus status,
       int page,
       int size) {
-    Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
     Page<ApprovedTopic> approvedTopicPage =
-        approvedTopicRepository.search(departmentId, academicYearId, keyword, status, pageable);
+        topicSearchService.searchApprovedTopics(
+            departmentId, academicYearId, keyword, status, page, size);
 
     List<ApprovedTopicResponse> content =
         approvedTopicPage.getContent().stream()
@@ -63,6 +64,44 @@ public class ApprovedTopicServiceImpl implements ApprovedTopicService {
         .build();
   }
 
+  @Override
+  public CursorPageResponse<ApprovedTopicResponse> getApprovedTopicsByCursor(
+      Integer departmentId,
+      Integer academicYearId,
+      String keyword,
+      vn.edu.husc.researchhub.model.enums.ApprovedTopicStatus status,
+      String cursor,
+      int size,
+      boolean includeTotal) {
+    size = KeysetCursor.pageSize(size);
+    KeysetCursor after = KeysetCursor.decodeTimed(cursor);
+    List<ApprovedTopic> rows =
+        topicSearchService.searchApprovedTopicsAfter(
+            departmentId,
+            academicYearId,
+            keyword,
+            status,
+            after.createdAt(),
+            after.id(),
+            size + 1);
+
+    boolean hasNext = rows.size() > size;
+    List<ApprovedTopic> pageRows = hasNext ? rows.subList(0, size) : rows;
+    ApprovedTopic last = pageRows.isEmpty() ? null : pageRows.get(pageRows.size() - 1);
+
+    return CursorPageResponse.<ApprovedTopicResponse>builder()
+        .content(pageRows.stream().map(this::mapToResponse).collect(Collectors.toList()))
+        .size(size)
+        .hasNext(hasNext)
+        .nextCursor(hasNext ? KeysetCursor.encode(last.getCreatedAt(), last.getId()) : null)
+        .totalElements(
+            includeTotal
+                ? topicSearchService.countApprovedTopics(
+                    departmentId, academicYearId, keyword, status)
+                : null)
+        .build();
+  }
+
   @Override
   @org.springframework.transaction.annotation.Transactional
   public ApprovedTopicResponse updateApprovedTopic(
@@ -86,6 +125,7 @@ public class ApprovedTopicServiceImpl implements ApprovedTopicService {
     if (request.getStatus() != null) approvedTopic.setStatus(request.getStatus());
 
     ApprovedTopic savedTopic = approvedTopicRepository.save(approvedTopic);
+    topicReadModelService.invalidateTopic(savedTopic.getTopic().getId());
     return mapToResponse(savedTopic);
   }
 
@@ -116,21 +156,78 @@ public class ApprovedTopicServiceImpl implements ApprovedTopicService {
         .build();
   }
 
+  // Not transactional: the upload runs first without a DB connection, then the document row is
+  // written in a short transaction. If that fails, the blob reference taken above is returned.
   @Override
-  @org.springframework.transaction.annotation.Transactional
   public ApprovedTopicDocumentResponse uploadDocument(
       Integer topicId,
       org.springframework.web.multipart.MultipartFile file,
       vn.edu.husc.researchhub.model.enums.DocumentType type,
       String summary) {
     // 1. Find Approved Topic by Topic ID
-    ApprovedTopic approvedTopic =
-        approvedTopicRepository
-            .findByTopicId(topicId)
-            .orElseThrow(
-                () -> new ResourceNotFoundException("Đề tài chưa được duyệt hoặc không tồn tại"));
+    ApprovedTopic approvedTopic = findApprovedTopicByTopicId(topicId);
+
+    // 2. Save New File (identical content is shared with earlier uploads)
+    String fileUrl = fileService.storeBlob(file);
+
+    try {
+      return new org.springframework.transaction.support.TransactionTemplate(transactionManager)
+          .execute(status -> saveDocument(approvedTopic, type, fileUrl, summary));
+    } catch (RuntimeException e) {
+      fileService.releaseBlob(fileUrl);
+      throw e;
+    }
+  }
 
-    // 2. Check if document exists
+  @Override
+  public vn.edu.husc.researchhub.dto.response.PresignedUploadResponse presignDocumentUpload(
+      Integer topicId, String fileName, String contentType) {
+    ApprovedTopic approvedTopic = findApprovedTopicByTopicId(topicId);
+    return fileService.presignUpload(
+        "documents/" + approvedTopic.getId(), fileName, contentType);
+  }
+
+  @Override
+  @org.springframework.transaction.annotation.Transactional
+  public ApprovedTopicDocumentResponse finalizeDocumentUpload(
+      vn.edu.husc.researchhub.dto.request.FinalizeDocumentUploadRequest request) {
+    ApprovedTopic approvedTopic = findApprovedTopicByTopicId(request.getTopicId());
+    if (request.getType() == null) {
+      throw new RuntimeException("Vui lòng chọn loại tài liệu");
+    }
+    fileService.confirmUpload(request.getKey(), "documents/" + approvedTopic.getId() + "/");
+    return saveDocument(
+        approvedTopic,
+        request.getType(),
+        fileService.getPublicUrl(request.getKey()),
+        request.getSummary());
+  }
+
+  @Override
+  public String getDocumentDownloadUrl(Integer documentId) {
+    ApprovedTopicDocument document =
+        approvedTopicDocumentRepository
+            .findById(documentId)
+            .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy tài liệu"));
+    String key = fileService.getKeyFromUrl(document.getFileUrl());
+    // Legacy local files (/uploads/...) are served by the app itself
+    return key != null ? fileService.presignDownload(key) : document.getFileUrl();
+  }
+
+  private ApprovedTopic findApprovedTopicByTopicId(Integer topicId) {
+    return approvedTopicRepository
+        .findByTopicId(topicId)
+        .orElseThrow(
+            () -> new ResourceNotFoundException("Đề tài chưa được duyệt hoặc không tồn tại"));
+  }
+
+  // One document per type: replaces the existing row of that type, if any
+  private ApprovedTopicDocumentResponse saveDocument(
+      ApprovedTopic approvedTopic,
+      vn.edu.husc.researchhub.model.enums.DocumentType type,
+      String fileUrl,
+      String summary) {
+    // Check if document exists
     ApprovedTopicDocument document =
         approvedTopicDocumentRepository.findByApprovedTopicId(approvedTopic.getId()).stream()
             .filter(d -> d.getDocumentType() == type)
@@ -139,6 +236,7 @@ public class ApprovedTopicServiceImpl implements ApprovedTopicService {
 
     // If exists, delete old file
     if (document.getId() != null) {
+      fileService.releaseBlob(document.getFileUrl());
       try {
         // Extract file path from URL (remove leading slash)
         // Assuming URL is /uploads/documents/...
@@ -152,12 +250,7 @@ public class ApprovedTopicServiceImpl implements ApprovedTopicService {
       }
     }
 
-    // 3. Save New File
-    // Use ID for folder name
-    String folderName = String.valueOf(approvedTopic.getId());
-    String fileUrl = fileService.storeFile(file, "documents/" + folderName);
-
-    // 4. Update/Create Entity
+    // Update/Create Entity
     document.setApprovedTopic(approvedTopic);
     document.setDocumentType(type);
     document.setFileUrl(fileUrl);
@@ -169,13 +262,15 @@ public class ApprovedTopicServiceImpl implements ApprovedTopicService {
     return mapToDocumentResponse(document);
   }
 
+  @org.springframework.transaction.annotation.Transactional
   public void deleteDocument(Integer documentId) {
     ApprovedTopicDocument document =
         approvedTopicDocumentRepository
             .findById(documentId)
             .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy tài liệu"));
 
-    // Delete file
+    // Delete file (shared blobs only lose a reference)
+    fileService.releaseBlob(document.getFileUrl());
     try {
       if (document.getFileUrl() != null && document.getFileUrl().startsWith("/")) {
         String filePath = document.getFileUrl().substring(1);
@@ -246,7 +341,7 @@ public class ApprovedTopicServiceImpl implements ApprovedTopicService {
                         m.getUser().getEmail(),
                         m.getUser().getUsername(),
                         m.getUser().getPhoneNumber(),
-                        m.getUser().getAvatarUrl()))
+                        m.getUser().getListAvatarUrl()))
             .collect(Collectors.toList());
 
     List<TopicResponse.MemberResponse> approvedMembers =
@@ -262,7 +357,7 @@ public class ApprovedTopicServiceImpl implements ApprovedTopicService {
                         m.getUser().getEmail(),
                         m.getUser().getUsername(),
                         m.getUser().getPhoneNumber(),
-                        m.getUser().getAvatarUrl()))
+                        m.getUser().getListAvatarUrl()))
             .collect(Collectors.toList());
 
     return TopicResponse.builder()
@@ -280,9 +375,8 @@ public class ApprovedTopicServiceImpl implements ApprovedTopicService {
                 .map(vn.edu.husc.researchhub.model.ApprovedTopic::getStatus)
                 .orElse(null))
         .sessionStatus(
-            yearSessionRepository
-                .findByAcademicYearIdAndDepartmentId(
-                    topic.getAcademicYear().getId(), topic.getDepartment().getId())
+            referenceDataService
+                .findYearSession(topic.getAcademicYear().getId(), topic.getDepartment().getId())
                 .map(vn.edu.husc.researchhub.model.YearSession::getStatus)
                 .orElse(null))
         .createdAt(topic.getCreatedAt())
@@ -291,12 +385,12 @@ public class ApprovedTopicServiceImpl implements ApprovedTopicService {
         .advisorUsername(advisor != null ? advisor.getUser().getUsername() : null)
         .advisorEmail(advisor != null ? advisor.getUser().getEmail() : null)
         .advisorPhone(advisor != null ? advisor.getUser().getPhoneNumber() : null)
-        .advisorAvatar(advisor != null ? advisor.getUser().getAvatarUrl() : null)
+        .advisorAvatar(advisor != null ? advisor.getUser().getListAvatarUrl() : null)
         .studentLeaderId(leader != null ? leader.getUser().getId() : null)
         .studentLeaderName(leader != null ? leader.getUser().getFullName() : null)
         .studentLeaderEmail(leader != null ? leader.getUser().getEmail() : null)
         .studentLeaderPhone(leader != null ? leader.getUser().getPhoneNumber() : null)
-        .studentLeaderAvatar(leader != null ? leader.getUser().getAvatarUrl() : null)
+        .studentLeaderAvatar(leader != null ? leader.getUser().getListAvatarUrl() : null)
         .pendingMembers(pendingMembers)
         .approvedMembers(approvedMembers)
         .advisors(
@@ -313,7 +407,7 @@ public class ApprovedTopicServiceImpl implements ApprovedTopicService {
                             m.getUser().getEmail(),
                             m.getUser().getUsername(),
                             m.getUser().getPhoneNumber(),
-                            m.getUser().getAvatarUrl()))
+                            m.getUser().getListAvatarUrl()))
                 .collect(Collectors.toList()))
         .build();
   }
@@ -0,0 +1,177 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import vn.edu.husc.researchhub.model.User;
+import vn.edu.husc.researchhub.service.AvatarService;
+import vn.edu.husc.researchhub.service.FileService;
+
+@Service
+public class AvatarServiceImpl implements AvatarService {
+
+  private static final int LARGE = 256;
+  private static final int SMALL = 64;
+  private static final int TINY = 32;
+
+  private final FileService fileService;
+  // Decoding is CPU and memory heavy; cap how many uploads are processed at once
+  private final Semaphore workers;
+
+  // Rejects decompression bombs before any pixel is decoded
+  @Value("${app.avatar.maxPixels:50000000}")
+  private long maxPixels;
+
+  // Banners and strips make poor avatars; longer side / shorter side
+  @Value("${app.avatar.maxAspectRatio:4}")
+  private double maxAspectRatio;
+
+  @Value("${app.avatar.jpegQuality:0.85}")
+  private float jpegQuality;
+
+  public AvatarServiceImpl(FileService fileService, @Value("${app.avatar.workers:2}") int workers) {
+    this.fileService = fileService;
+    this.workers = new Semaphore(Math.max(1, workers));
+  }
+
+  @Override
+  public void replaceAvatar(User user, InputStream image) {
+    byte[] large;
+    byte[] small;
+    byte[] tiny;
+    try {
+      workers.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Xử lý ảnh đại diện bị gián đoạn", e);
+    }
+    try {
+      BufferedImage square = cropSquare(decode(image));
+      // Each variant is scaled from the previous one, never from the original again
+      BufferedImage largeImage = scale(square, LARGE);
+      BufferedImage smallImage = scale(largeImage, SMALL);
+      large = encodeJpeg(largeImage);
+      small = encodeJpeg(smallImage);
+      tiny = encodeJpeg(scale(smallImage, TINY));
+    } catch (IOException e) {
+      throw new RuntimeException("Không đọc được file ảnh", e);
+    } finally {
+      workers.release();
+    }
+
+    String largeUrl = fileService.storeBlob(large, "image/jpeg", "avatar.jpg");
+    String smallUrl = fileService.storeBlob(small, "image/jpeg", "avatar.jpg");
+    String tinyUrl = fileService.storeBlob(tiny, "image/jpeg", "avatar.jpg");
+    removeAvatar(user);
+    user.setAvatarUrl(largeUrl);
+    user.setAvatarSmallUrl(smallUrl);
+    user.setAvatarTinyUrl(tinyUrl);
+  }
+
+  @Override
+  public void removeAvatar(User user) {
+    fileService.releaseBlob(user.getAvatarUrl());
+    fileService.releaseBlob(user.getAvatarSmallUrl());
+    fileService.releaseBlob(user.getAvatarTinyUrl());
+    user.setAvatarUrl(null);
+    user.setAvatarSmallUrl(null);
+    user.setAvatarTinyUrl(null);
+  }
+
+  // Only the centred square is decoded, subsampled: a 6000px photo is read at ~512px, so the full
+  // raster is never allocated whatever the aspect ratio
+  private BufferedImage decode(InputStream in) throws IOException {
+    try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+      Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+      if (readers == null || !readers.hasNext()) {
+        throw new RuntimeException("Định dạng ảnh không được hỗ trợ");
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(input, true, true);
+        int width = reader.getWidth(0);
+        int height = reader.getHeight(0);
+        if ((long) width * height > maxPixels) {
+          throw new RuntimeException("Kích thước ảnh quá lớn");
+        }
+        int side = Math.min(width, height);
+        if (side <= 0 || (double) Math.max(width, height) / side > maxAspectRatio) {
+          throw new RuntimeException("Tỉ lệ khung hình của ảnh không phù hợp làm ảnh đại diện");
+        }
+        int factor = Math.max(1, side / (LARGE * 2));
+        ImageReadParam param = reader.getDefaultReadParam();
+        param.setSourceRegion(
+            new java.awt.Rectangle((width - side) / 2, (height - side) / 2, side, side));
+        param.setSourceSubsampling(factor, factor, 0, 0);
+        return reader.read(0, param);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  private BufferedImage cropSquare(BufferedImage image) {
+    int side = Math.min(image.getWidth(), image.getHeight());
+    return image.getSubimage(
+        (image.getWidth() - side) / 2, (image.getHeight() - side) / 2, side, side);
+  }
+
+  // Halves first: a single bilinear step over a large ratio aliases badly
+  private BufferedImage scale(BufferedImage image, int size) {
+    BufferedImage current = image;
+    while (current.getWidth() / 2 >= size) {
+      current = resize(current, current.getWidth() / 2);
+    }
+    return current.getWidth() == size && current.getType() == BufferedImage.TYPE_INT_RGB
+        ? current
+        : resize(current, size);
+  }
+
+  private BufferedImage resize(BufferedImage image, int size) {
+    BufferedImage resized = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = resized.createGraphics();
+    try {
+      graphics.setRenderingHint(
+          RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+      // JPEG has no alpha: transparent PNG pixels become white instead of black
+      graphics.setColor(Color.WHITE);
+      graphics.fillRect(0, 0, size, size);
+      graphics.drawImage(image, 0, 0, size, size, null);
+    } finally {
+      graphics.dispose();
+    }
+    return resized;
+  }
+
+  private byte[] encodeJpeg(BufferedImage image) throws IOException {
+    ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+      writer.setOutput(output);
+      ImageWriteParam param = writer.getDefaultWriteParam();
+      param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      param.setCompressionQuality(jpegQuality);
+      writer.write(null, new IIOImage(image, null, null), param);
+    } finally {
+      writer.dispose();
+    }
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,189 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+import vn.edu.husc.researchhub.service.ConcurrencyLimiterService;
+
+@Service
+public class ConcurrencyLimiterServiceImpl implements ConcurrencyLimiterService {
+
+  private static final String PREFIX = "app.concurrency.";
+
+  private final AntPathMatcher pathMatcher = new AntPathMatcher();
+  private final boolean enabled;
+  private final long retryAfterSeconds;
+  private final List<String> excludedPaths;
+  // Checked in declaration order; the first group with a matching pattern wins
+  private final Map<String, GroupLimiter> groups = new LinkedHashMap<>();
+
+  public ConcurrencyLimiterServiceImpl(
+      Environment env,
+      @Value("${app.concurrency.enabled:true}") boolean enabled,
+      @Value("${app.concurrency.retryAfterSeconds:1}") long retryAfterSeconds,
+      @Value("${app.concurrency.groups:}") List<String> groupNames,
+      @Value("${app.concurrency.excludedPaths:}") List<String> excludedPaths) {
+    this.enabled = enabled;
+    this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    this.excludedPaths = trimmed(excludedPaths);
+    for (String name : trimmed(groupNames)) {
+      String key = PREFIX + name + ".";
+      List<String> paths = trimmed(env.getProperty(key + "paths", List.class, List.of()));
+      int minLimit = Math.max(1, env.getProperty(key + "minLimit", Integer.class, 2));
+      int maxLimit = Math.max(minLimit, env.getProperty(key + "maxLimit", Integer.class, 50));
+      int initialLimit = env.getProperty(key + "initialLimit", Integer.class, minLimit);
+      long targetLatencyMs = env.getProperty(key + "targetLatencyMs", Long.class, 500L);
+      double backoffRatio = env.getProperty(key + "backoffRatio", Double.class, 0.9);
+      groups.put(
+          name,
+          new GroupLimiter(
+              paths,
+              minLimit,
+              maxLimit,
+              Math.min(maxLimit, Math.max(minLimit, initialLimit)),
+              TimeUnit.MILLISECONDS.toNanos(targetLatencyMs),
+              Math.min(0.99, Math.max(0.1, backoffRatio))));
+    }
+  }
+
+  @Override
+  public String resolveGroup(String path) {
+    if (!enabled || path == null) {
+      return null;
+    }
+    for (String pattern : excludedPaths) {
+      if (pathMatcher.match(pattern, path)) {
+        return null;
+      }
+    }
+    for (Map.Entry<String, GroupLimiter> entry : groups.entrySet()) {
+      for (String pattern : entry.getValue().paths) {
+        if (pathMatcher.match(pattern, path)) {
+          return entry.getKey();
+        }
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public boolean tryAcquire(String group) {
+    GroupLimiter limiter = groups.get(group);
+    return limiter == null || limiter.tryAcquire();
+  }
+
+  @Override
+  public void release(String group, long elapsedNanos) {
+    GroupLimiter limiter = groups.get(group);
+    if (limiter != null) {
+      limiter.release(elapsedNanos);
+    }
+  }
+
+  @Override
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+
+  @Override
+  public Map<String, Object> getStats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("enabled", enabled);
+    groups.forEach((name, limiter) -> stats.put(name, limiter.stats()));
+    return stats;
+  }
+
+  private static List<String> trimmed(List<?> values) {
+    List<String> result = new ArrayList<>();
+    if (values != null) {
+      for (Object value : values) {
+        String s = value == null ? "" : value.toString().trim();
+        if (!s.isEmpty()) {
+          result.add(s);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * AIMD limit for one route group: +1 per "round" of fast completions while the group is
+   * actually using its limit, multiplicative backoff whenever a request exceeds the target
+   * latency. Slow requests of one group therefore shrink only that group's share of the pool.
+   */
+  static final class GroupLimiter {
+    private final List<String> paths;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder slow = new LongAdder();
+    private volatile double limit;
+
+    GroupLimiter(
+        List<String> paths,
+        int minLimit,
+        int maxLimit,
+        int initialLimit,
+        long targetLatencyNanos,
+        double backoffRatio) {
+      this.paths = paths;
+      this.minLimit = minLimit;
+      this.maxLimit = maxLimit;
+      this.limit = initialLimit;
+      this.targetLatencyNanos = targetLatencyNanos;
+      this.backoffRatio = backoffRatio;
+    }
+
+    boolean tryAcquire() {
+      while (true) {
+        int current = inFlight.get();
+        if (current >= (int) limit) {
+          rejected.increment();
+          return false;
+        }
+        if (inFlight.compareAndSet(current, current + 1)) {
+          admitted.increment();
+          return true;
+        }
+      }
+    }
+
+    void release(long elapsedNanos) {
+      int inFlightAtCompletion = inFlight.getAndDecrement();
+      synchronized (this) {
+        if (elapsedNanos > targetLatencyNanos) {
+          slow.increment();
+          limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlightAtCompletion * 2 >= (int) limit) {
+          // Only grow while the limit is the bottleneck, otherwise idle groups drift to max
+          limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+      }
+    }
+
+    Map<String, Object> stats() {
+      Map<String, Object> stats = new LinkedHashMap<>();
+      stats.put("limit", (int) limit);
+      stats.put("minLimit", minLimit);
+      stats.put("maxLimit", maxLimit);
+      stats.put("inFlight", inFlight.get());
+      stats.put("admitted", admitted.sum());
+      stats.put("rejected", rejected.sum());
+      stats.put("slow", slow.sum());
+      return stats;
+    }
+  }
+}
@@ -0,0 +1,180 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import vn.edu.husc.researchhub.dto.response.ChatPartnerResponse;
+import vn.edu.husc.researchhub.model.ConversationSummary;
+import vn.edu.husc.researchhub.model.Message;
+import vn.edu.husc.researchhub.model.User;
+import vn.edu.husc.researchhub.repository.ConversationSummaryRepository;
+import vn.edu.husc.researchhub.repository.MessageRepository;
+import vn.edu.husc.researchhub.repository.UserRepository;
+import vn.edu.husc.researchhub.service.ConversationSummaryService;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ConversationSummaryServiceImpl implements ConversationSummaryService {
+
+  private final ConversationSummaryRepository conversationSummaryRepository;
+  private final MessageRepository messageRepository;
+  private final UserRepository userRepository;
+
+  @Override
+  public void onMessageSent(Message message) {
+    Integer senderId = message.getSender().getId();
+    Integer receiverId = message.getReceiver().getId();
+    Integer userAId = Math.min(senderId, receiverId);
+    Integer userBId = Math.max(senderId, receiverId);
+    conversationSummaryRepository.upsertLastMessage(
+        userAId,
+        userBId,
+        message.getId(),
+        preview(message.getContent()),
+        message.getCreatedAt(),
+        senderId,
+        receiverId.equals(userAId) ? 1 : 0,
+        receiverId.equals(userBId) && !userAId.equals(userBId) ? 1 : 0);
+  }
+
+  @Override
+  public void onMessageEdited(Message message) {
+    Integer senderId = message.getSender().getId();
+    Integer receiverId = message.getReceiver().getId();
+    conversationSummaryRepository.updatePreview(
+        Math.min(senderId, receiverId),
+        Math.max(senderId, receiverId),
+        message.getId(),
+        preview(message.getContent()));
+  }
+
+  @Override
+  public void onMessageDeleted(Message message) {
+    Integer senderId = message.getSender().getId();
+    Integer receiverId = message.getReceiver().getId();
+    Integer userAId = Math.min(senderId, receiverId);
+    Integer userBId = Math.max(senderId, receiverId);
+
+    // Counters and last-message columns are updated with targeted statements, never by saving
+    // the whole entity, so a concurrent send upsert cannot be overwritten with stale counts
+    if (receiverId.equals(userAId)) {
+      conversationSummaryRepository.decrementUnreadA(userAId, userBId, message.getId());
+    } else {
+      conversationSummaryRepository.decrementUnreadB(userAId, userBId, message.getId());
+    }
+
+    List<Message> latest =
+        messageRepository.findConversationBefore(
+            userAId, userBId, null, null, PageRequest.of(0, 1));
+    if (latest.isEmpty()) {
+      conversationSummaryRepository.deleteIfLastMessage(userAId, userBId, message.getId());
+      return;
+    }
+    Message last = latest.get(0);
+    conversationSummaryRepository.replaceLastMessage(
+        userAId,
+        userBId,
+        message.getId(),
+        last.getId(),
+        preview(last.getContent()),
+        last.getCreatedAt(),
+        last.getSender().getId());
+  }
+
+  @Override
+  public void onConversationRead(Integer userId, Integer partnerId, Integer upToMessageId) {
+    Integer userAId = Math.min(userId, partnerId);
+    Integer userBId = Math.max(userId, partnerId);
+    if (userId.equals(userAId)) {
+      conversationSummaryRepository.advanceReadWatermarkA(userAId, userBId, upToMessageId);
+    } else {
+      conversationSummaryRepository.advanceReadWatermarkB(userAId, userBId, upToMessageId);
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<ChatPartnerResponse> getConversations(String username, int size) {
+    User user =
+        userRepository
+            .findByUsername(username)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+    return conversationSummaryRepository
+        .findByParticipant(user.getId(), PageRequest.of(0, Math.max(size, 1)))
+        .stream()
+        .map(summary -> toPartner(summary, user.getId()))
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void attachSummaries(Integer userId, List<ChatPartnerResponse> partners) {
+    if (partners.isEmpty()) {
+      return;
+    }
+    Map<Integer, ConversationSummary> byPartner =
+        conversationSummaryRepository.findByParticipant(userId, Pageable.unpaged()).stream()
+            .collect(
+                Collectors.toMap(
+                    summary -> partnerOf(summary, userId).getId(),
+                    Function.identity(),
+                    (first, second) -> first));
+    for (ChatPartnerResponse partner : partners) {
+      ConversationSummary summary = byPartner.get(partner.getId());
+      if (summary != null) {
+        fill(partner, summary, userId);
+      }
+    }
+  }
+
+  @Override
+  public int rebuild() {
+    conversationSummaryRepository.upsertFromMessages();
+    conversationSummaryRepository.deleteWithoutMessages();
+    conversationSummaryRepository.recountUnread();
+    return (int) conversationSummaryRepository.count();
+  }
+
+  private ChatPartnerResponse toPartner(ConversationSummary summary, Integer userId) {
+    User partner = partnerOf(summary, userId);
+    ChatPartnerResponse response =
+        ChatPartnerResponse.builder()
+            .id(partner.getId())
+            .username(partner.getUsername())
+            .fullName(partner.getFullName())
+            .avatarUrl(partner.getListAvatarUrl())
+            .role(partner.getRole().name())
+            .build();
+    fill(response, summary, userId);
+    return response;
+  }
+
+  private void fill(ChatPartnerResponse response, ConversationSummary summary, Integer userId) {
+    response.setLastMessageId(summary.getLastMessageId());
+    response.setLastMessagePreview(summary.getLastMessagePreview());
+    response.setLastMessageAt(summary.getLastMessageAt());
+    response.setLastSenderId(summary.getLastSenderId());
+    response.setUnreadCount(
+        summary.getUserA().getId().equals(userId) ? summary.getUnreadA() : summary.getUnreadB());
+  }
+
+  private User partnerOf(ConversationSummary summary, Integer userId) {
+    return summary.getUserA().getId().equals(userId) ? summary.getUserB() : summary.getUserA();
+  }
+
+  private String preview(String content) {
+    if (content == null) {
+      return null;
+    }
+    return content.length() <= ConversationSummary.PREVIEW_LENGTH
+        ? content
+        : content.substring(0, ConversationSummary.PREVIEW_LENGTH);
+  }
+}
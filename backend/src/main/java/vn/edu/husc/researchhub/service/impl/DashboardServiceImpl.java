@@ -15,6 +15,7 @@ public class DashboardServiceImpl implements DashboardService {
   private final UserRepository userRepository;
   private final AcademicYearRepository academicYearRepository;
   private final DepartmentRepository departmentRepository;
+  private final vn.edu.husc.researchhub.service.ReferenceDataService referenceDataService;
   private final vn.edu.husc.researchhub.repository.AnnouncementRepository announcementRepository;
   private final vn.edu.husc.researchhub.repository.TopicRepository topicRepository;
   private final vn.edu.husc.researchhub.repository.ApprovedTopicRepository approvedTopicRepository;
@@ -28,8 +29,8 @@ public class DashboardServiceImpl implements DashboardService {
     String currentYear = "Tất cả";
     if (academicYearId != null) {
       currentYear =
-          academicYearRepository
-              .findById(academicYearId)
+          referenceDataService
+              .findAcademicYear(academicYearId)
               .map(ay -> ay.getYear().toString())
               .orElse("Không xác định");
     } else {
@@ -48,8 +49,8 @@ public class DashboardServiceImpl implements DashboardService {
     // provided.
     if (academicYearId != null) {
       currentYear =
-          academicYearRepository
-              .findById(academicYearId)
+          referenceDataService
+              .findAcademicYear(academicYearId)
               .map(ay -> ay.getYear().toString())
               .orElse("Không xác định");
     }
@@ -71,7 +72,7 @@ public class DashboardServiceImpl implements DashboardService {
         approvedTopicRepository.countByTopicDepartmentIdAndTopicAcademicYearId(
             departmentId, academicYearId);
 
-    var academicYear = academicYearRepository.findById(academicYearId).orElse(null);
+    var academicYear = referenceDataService.findAcademicYear(academicYearId).orElse(null);
     String currentYear =
         academicYear != null ? academicYear.getYear().toString() : "Không xác định";
 
@@ -18,6 +18,7 @@ public class DepartmentServiceImpl implements DepartmentService {
 
   private final DepartmentRepository departmentRepository;
   private final vn.edu.husc.researchhub.repository.UserRepository userRepository;
+  private final vn.edu.husc.researchhub.service.ReferenceDataService referenceDataService;
 
   @Override
   public Page<DepartmentResponse> getAll(String keyword, int page, int size) {
@@ -52,6 +53,7 @@ public class DepartmentServiceImpl implements DepartmentService {
     department.setCode(request.getCode());
     department.setName(request.getName());
     Department saved = departmentRepository.save(department);
+    referenceDataService.evictDepartment(saved.getId());
     return mapToResponse(saved);
   }
 
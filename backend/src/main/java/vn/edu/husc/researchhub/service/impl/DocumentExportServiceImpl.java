@@ -0,0 +1,168 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import vn.edu.husc.researchhub.model.ApprovedTopic;
+import vn.edu.husc.researchhub.model.ApprovedTopicDocument;
+import vn.edu.husc.researchhub.repository.ApprovedTopicDocumentRepository;
+import vn.edu.husc.researchhub.service.DocumentExportService;
+import vn.edu.husc.researchhub.service.FileService;
+
+@Service
+public class DocumentExportServiceImpl implements DocumentExportService {
+
+  private final ApprovedTopicDocumentRepository approvedTopicDocumentRepository;
+  private final FileService fileService;
+  private final ExecutorService fetchPool;
+  // Objects opened ahead of the one being zipped; each holds a connection, not its bytes
+  private final int prefetch;
+
+  private record ExportEntry(String name, String key, String fileUrl) {}
+
+  public DocumentExportServiceImpl(
+      ApprovedTopicDocumentRepository approvedTopicDocumentRepository,
+      FileService fileService,
+      @Value("${app.export.prefetch:4}") int prefetch) {
+    this.approvedTopicDocumentRepository = approvedTopicDocumentRepository;
+    this.fileService = fileService;
+    this.prefetch = Math.max(1, prefetch);
+    this.fetchPool =
+        Executors.newFixedThreadPool(
+            this.prefetch,
+            runnable -> {
+              Thread thread = new Thread(runnable, "document-export");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    fetchPool.shutdownNow();
+  }
+
+  @Override
+  public void writeDocumentsZip(Integer departmentId, Integer academicYearId, OutputStream out)
+      throws IOException {
+    List<ExportEntry> entries = loadEntries(departmentId, academicYearId);
+    List<String> missing = new ArrayList<>();
+    Deque<Future<InputStream>> window = new ArrayDeque<>();
+
+    ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+    // Documents are mostly PDF/DOCX, already compressed; spend as little CPU as possible
+    zip.setLevel(Deflater.BEST_SPEED);
+    try {
+      int next = 0;
+      for (ExportEntry entry : entries) {
+        // Objects are opened concurrently but copied one at a time, in order
+        while (next < entries.size() && window.size() < prefetch) {
+          ExportEntry ahead = entries.get(next++);
+          window.add(fetchPool.submit(() -> open(ahead)));
+        }
+        try (InputStream in = window.poll().get()) {
+          if (in == null) {
+            missing.add(entry.name() + "\t" + entry.fileUrl());
+            continue;
+          }
+          zip.putNextEntry(new ZipEntry(entry.name()));
+          in.transferTo(zip);
+          zip.closeEntry();
+        } catch (ExecutionException e) {
+          missing.add(entry.name() + "\t" + entry.fileUrl() + "\t" + e.getCause().getMessage());
+        }
+      }
+
+      if (!missing.isEmpty()) {
+        zip.putNextEntry(new ZipEntry("_missing.txt"));
+        zip.write(String.join("\n", missing).getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+      }
+      zip.finish();
+      zip.flush();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Export interrupted", e);
+    } finally {
+      // After a client disconnect, release the connections opened ahead
+      for (Future<InputStream> future : window) {
+        closeQuietly(future);
+      }
+    }
+  }
+
+  private List<ExportEntry> loadEntries(Integer departmentId, Integer academicYearId) {
+    List<ExportEntry> entries = new ArrayList<>();
+    Set<String> names = new HashSet<>();
+    for (ApprovedTopicDocument document :
+        approvedTopicDocumentRepository.findForExport(departmentId, academicYearId)) {
+      String key = fileService.getKeyFromUrl(document.getFileUrl());
+      String name = uniqueName(names, entryName(document, key));
+      entries.add(new ExportEntry(name, key, document.getFileUrl()));
+    }
+    return entries;
+  }
+
+  // <topic code>/<document type><ext>
+  private String entryName(ApprovedTopicDocument document, String key) {
+    ApprovedTopic approvedTopic = document.getApprovedTopic();
+    String folder =
+        approvedTopic.getCode() != null && !approvedTopic.getCode().isBlank()
+            ? approvedTopic.getCode()
+            : "topic-" + approvedTopic.getTopic().getId();
+    String source = key != null ? key : String.valueOf(document.getFileUrl());
+    int dot = source.lastIndexOf('.');
+    String extension = dot > source.lastIndexOf('/') ? source.substring(dot) : "";
+    return sanitize(folder) + "/" + document.getDocumentType() + extension;
+  }
+
+  private String uniqueName(Set<String> names, String name) {
+    String candidate = name;
+    for (int i = 2; !names.add(candidate); i++) {
+      int dot = name.lastIndexOf('.');
+      candidate =
+          dot > name.lastIndexOf('/')
+              ? name.substring(0, dot) + "-" + i + name.substring(dot)
+              : name + "-" + i;
+    }
+    return candidate;
+  }
+
+  private String sanitize(String segment) {
+    return segment.replaceAll("[\\\\/:*?\"<>|]", "_");
+  }
+
+  // null when the document does not point at this storage (e.g. a legacy local path)
+  private InputStream open(ExportEntry entry) {
+    return entry.key() != null ? fileService.openObject(entry.key()) : null;
+  }
+
+  // Waits for the open to finish rather than cancelling, so no stream is left unclosed
+  private void closeQuietly(Future<InputStream> future) {
+    try {
+      InputStream in = future.get();
+      if (in != null) {
+        in.close();
+      }
+    } catch (Exception ignored) {
+      // Nothing left to release
+    }
+  }
+}
@@ -0,0 +1,267 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import vn.edu.husc.researchhub.model.EmailOutbox;
+import vn.edu.husc.researchhub.model.enums.EmailOutboxStatus;
+import vn.edu.husc.researchhub.repository.EmailOutboxRepository;
+import vn.edu.husc.researchhub.service.EmailOutboxService;
+
+@Service
+public class EmailOutboxServiceImpl implements EmailOutboxService {
+
+  // A claimed batch not finished within this time is assumed lost (crash) and released
+  private static final Duration STALE_CLAIM = Duration.ofMinutes(10);
+  private static final Duration BASE_BACKOFF = Duration.ofSeconds(30);
+  private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+  private static final Duration KEEP_SENT = Duration.ofDays(7);
+
+  private final EmailOutboxRepository emailOutboxRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final RestTemplate restTemplate = new RestTemplate();
+
+  @Value("${brevo.api.key}")
+  private String apiKey;
+
+  @Value("${brevo.api.url:https://api.brevo.com/v3/smtp/email}")
+  private String apiUrl;
+
+  @Value("${brevo.sender.email}")
+  private String senderEmail;
+
+  @Value("${brevo.sender.name}")
+  private String senderName;
+
+  @Value("${app.email.workers:2}")
+  private int workers;
+
+  @Value("${app.email.batchSize:50}")
+  private int batchSize;
+
+  @Value("${app.email.maxAttempts:8}")
+  private int maxAttempts;
+
+  @Value("${app.email.pollSeconds:5}")
+  private long pollSeconds;
+
+  @Value("${app.email.requestsPerSecond:5}")
+  private double requestsPerSecond;
+
+  private ScheduledExecutorService scheduler;
+  // Coalesces wake-ups: a bulk import registers one per email
+  private final AtomicBoolean wakePending = new AtomicBoolean();
+  private long nextRequestAtNanos = System.nanoTime();
+  private volatile LocalDateTime lastCleanup = LocalDateTime.MIN;
+
+  public EmailOutboxServiceImpl(
+      EmailOutboxRepository emailOutboxRepository, PlatformTransactionManager transactionManager) {
+    this.emailOutboxRepository = emailOutboxRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @PostConstruct
+  void start() {
+    scheduler =
+        Executors.newScheduledThreadPool(
+            workers,
+            runnable -> {
+              Thread thread = new Thread(runnable, "email-outbox");
+              thread.setDaemon(true);
+              return thread;
+            });
+    for (int i = 0; i < workers; i++) {
+      scheduler.scheduleWithFixedDelay(this::drain, pollSeconds, pollSeconds, TimeUnit.SECONDS);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  @Override
+  public void wakeUp() {
+    if (wakePending.compareAndSet(false, true)) {
+      scheduler.execute(
+          () -> {
+            wakePending.set(false);
+            drain();
+          });
+    }
+  }
+
+  @Override
+  public Map<String, Object> getQueueStats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    for (EmailOutboxStatus status : EmailOutboxStatus.values()) {
+      stats.put(status.name().toLowerCase(), 0L);
+    }
+    for (Object[] row : emailOutboxRepository.countByStatus()) {
+      stats.put(((EmailOutboxStatus) row[0]).name().toLowerCase(), row[1]);
+    }
+    LocalDateTime oldest = emailOutboxRepository.findOldestPendingCreatedAt();
+    stats.put(
+        "oldestPendingAgeSeconds",
+        oldest != null ? Duration.between(oldest, LocalDateTime.now()).getSeconds() : 0L);
+    return stats;
+  }
+
+  // Claims due batches until the queue is empty; exceptions are contained so the schedule survives
+  private void drain() {
+    try {
+      housekeeping();
+      List<EmailOutbox> batch;
+      do {
+        batch = claimBatch();
+        if (!batch.isEmpty()) {
+          deliver(batch);
+        }
+      } while (batch.size() == batchSize);
+    } catch (Exception e) {
+      System.err.println("Email outbox dispatch failed: " + e.getMessage());
+    }
+  }
+
+  private void housekeeping() {
+    LocalDateTime now = LocalDateTime.now();
+    transactionTemplate.executeWithoutResult(
+        status -> emailOutboxRepository.releaseStale(now.minus(STALE_CLAIM)));
+    if (lastCleanup.isBefore(now.minusHours(1))) {
+      lastCleanup = now;
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            emailOutboxRepository.deleteSentBefore(now.minus(KEEP_SENT));
+            emailOutboxRepository.clearFinishedBodies();
+          });
+    }
+  }
+
+  private List<EmailOutbox> claimBatch() {
+    List<EmailOutbox> claimed =
+        transactionTemplate.execute(
+            status -> {
+              LocalDateTime now = LocalDateTime.now();
+              List<EmailOutbox> rows = emailOutboxRepository.lockDue(now, batchSize);
+              for (EmailOutbox row : rows) {
+                row.setStatus(EmailOutboxStatus.SENDING);
+                row.setLockedAt(now);
+              }
+              return rows;
+            });
+    return claimed != null ? claimed : Collections.emptyList();
+  }
+
+  private void deliver(List<EmailOutbox> batch) {
+    try {
+      acquireRatePermit();
+      restTemplate.postForEntity(apiUrl, buildRequest(batch), String.class);
+      List<Long> ids = batch.stream().map(EmailOutbox::getId).collect(Collectors.toList());
+      transactionTemplate.executeWithoutResult(
+          status -> emailOutboxRepository.markSent(ids, LocalDateTime.now()));
+    } catch (HttpClientErrorException e) {
+      if (e.getStatusCode().value() == 429) {
+        rescheduleAll(batch, e.getMessage(), false);
+      } else if (batch.size() > 1) {
+        // Brevo rejects the whole call for one bad message (e.g. invalid address): bisect so
+        // only the offending row ends up FAILED and the rest still go out
+        int mid = batch.size() / 2;
+        deliver(new ArrayList<>(batch.subList(0, mid)));
+        deliver(new ArrayList<>(batch.subList(mid, batch.size())));
+      } else {
+        // A 4xx for a single message will not succeed on retry
+        rescheduleAll(batch, e.getMessage(), true);
+      }
+    } catch (Exception e) {
+      rescheduleAll(batch, e.getMessage(), false);
+    }
+  }
+
+  private void rescheduleAll(List<EmailOutbox> batch, String error, boolean permanent) {
+    System.err.println("Failed to send " + batch.size() + " email(s) via Brevo: " + error);
+    transactionTemplate.executeWithoutResult(status -> reschedule(batch, error, permanent));
+  }
+
+  private void reschedule(List<EmailOutbox> batch, String error, boolean permanent) {
+    LocalDateTime now = LocalDateTime.now();
+    for (EmailOutbox row : batch) {
+      int attempts = row.getAttempts() + 1;
+      row.setAttempts(attempts);
+      row.setLockedAt(null);
+      row.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+      if (permanent || attempts >= maxAttempts) {
+        row.setStatus(EmailOutboxStatus.FAILED);
+        row.setBody(null);
+      } else {
+        // Exponential backoff: 30s, 1m, 2m, ... capped at 1h
+        Duration delay = BASE_BACKOFF.multipliedBy(1L << Math.min(attempts - 1, 16));
+        row.setStatus(EmailOutboxStatus.PENDING);
+        row.setNextAttemptAt(now.plus(delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay));
+      }
+    }
+    emailOutboxRepository.saveAll(batch);
+  }
+
+  // One API call per batch: the first message is the base, every message is a messageVersion
+  private HttpEntity<Map<String, Object>> buildRequest(List<EmailOutbox> batch) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    headers.set("api-key", apiKey);
+
+    EmailOutbox first = batch.get(0);
+    Map<String, Object> body = new HashMap<>();
+    body.put("sender", Map.of("name", senderName, "email", senderEmail));
+    body.put("subject", first.getSubject());
+    body.put("textContent", first.getBody());
+    if (batch.size() == 1) {
+      body.put("to", Collections.singletonList(Map.of("email", first.getRecipient())));
+    } else {
+      List<Map<String, Object>> versions = new ArrayList<>(batch.size());
+      for (EmailOutbox email : batch) {
+        versions.add(
+            Map.of(
+                "to", Collections.singletonList(Map.of("email", email.getRecipient())),
+                "subject", email.getSubject(),
+                "textContent", email.getBody()));
+      }
+      body.put("messageVersions", versions);
+    }
+    return new HttpEntity<>(body, headers);
+  }
+
+  // Spaces API calls evenly across all dispatcher threads
+  private void acquireRatePermit() throws InterruptedException {
+    long intervalNanos = (long) (1_000_000_000L / Math.max(requestsPerSecond, 0.01));
+    long waitNanos;
+    synchronized (this) {
+      long now = System.nanoTime();
+      long slot = Math.max(now, nextRequestAtNanos);
+      nextRequestAtNanos = slot + intervalNanos;
+      waitNanos = slot - now;
+    }
+    if (waitNanos > 0) {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+  }
+}
@@ -1,56 +1,45 @@
 package vn.edu.husc.researchhub.service.impl;
 
+import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import vn.edu.husc.researchhub.model.EmailOutbox;
+import vn.edu.husc.researchhub.repository.EmailOutboxRepository;
+import vn.edu.husc.researchhub.service.EmailOutboxService;
 import vn.edu.husc.researchhub.service.EmailService;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 @Service
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
 
-  @Value("${brevo.api.key}")
-  private String apiKey;
-
-  @Value("${brevo.sender.email}")
-  private String senderEmail;
-
-  @Value("${brevo.sender.name}")
-  private String senderName;
-
-  private final RestTemplate restTemplate = new RestTemplate();
-  private static final String BREVO_API_URL = "https://api.brevo.com/v3/smtp/email";
+  private final EmailOutboxRepository emailOutboxRepository;
+  private final EmailOutboxService emailOutboxService;
 
+  // Written in the caller's transaction: the email exists only if the change that caused it
+  // commits, and the caller never waits on Brevo. EmailOutboxService does the sending.
   @Override
+  @Transactional
   public void sendSimpleMessage(String to, String subject, String text) {
-    try {
-      HttpHeaders headers = new HttpHeaders();
-      headers.setContentType(MediaType.APPLICATION_JSON);
-      headers.set("api-key", apiKey);
-
-      Map<String, Object> body = new HashMap<>();
-      body.put("sender", Map.of("name", senderName, "email", senderEmail));
-      body.put("to", Collections.singletonList(Map.of("email", to)));
-      body.put("subject", subject);
-      body.put("textContent", text); // Use textContent for plain text
-
-      HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, headers);
-
-      restTemplate.postForEntity(BREVO_API_URL, request, String.class);
-      System.out.println("Email sent successfully to " + to);
-
-    } catch (Exception e) {
-      System.err.println("Failed to send email to " + to + ": " + e.getMessage());
-      e.printStackTrace();
+    EmailOutbox email = new EmailOutbox();
+    email.setRecipient(to);
+    email.setSubject(subject);
+    email.setBody(text);
+    email.setNextAttemptAt(LocalDateTime.now());
+    emailOutboxRepository.save(email);
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              emailOutboxService.wakeUp();
+            }
+          });
+    } else {
+      emailOutboxService.wakeUp();
     }
   }
 
@@ -1,24 +1,64 @@
 package vn.edu.husc.researchhub.service.impl;
 
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
-import java.util.UUID;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
-import vn.edu.husc.researchhub.service.FileService;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import vn.edu.husc.researchhub.dto.response.PresignedUploadResponse;
+import vn.edu.husc.researchhub.repository.StoredBlobRepository;
 
 @Service
-public class FileServiceImpl implements FileService {
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "s3", matchIfMissing = true)
+public class FileServiceImpl extends AbstractFileService {
 
     private final S3Client s3Client;
+    private final S3Presigner s3Presigner;
+    // Shared by all multipart uploads; caps the number of part PUTs in flight process-wide
+    private final ExecutorService partUploadPool;
 
     @Value("${app.s3.bucket}")
     private String bucketName;
@@ -26,11 +66,34 @@ public class FileServiceImpl implements FileService {
     @Value("${app.s3.endpoint}")
     private String endpoint;
 
+    @Value("${app.s3.presign.uploadTtlSeconds:600}")
+    private long uploadTtlSeconds;
+
+    @Value("${app.s3.presign.downloadTtlSeconds:900}")
+    private long downloadTtlSeconds;
+
+    // Files at or above this size go through multipart upload, smaller ones use a single PUT
+    @Value("${app.s3.multipart.thresholdBytes:16777216}")
+    private long multipartThresholdBytes;
+
+    // S3 requires every part except the last to be at least 5MB
+    @Value("${app.s3.multipart.partSizeBytes:8388608}")
+    private long partSizeBytes;
+
+    @Value("${app.s3.multipart.partMaxAttempts:3}")
+    private int partMaxAttempts;
+
+    private final int partConcurrency;
+
     public FileServiceImpl(
             @Value("${app.s3.endpoint}") String endpoint,
             @Value("${app.s3.region}") String region,
             @Value("${app.s3.accessKey}") String accessKey,
-            @Value("${app.s3.secretKey}") String secretKey) {
+            @Value("${app.s3.secretKey}") String secretKey,
+            @Value("${app.s3.multipart.concurrency:4}") int partConcurrency,
+            StoredBlobRepository storedBlobRepository,
+            PlatformTransactionManager transactionManager) {
+        super(storedBlobRepository, transactionManager);
 
         this.s3Client = S3Client.builder()
                 .endpointOverride(URI.create(endpoint))
@@ -41,24 +104,44 @@ public class FileServiceImpl implements FileService {
                 .credentialsProvider(StaticCredentialsProvider.create(
                         AwsBasicCredentials.create(accessKey, secretKey)))
                 .build();
+
+        this.s3Presigner = S3Presigner.builder()
+                .endpointOverride(URI.create(endpoint))
+                .region(Region.of(region))
+                .serviceConfiguration(software.amazon.awssdk.services.s3.S3Configuration.builder()
+                        .pathStyleAccessEnabled(true)
+                        .build())
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(accessKey, secretKey)))
+                .build();
+
+        this.partConcurrency = Math.max(1, partConcurrency);
+        this.partUploadPool = Executors.newFixedThreadPool(this.partConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "s3-part-upload");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        partUploadPool.shutdownNow();
     }
 
     @Override
     public String storeFile(MultipartFile file, String subDir) {
-        String originalFileName = StringUtils.cleanPath(file.getOriginalFilename());
-        String fileExtension = "";
-        int lastDotIndex = originalFileName.lastIndexOf(".");
-        if (lastDotIndex > 0) {
-            fileExtension = originalFileName.substring(lastDotIndex);
-        }
-        String fileName = UUID.randomUUID().toString() + fileExtension;
-
-        // Construct object key (path in bucket)
-        String key = (subDir != null && !subDir.isEmpty()) ? subDir + "/" + fileName : fileName;
+        String key = newObjectKey(subDir, file.getOriginalFilename());
 
 
 
         try {
+            if (file.getSize() >= multipartThresholdBytes) {
+                try (InputStream in = file.getInputStream()) {
+                    uploadMultipart(key, file.getContentType(), in, file.getSize());
+                }
+                return constructPublicUrl(key);
+            }
+
             PutObjectRequest putOb = PutObjectRequest.builder()
                     .bucket(bucketName)
                     .key(key)
@@ -84,6 +167,280 @@ public class FileServiceImpl implements FileService {
         }
     }
     
+    // Not transactional: the S3 upload must not hold a DB connection or the stored_blob row
+    // lock. acquireBlob/registerBlob open their own short transactions.
+    @Override
+    public String storeBlob(MultipartFile file) {
+        String contentType = file.getContentType();
+        long size = file.getSize();
+        try {
+            // The multipart file is already spooled (memory or temp file), so hashing it first is a
+            // streaming pass with constant memory and lets duplicates skip the upload entirely
+            MessageDigest digest = newSha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            String sha256 = hex(digest);
+            String existingKey = acquireBlob(sha256);
+            if (existingKey != null) {
+                return constructPublicUrl(existingKey);
+            }
+
+            String key = blobKey(sha256, file.getOriginalFilename());
+            try (InputStream in = file.getInputStream()) {
+                if (size >= multipartThresholdBytes) {
+                    uploadMultipart(key, contentType, in, size);
+                } else {
+                    s3Client.putObject(PutObjectRequest.builder()
+                            .bucket(bucketName)
+                            .key(key)
+                            .contentType(contentType)
+                            .build(), RequestBody.fromInputStream(in, size));
+                }
+            }
+            return constructPublicUrl(registerBlob(sha256, key, size, contentType));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to upload file to Supabase", e);
+        }
+    }
+
+    @Override
+    public String storeBlob(byte[] data, String contentType, String originalFileName) {
+        MessageDigest digest = newSha256();
+        digest.update(data);
+        String sha256 = hex(digest);
+        String existingKey = acquireBlob(sha256);
+        if (existingKey != null) {
+            return constructPublicUrl(existingKey);
+        }
+        String key = blobKey(sha256, originalFileName);
+        s3Client.putObject(PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .build(), RequestBody.fromBytes(data));
+        return constructPublicUrl(registerBlob(sha256, key, data.length, contentType));
+    }
+
+    // Parts are read sequentially from the stream and uploaded in parallel. At most
+    // partConcurrency parts are buffered per upload; any failure aborts the upload so
+    // the bucket is not left holding orphaned parts.
+    private void uploadMultipart(String key, String contentType, InputStream in, long size)
+            throws IOException {
+        long partSize = Math.max(partSizeBytes, 5L * 1024 * 1024);
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .build()).uploadId();
+
+        int partCount = (int) ((size + partSize - 1) / partSize);
+        List<Future<CompletedPart>> futures = new ArrayList<>(partCount);
+        Semaphore buffered = new Semaphore(partConcurrency);
+        AtomicBoolean failed = new AtomicBoolean(false);
+        try {
+            for (int partNumber = 1; partNumber <= partCount && !failed.get(); partNumber++) {
+                buffered.acquire();
+                int length = (int) Math.min(partSize, size - (partNumber - 1) * partSize);
+                byte[] data = in.readNBytes(length);
+                if (data.length != length) {
+                    buffered.release();
+                    throw new IOException("Upload stream ended before the declared size");
+                }
+                int number = partNumber;
+                futures.add(partUploadPool.submit(() -> {
+                    try {
+                        return uploadPartWithRetry(key, uploadId, number, data);
+                    } catch (Exception e) {
+                        failed.set(true);
+                        throw e;
+                    } finally {
+                        buffered.release();
+                    }
+                }));
+            }
+
+            List<CompletedPart> parts = new ArrayList<>(partCount);
+            for (Future<CompletedPart> future : futures) {
+                parts.add(future.get());
+            }
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+        } catch (Exception e) {
+            futures.forEach(future -> future.cancel(true));
+            abortMultipartQuietly(key, uploadId);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            throw new RuntimeException("Failed to upload file to Supabase", cause);
+        }
+    }
+
+    private CompletedPart uploadPartWithRetry(String key, String uploadId, int partNumber, byte[] data)
+            throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                String eTag = s3Client.uploadPart(UploadPartRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength((long) data.length)
+                        .build(), RequestBody.fromBytes(data)).eTag();
+                return CompletedPart.builder().partNumber(partNumber).eTag(eTag).build();
+            } catch (SdkException e) {
+                if (attempt >= partMaxAttempts || !isRetryable(e)) {
+                    throw e;
+                }
+                System.err.println("Retrying part " + partNumber + " of " + key
+                        + " (attempt " + attempt + "): " + e.getMessage());
+                Thread.sleep(500L << (attempt - 1));
+            }
+        }
+    }
+
+    // Network errors, throttling and server errors are transient; other 4xx will not improve
+    private boolean isRetryable(SdkException e) {
+        if (e instanceof S3Exception) {
+            int status = ((S3Exception) e).statusCode();
+            return status == 429 || status >= 500;
+        }
+        return e instanceof SdkClientException;
+    }
+
+    private void abortMultipartQuietly(String key, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+        } catch (SdkException e) {
+            System.err.println("Failed to abort multipart upload " + uploadId + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public PresignedUploadResponse presignUpload(String subDir, String originalFileName, String contentType) {
+        String key = newObjectKey(subDir, originalFileName);
+        String type = StringUtils.hasText(contentType) ? contentType : "application/octet-stream";
+
+        // Content-Type is part of the signature, so the client must send the same header
+        PresignedPutObjectRequest presigned = s3Presigner.presignPutObject(r -> r
+                .signatureDuration(Duration.ofSeconds(uploadTtlSeconds))
+                .putObjectRequest(PutObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .contentType(type)
+                        .build()));
+
+        return PresignedUploadResponse.builder()
+                .key(key)
+                .uploadUrl(presigned.url().toString())
+                .method("PUT")
+                .contentType(type)
+                .expiresAt(presigned.expiration())
+                .build();
+    }
+
+    @Override
+    public String presignDownload(String key) {
+        PresignedGetObjectRequest presigned = s3Presigner.presignGetObject(r -> r
+                .signatureDuration(Duration.ofSeconds(downloadTtlSeconds))
+                .getObjectRequest(GetObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .build()));
+        return presigned.url().toString();
+    }
+
+    @Override
+    public long getObjectSize(String key) {
+        try {
+            return s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .build()).contentLength();
+        } catch (NoSuchKeyException e) {
+            return -1;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return -1;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream openObject(String key) {
+        // The body streams from the open connection; nothing is buffered beyond the socket
+        return s3Client.getObject(GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build());
+    }
+
+    @Override
+    public void deleteObject(String key) {
+        s3Client.deleteObject(DeleteObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build());
+    }
+
+    @Override
+    public List<StoredObject> listObjects(String prefix) {
+        List<StoredObject> objects = new ArrayList<>();
+        s3Client.listObjectsV2Paginator(ListObjectsV2Request.builder()
+                        .bucket(bucketName)
+                        .prefix(prefix)
+                        .build())
+                .contents()
+                .forEach(o -> objects.add(new StoredObject(o.key(), o.size(), o.lastModified())));
+        return objects;
+    }
+
+    @Override
+    public List<String> deleteObjects(java.util.Collection<String> keys) {
+        List<String> remaining = new ArrayList<>(keys);
+        List<String> failed = new ArrayList<>();
+        // DeleteObjects accepts at most 1000 keys per request
+        for (int from = 0; from < remaining.size(); from += 1000) {
+            List<ObjectIdentifier> batch = remaining
+                    .subList(from, Math.min(from + 1000, remaining.size()))
+                    .stream()
+                    .map(key -> ObjectIdentifier.builder().key(key).build())
+                    .toList();
+            DeleteObjectsResponse response = s3Client.deleteObjects(r -> r
+                    .bucket(bucketName)
+                    .delete(Delete.builder().objects(batch).quiet(true).build()));
+            response.errors().forEach(error -> {
+                System.err.println("Failed to delete " + error.key() + ": " + error.message());
+                failed.add(error.key());
+            });
+        }
+        return failed;
+    }
+
+    @Override
+    public String getPublicUrl(String key) {
+        return constructPublicUrl(key);
+    }
+
+    @Override
+    public String getKeyFromUrl(String fileUrl) {
+        String prefix = constructPublicUrl("");
+        if (fileUrl == null || !fileUrl.startsWith(prefix)) {
+            return null;
+        }
+        return fileUrl.substring(prefix.length());
+    }
+
     // Construct public URL for Supabase
     // Format: <endpoint>/object/public/<bucket>/<key>
     private String constructPublicUrl(String key) {
@@ -0,0 +1,68 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import vn.edu.husc.researchhub.exception.BadRequestException;
+
+/**
+ * Con trỏ phân trang keyset dạng (createdAt, id) hoặc (id).
+ * Được mã hóa Base64 URL-safe để client xem như chuỗi mờ (opaque).
+ */
+record KeysetCursor(LocalDateTime createdAt, Integer id) {
+
+  /**
+   * Kích thước trang tối đa cho các API phân trang theo con trỏ.
+   */
+  static final int MAX_PAGE_SIZE = 100;
+
+  static int pageSize(int size) {
+    return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+  }
+
+  /**
+   * Giải mã con trỏ dạng (createdAt, id); con trỏ thiếu createdAt bị từ chối (400)
+   * thay vì trả về trang rỗng.
+   */
+  static KeysetCursor decodeTimed(String cursor) {
+    KeysetCursor decoded = decode(cursor);
+    if (decoded.id() != null && decoded.createdAt() == null) {
+      throw new BadRequestException("Cursor không hợp lệ");
+    }
+    return decoded;
+  }
+
+  static KeysetCursor decode(String cursor) {
+    if (cursor == null || cursor.isEmpty()) {
+      return new KeysetCursor(null, null);
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int sep = raw.indexOf('|');
+      if (sep < 0) {
+        return new KeysetCursor(null, Integer.valueOf(raw));
+      }
+      String createdAt = raw.substring(0, sep);
+      return new KeysetCursor(
+          createdAt.isEmpty() ? null : LocalDateTime.parse(createdAt),
+          Integer.valueOf(raw.substring(sep + 1)));
+    } catch (RuntimeException e) {
+      throw new BadRequestException("Cursor không hợp lệ");
+    }
+  }
+
+  static String encode(LocalDateTime createdAt, Integer id) {
+    String raw = (createdAt != null ? createdAt.toString() : "") + "|" + id;
+    return encodeRaw(raw);
+  }
+
+  static String encode(Integer id) {
+    return encodeRaw(String.valueOf(id));
+  }
+
+  private static String encodeRaw(String raw) {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,285 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+import vn.edu.husc.researchhub.dto.response.PresignedUploadResponse;
+import vn.edu.husc.researchhub.repository.StoredBlobRepository;
+
+/**
+ * Stores objects as files under file.upload-dir for on-prem deployments without S3.
+ * Keys map one-to-one to relative paths; files are served by LocalFileController at /uploads/**,
+ * which also accepts the signed PUTs issued by presignUpload.
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "local")
+public class LocalFileServiceImpl extends AbstractFileService {
+
+    public static final String URL_PATH = "/uploads/";
+
+    private final Path root;
+    private final byte[] signingKey;
+
+    // Prepended to /uploads/<key>; empty keeps the relative URLs the frontend already resolves
+    @Value("${app.storage.local.publicBaseUrl:}")
+    private String publicBaseUrl;
+
+    @Value("${app.s3.presign.uploadTtlSeconds:600}")
+    private long uploadTtlSeconds;
+
+    public LocalFileServiceImpl(
+            @Value("${file.upload-dir:uploads}") String uploadDir,
+            @Value("${app.storage.local.signingSecret:${app.jwtSecret}}") String signingSecret,
+            StoredBlobRepository storedBlobRepository,
+            PlatformTransactionManager transactionManager) {
+        super(storedBlobRepository, transactionManager);
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.signingKey = signingSecret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String storeFile(MultipartFile file, String subDir) {
+        String key = newObjectKey(subDir, file.getOriginalFilename());
+        try (InputStream in = file.getInputStream()) {
+            write(in, resolve(key), Long.MAX_VALUE);
+            return getPublicUrl(key);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file " + key, e);
+        }
+    }
+
+    // Not transactional: file I/O runs outside; the stored_blob updates use short transactions
+    @Override
+    public String storeBlob(MultipartFile file) {
+        try {
+            return storeBlob(file.getInputStream(), file.getContentType(), file.getOriginalFilename());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file", e);
+        }
+    }
+
+    @Override
+    public String storeBlob(byte[] data, String contentType, String originalFileName) {
+        return storeBlob(new ByteArrayInputStream(data), contentType, originalFileName);
+    }
+
+    private String storeBlob(InputStream content, String contentType, String originalFileName) {
+        MessageDigest digest = newSha256();
+        Path temp = resolve("blobs").resolve("." + UUID.randomUUID() + ".part");
+        try {
+            long size;
+            // Hash while writing; the final name is only known once the last byte is in
+            try (InputStream in = new DigestInputStream(content, digest)) {
+                size = write(in, temp, Long.MAX_VALUE);
+            }
+            String sha256 = hex(digest);
+            String existingKey = acquireBlob(sha256);
+            if (existingKey != null) {
+                return getPublicUrl(existingKey);
+            }
+            String key = blobKey(sha256, originalFileName);
+            Files.move(temp, resolve(key), StandardCopyOption.ATOMIC_MOVE);
+            return getPublicUrl(registerBlob(sha256, key, size, contentType));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file", e);
+        } finally {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // Left for the storage sweeper
+            }
+        }
+    }
+
+    @Override
+    public PresignedUploadResponse presignUpload(String subDir, String originalFileName, String contentType) {
+        String key = newObjectKey(subDir, originalFileName);
+        String type = StringUtils.hasText(contentType) ? contentType : "application/octet-stream";
+        long expires = Instant.now().plusSeconds(uploadTtlSeconds).getEpochSecond();
+        String signature = sign(key, type, expires);
+
+        return PresignedUploadResponse.builder()
+                .key(key)
+                .uploadUrl(getPublicUrl(key) + "?expires=" + expires + "&signature=" + signature)
+                .method("PUT")
+                .contentType(type)
+                .expiresAt(Instant.ofEpochSecond(expires))
+                .build();
+    }
+
+    /**
+     * Writes the body of a PUT issued by presignUpload. The signature covers key, content type and
+     * expiry, so a URL cannot be reused for another path or after it expires.
+     */
+    public void acceptSignedUpload(
+            String key, String contentType, long expires, String signature, InputStream body) {
+        String type = StringUtils.hasText(contentType) ? contentType : "application/octet-stream";
+        byte[] expected = sign(key, type, expires).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = signature != null ? signature.getBytes(StandardCharsets.US_ASCII) : new byte[0];
+        if (Instant.now().getEpochSecond() > expires || !MessageDigest.isEqual(expected, actual)) {
+            throw new SecurityException("URL tải lên không hợp lệ hoặc đã hết hạn");
+        }
+        try {
+            write(body, resolve(key), maxUploadBytes);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file " + key, e);
+        }
+    }
+
+    @Override
+    public String presignDownload(String key) {
+        // Files under /uploads are public, as objects in the public Supabase bucket are
+        return getPublicUrl(key);
+    }
+
+    @Override
+    public long getObjectSize(String key) {
+        try {
+            Path path = resolve(key);
+            return Files.isRegularFile(path) ? Files.size(path) : -1;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public InputStream openObject(String key) {
+        try {
+            return Files.newInputStream(resolve(key));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open file " + key, e);
+        }
+    }
+
+    @Override
+    public void deleteObject(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to delete file " + key, e);
+        }
+    }
+
+    @Override
+    public List<StoredObject> listObjects(String prefix) {
+        int slash = prefix.lastIndexOf('/');
+        Path base = slash >= 0 ? resolve(prefix.substring(0, slash)) : root;
+        List<StoredObject> objects = new ArrayList<>();
+        if (!Files.isDirectory(base)) {
+            return objects;
+        }
+        try (Stream<Path> paths = Files.walk(base)) {
+            for (Path path : (Iterable<Path>) paths.filter(Files::isRegularFile)::iterator) {
+                String key = root.relativize(path).toString().replace('\\', '/');
+                // Skip files still being written
+                if (!key.startsWith(prefix) || path.getFileName().toString().startsWith(".")) {
+                    continue;
+                }
+                objects.add(new StoredObject(
+                        key, Files.size(path), Files.getLastModifiedTime(path).toInstant()));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list " + prefix, e);
+        }
+        return objects;
+    }
+
+    @Override
+    public List<String> deleteObjects(Collection<String> keys) {
+        List<String> failed = new ArrayList<>();
+        for (String key : keys) {
+            try {
+                Files.deleteIfExists(resolve(key));
+            } catch (IOException e) {
+                System.err.println("Failed to delete " + key + ": " + e.getMessage());
+                failed.add(key);
+            }
+        }
+        return failed;
+    }
+
+    @Override
+    public String getPublicUrl(String key) {
+        return publicBaseUrl + URL_PATH + key;
+    }
+
+    @Override
+    public String getKeyFromUrl(String fileUrl) {
+        String prefix = publicBaseUrl + URL_PATH;
+        if (fileUrl == null || !fileUrl.startsWith(prefix)) {
+            return null;
+        }
+        return fileUrl.substring(prefix.length());
+    }
+
+    // Rejects keys that would escape the upload directory
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new RuntimeException("Khóa file không hợp lệ");
+        }
+        return path;
+    }
+
+    // Streams into a hidden temp file with a FileChannel and renames it into place, so readers
+    // never see a partial file. Returns the number of bytes written.
+    private long write(InputStream in, Path target, long maxBytes) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling("." + UUID.randomUUID() + ".part");
+        try (ReadableByteChannel source = Channels.newChannel(in);
+                FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long position = 0;
+            long transferred;
+            while ((transferred = out.transferFrom(source, position, 1 << 20)) > 0) {
+                position += transferred;
+                if (position > maxBytes) {
+                    throw new RuntimeException("File vượt quá dung lượng cho phép");
+                }
+            }
+            out.close();
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            return position;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private String sign(String key, String contentType, long expires) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(signingKey, "HmacSHA256"));
+            byte[] signature = mac.doFinal(
+                    ("PUT\n" + key + "\n" + contentType + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
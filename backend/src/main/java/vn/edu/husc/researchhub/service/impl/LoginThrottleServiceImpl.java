@@ -0,0 +1,137 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import vn.edu.husc.researchhub.exception.TooManyRequestsException;
+import vn.edu.husc.researchhub.service.LoginThrottleService;
+
+@Service
+public class LoginThrottleServiceImpl implements LoginThrottleService {
+
+  // Idle buckets are swept once a minute, or at most once a second while the table is full
+  private static final long SWEEP_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+  private static final long FORCED_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final Rate loginPerUser;
+  private final Rate loginPerIp;
+  private final Rate forgotPerUser;
+  private final Rate forgotPerIp;
+  private final int maxEntries;
+
+  // Each bucket is a single "theoretical arrival time" (GCRA): the instant at which the bucket
+  // would be full again. A request is allowed if that instant is within burst * interval of now,
+  // so one CAS both checks and takes a token. Buckets whose time has passed are full and are
+  // indistinguishable from a missing entry, which is what makes eviction safe.
+  private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+  private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+  public LoginThrottleServiceImpl(
+      @Value("${app.auth.throttle.maxEntries:100000}") int maxEntries,
+      @Value("${app.auth.throttle.login.user.burst:5}") int loginUserBurst,
+      @Value("${app.auth.throttle.login.user.refillSeconds:12}") long loginUserRefillSeconds,
+      @Value("${app.auth.throttle.login.ip.burst:20}") int loginIpBurst,
+      @Value("${app.auth.throttle.login.ip.refillSeconds:3}") long loginIpRefillSeconds,
+      @Value("${app.auth.throttle.forgot.user.burst:3}") int forgotUserBurst,
+      @Value("${app.auth.throttle.forgot.user.refillSeconds:600}") long forgotUserRefillSeconds,
+      @Value("${app.auth.throttle.forgot.ip.burst:10}") int forgotIpBurst,
+      @Value("${app.auth.throttle.forgot.ip.refillSeconds:60}") long forgotIpRefillSeconds) {
+    this.maxEntries = Math.max(1000, maxEntries);
+    this.loginPerUser = new Rate("login:user:", loginUserBurst, loginUserRefillSeconds, false);
+    this.loginPerIp = new Rate("login:ip:", loginIpBurst, loginIpRefillSeconds, true);
+    this.forgotPerUser = new Rate("forgot:user:", forgotUserBurst, forgotUserRefillSeconds, false);
+    this.forgotPerIp = new Rate("forgot:ip:", forgotIpBurst, forgotIpRefillSeconds, true);
+  }
+
+  @Override
+  public void checkLogin(String username, String clientIp) {
+    check(loginPerIp, clientIp, loginPerUser, username);
+  }
+
+  @Override
+  public void checkForgotPassword(String username, String clientIp) {
+    check(forgotPerIp, clientIp, forgotPerUser, username);
+  }
+
+  private void check(Rate ipRate, String clientIp, Rate userRate, String username) {
+    check(ipRate, clientIp, userRate, username, System.nanoTime());
+  }
+
+  void check(Rate ipRate, String clientIp, Rate userRate, String username, long now) {
+    long waitNanos = tryConsume(ipRate, clientIp, now);
+    if (waitNanos == 0 && username != null && !username.isBlank()) {
+      waitNanos = tryConsume(userRate, username.trim().toLowerCase(Locale.ROOT), now);
+    }
+    if (waitNanos > 0) {
+      throw new TooManyRequestsException(
+          "Bạn thao tác quá nhiều lần, vui lòng thử lại sau",
+          Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+    }
+  }
+
+  /**
+   * Takes one token; returns 0 if allowed, otherwise how long until a token is available.
+   */
+  long tryConsume(Rate rate, String id, long now) {
+    String key = rate.prefix + (id == null ? "" : id);
+    AtomicLong bucket = buckets.get(key);
+    if (bucket == null) {
+      if (buckets.size() >= maxEntries) {
+        sweep(now, true);
+        if (buckets.size() >= maxEntries) {
+          // Table is full of throttled keys (likely a spray of usernames/IPs). A shared bucket
+          // for new usernames would lock out every legitimate user, so new usernames go
+          // untracked and only the per-IP limit applies. New IPs share one bucket per scope.
+          if (!rate.sharedOverflow) {
+            return 0;
+          }
+          key = rate.prefix + "*";
+        }
+      } else {
+        sweep(now, false);
+      }
+      bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    long tolerance = rate.burst * rate.intervalNanos;
+    while (true) {
+      long current = bucket.get();
+      long next = Math.max(current, now) + rate.intervalNanos;
+      if (next - now > tolerance) {
+        return next - now - tolerance;
+      }
+      if (bucket.compareAndSet(current, next)) {
+        return 0;
+      }
+    }
+  }
+
+  private void sweep(long now, boolean force) {
+    long last = lastSweep.get();
+    long interval = force ? FORCED_SWEEP_INTERVAL_NANOS : SWEEP_INTERVAL_NANOS;
+    if (now - last < interval || !lastSweep.compareAndSet(last, now)) {
+      return;
+    }
+    // Only full buckets are removed; a request racing with the removal can at most get one
+    // token from the stale bucket on top of the fresh one
+    buckets.entrySet().removeIf(e -> e.getValue().get() - now <= 0);
+  }
+
+  static final class Rate {
+    private final String prefix;
+    private final long burst;
+    private final long intervalNanos;
+    // What a new key gets when the table is full: a shared bucket, or no tracking at all
+    private final boolean sharedOverflow;
+
+    Rate(String prefix, int burst, long refillSeconds, boolean sharedOverflow) {
+      this.prefix = prefix;
+      this.burst = Math.max(1, burst);
+      this.intervalNanos = TimeUnit.SECONDS.toNanos(Math.max(1, refillSeconds));
+      this.sharedOverflow = sharedOverflow;
+    }
+  }
+}
@@ -1,20 +1,27 @@
 package vn.edu.husc.researchhub.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vn.edu.husc.researchhub.dto.request.SendMessageRequest;
 import vn.edu.husc.researchhub.dto.request.UpdateMessageRequest;
 import vn.edu.husc.researchhub.dto.response.ChatPartnerResponse;
+import vn.edu.husc.researchhub.dto.response.CursorPageResponse;
 import vn.edu.husc.researchhub.dto.response.MessageResponse;
 import vn.edu.husc.researchhub.model.Message;
 import vn.edu.husc.researchhub.model.User;
 import vn.edu.husc.researchhub.repository.MessageRepository;
 import vn.edu.husc.researchhub.repository.UserRepository;
+import vn.edu.husc.researchhub.service.ConversationSummaryService;
 import vn.edu.husc.researchhub.service.MessageService;
+import vn.edu.husc.researchhub.service.MessageStreamService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +31,8 @@ public class MessageServiceImpl implements MessageService {
 
     private final MessageRepository messageRepository;
     private final UserRepository userRepository;
+    private final MessageStreamService messageStreamService;
+    private final ConversationSummaryService conversationSummaryService;
 
     @Override
     public MessageResponse sendMessage(SendMessageRequest request, String username) {
@@ -40,7 +49,10 @@ public class MessageServiceImpl implements MessageService {
         message.setIsRead(false);
 
         Message savedMessage = messageRepository.save(message);
-        return mapToDTO(savedMessage);
+        conversationSummaryService.onMessageSent(savedMessage);
+        MessageResponse response = mapToDTO(savedMessage);
+        messageStreamService.publish("message.created", response, sender.getId(), receiver.getId());
+        return response;
     }
 
     @Override
@@ -63,6 +75,60 @@ public class MessageServiceImpl implements MessageService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<MessageResponse> getConversation(
+            String username, Integer partnerId, String cursor, String direction, int size) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        size = KeysetCursor.pageSize(size);
+        KeysetCursor position = KeysetCursor.decodeTimed(cursor);
+        boolean older = direction == null || direction.equalsIgnoreCase("before");
+        if (!older && !direction.equalsIgnoreCase("after")) {
+            throw new vn.edu.husc.researchhub.exception.BadRequestException(
+                    "Invalid direction, expected 'before' or 'after'");
+        }
+
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Message> rows = older
+                ? messageRepository.findConversationBefore(
+                        user.getId(), partnerId, position.createdAt(), position.id(), limit)
+                : messageRepository.findConversationAfter(
+                        user.getId(), partnerId, position.createdAt(), position.id(), limit);
+
+        boolean hasNext = rows.size() > size;
+        List<Message> page = new ArrayList<>(hasNext ? rows.subList(0, size) : rows);
+        String nextCursor = null;
+        if (hasNext) {
+            Message last = page.get(page.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        // Content is always chronological so the client can prepend/append the page as-is
+        if (older) {
+            Collections.reverse(page);
+        }
+
+        // An empty page leaves the position unchanged: the request cursor stays valid in both
+        // directions, so "after" polling from the newest message never runs out of cursor
+        String newestCursor = cursor != null && !cursor.isEmpty() ? cursor : null;
+        String oldestCursor = newestCursor;
+        if (!page.isEmpty()) {
+            Message oldest = page.get(0);
+            Message newest = page.get(page.size() - 1);
+            oldestCursor = KeysetCursor.encode(oldest.getCreatedAt(), oldest.getId());
+            newestCursor = KeysetCursor.encode(newest.getCreatedAt(), newest.getId());
+        }
+
+        return CursorPageResponse.<MessageResponse>builder()
+                .size(size)
+                .content(page.stream().map(this::mapToDTO).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .newestCursor(newestCursor)
+                .oldestCursor(oldestCursor)
+                .build();
+    }
+
     @Override
     public void markAsRead(Integer messageId, String username) {
         Message message = messageRepository.findById(messageId)
@@ -73,8 +139,37 @@ public class MessageServiceImpl implements MessageService {
             throw new RuntimeException("Unauthorized");
         }
 
-        message.setIsRead(true);
-        messageRepository.save(message);
+        // Reading a message reads everything before it: advance the watermark (unread is derived
+        // from it) and set the display flag on the same range
+        Integer readerId = message.getReceiver().getId();
+        Integer partnerId = message.getSender().getId();
+        messageRepository.markConversationRead(readerId, partnerId, messageId);
+        conversationSummaryService.onConversationRead(readerId, partnerId, messageId);
+        messageStreamService.publish("message.read", Map.of("id", messageId),
+                message.getSender().getId(), message.getReceiver().getId());
+    }
+
+    @Override
+    public int markConversationRead(String username, Integer partnerId, Integer upToMessageId) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        // The watermark never moves past the newest message, otherwise future messages would
+        // arrive already "read"
+        List<Message> latest = messageRepository.findConversationBefore(
+                user.getId(), partnerId, null, null, PageRequest.of(0, 1));
+        if (latest.isEmpty()) {
+            return 0;
+        }
+        Integer latestId = latest.get(0).getId();
+        Integer upToId = upToMessageId == null ? latestId : Math.min(upToMessageId, latestId);
+
+        int updated = messageRepository.markConversationRead(user.getId(), partnerId, upToId);
+        conversationSummaryService.onConversationRead(user.getId(), partnerId, upToId);
+        messageStreamService.publish("conversation.read",
+                Map.of("readerId", user.getId(), "partnerId", partnerId, "upToId", upToId),
+                user.getId(), partnerId);
+        return updated;
     }
 
     @Override
@@ -90,6 +185,9 @@ public class MessageServiceImpl implements MessageService {
         
         // Physical Delete as per user feedback removing soft delete columns
         messageRepository.delete(message);
+        conversationSummaryService.onMessageDeleted(message);
+        messageStreamService.publish("message.deleted", Map.of("id", messageId),
+                message.getSender().getId(), message.getReceiver().getId());
     }
 
     @Override
@@ -104,6 +202,9 @@ public class MessageServiceImpl implements MessageService {
 
         message.setContent(request.getContent());
         messageRepository.save(message); // triggers UpdateTimestamp
+        conversationSummaryService.onMessageEdited(message);
+        messageStreamService.publish("message.updated", mapToDTO(message),
+                message.getSender().getId(), message.getReceiver().getId());
     }
 
     private MessageResponse mapToDTO(Message message) {
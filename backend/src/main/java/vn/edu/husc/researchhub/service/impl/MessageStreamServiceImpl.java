@@ -0,0 +1,251 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import vn.edu.husc.researchhub.model.User;
+import vn.edu.husc.researchhub.repository.UserRepository;
+import vn.edu.husc.researchhub.service.MessageStreamService;
+
+@Service
+public class MessageStreamServiceImpl implements MessageStreamService {
+
+  private final UserRepository userRepository;
+
+  // userId -> open connections. An idle connection costs one emitter and one parked async
+  // request; no servlet thread is held while waiting.
+  private final Map<Integer, Set<Connection>> connections = new ConcurrentHashMap<>();
+  private final AtomicInteger connectionCount = new AtomicInteger();
+
+  // Publishing and heartbeats only enqueue; each connection's queue is drained by at most one
+  // task at a time, each on its own virtual thread. A client whose socket stalls parks only its
+  // own drain task, never a shared pool thread other streams are waiting on.
+  private final ExecutorService dispatcher;
+  private final ScheduledExecutorService heartbeat;
+
+  private final long timeoutMs;
+  private final int queueCapacity;
+  private final long sendTimeoutNanos;
+
+  public MessageStreamServiceImpl(
+      UserRepository userRepository,
+      @Value("${app.messages.stream.timeoutMs:1800000}") long timeoutMs,
+      @Value("${app.messages.stream.heartbeatSeconds:25}") long heartbeatSeconds,
+      @Value("${app.messages.stream.queueCapacity:64}") int queueCapacity,
+      @Value("${app.messages.stream.sendTimeoutMs:5000}") long sendTimeoutMs) {
+    this.userRepository = userRepository;
+    this.timeoutMs = timeoutMs;
+    this.queueCapacity = Math.max(1, queueCapacity);
+    this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+    this.dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+    this.heartbeat = Executors.newSingleThreadScheduledExecutor(daemon("sse-heartbeat"));
+    this.heartbeat.scheduleAtFixedRate(
+        this::sendHeartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+  }
+
+  @Override
+  public SseEmitter subscribe(String username) {
+    User user =
+        userRepository
+            .findByUsername(username)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+    Integer userId = user.getId();
+
+    SseEmitter emitter = new SseEmitter(timeoutMs);
+    Connection connection = new Connection(userId, emitter);
+    connections.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(connection);
+    connectionCount.incrementAndGet();
+
+    Runnable close =
+        () -> {
+          connection.closed = true;
+          remove(connection);
+        };
+    emitter.onCompletion(close);
+    emitter.onTimeout(close);
+    emitter.onError(e -> close.run());
+
+    // Not yet handed to the servlet container, so this is buffered rather than written
+    try {
+      emitter.send(SseEmitter.event().name("connected").data(userId));
+    } catch (IOException e) {
+      close.run();
+    }
+    return emitter;
+  }
+
+  @Override
+  public void publish(String eventName, Object payload, Integer... userIds) {
+    Runnable send = () -> deliver(eventName, payload, userIds);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              send.run();
+            }
+          });
+    } else {
+      send.run();
+    }
+  }
+
+  @Override
+  public int getConnectionCount() {
+    return connectionCount.get();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    heartbeat.shutdownNow();
+    dispatcher.shutdownNow();
+    connections.values().forEach(set -> set.forEach(c -> c.emitter.complete()));
+  }
+
+  private void deliver(String eventName, Object payload, Integer... userIds) {
+    // Sender and receiver can be the same user; deliver once per user
+    for (Integer userId : new java.util.HashSet<>(java.util.Arrays.asList(userIds))) {
+      Set<Connection> targets = connections.get(userId);
+      if (targets == null) continue;
+      for (Connection connection : targets) {
+        connection.enqueue(SseEmitter.event().name(eventName).data(payload));
+      }
+    }
+  }
+
+  // Comment frames keep proxies (Render, nginx) from closing idle streams. The same pass drops
+  // connections whose current write has been blocked longer than sendTimeoutMs.
+  private void sendHeartbeat() {
+    long now = System.nanoTime();
+    connections.values().forEach(
+        targets ->
+            targets.forEach(
+                connection -> {
+                  if (connection.isStalled(now)) {
+                    connection.close();
+                  } else {
+                    connection.enqueue(SseEmitter.event().comment("ping"));
+                  }
+                }));
+  }
+
+  private void remove(Connection connection) {
+    Set<Connection> targets = connections.get(connection.userId);
+    if (targets != null && targets.remove(connection)) {
+      connectionCount.decrementAndGet();
+      if (targets.isEmpty()) {
+        connections.remove(connection.userId, targets);
+      }
+    }
+  }
+
+  private static java.util.concurrent.ThreadFactory daemon(String name) {
+    return runnable -> {
+      Thread thread = new Thread(runnable, name);
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * One SSE stream with its own bounded queue. A client that cannot keep up overflows its queue
+   * (or is caught blocked in a write by the heartbeat) and is closed; the emitter itself is only
+   * ever touched by the connection's single drain task, so closing never blocks the caller.
+   */
+  private final class Connection {
+    private final Integer userId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed = false;
+    // System.nanoTime() when the in-progress write started, 0 when idle
+    private volatile long sendStartedAt = 0;
+
+    Connection(Integer userId, SseEmitter emitter) {
+      this.userId = userId;
+      this.emitter = emitter;
+      this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    void enqueue(SseEmitter.SseEventBuilder event) {
+      if (closed) {
+        return;
+      }
+      if (!queue.offer(event)) {
+        close();
+        return;
+      }
+      scheduleDrain();
+    }
+
+    boolean isStalled(long now) {
+      long started = sendStartedAt;
+      return started != 0 && now - started > sendTimeoutNanos;
+    }
+
+    // Stop accepting events and let the drain task complete the emitter
+    void close() {
+      closed = true;
+      remove(this);
+      queue.clear();
+      scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+      if (draining.compareAndSet(false, true)) {
+        try {
+          dispatcher.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+          draining.set(false);
+        }
+      }
+    }
+
+    private void drain() {
+      try {
+        SseEmitter.SseEventBuilder event;
+        while (!closed && (event = queue.poll()) != null) {
+          sendStartedAt = System.nanoTime();
+          try {
+            emitter.send(event);
+          } catch (IOException | IllegalStateException e) {
+            closed = true;
+          } finally {
+            sendStartedAt = 0;
+          }
+        }
+        if (closed) {
+          remove(this);
+          queue.clear();
+          try {
+            emitter.complete();
+          } catch (RuntimeException ignored) {
+            // Already completed by the container (timeout, client gone)
+          }
+        }
+      } finally {
+        draining.set(false);
+      }
+      // Events offered after the last poll but before the flag was cleared
+      if (!closed && !queue.isEmpty()) {
+        scheduleDrain();
+      }
+    }
+  }
+}
@@ -0,0 +1,251 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import vn.edu.husc.researchhub.model.AcademicYear;
+import vn.edu.husc.researchhub.model.Department;
+import vn.edu.husc.researchhub.model.YearSession;
+import vn.edu.husc.researchhub.model.enums.AcademicYearStatus;
+import vn.edu.husc.researchhub.repository.AcademicYearRepository;
+import vn.edu.husc.researchhub.repository.DepartmentRepository;
+import vn.edu.husc.researchhub.repository.YearSessionRepository;
+import vn.edu.husc.researchhub.service.ReferenceDataService;
+
+@Service
+public class ReferenceDataServiceImpl implements ReferenceDataService {
+
+  private static final String AVAILABLE_YEARS = "available";
+
+  private final DepartmentRepository departmentRepository;
+  private final AcademicYearRepository academicYearRepository;
+  private final YearSessionRepository yearSessionRepository;
+
+  private final BoundedCache<Integer, Department> departments;
+  private final BoundedCache<Integer, AcademicYear> academicYears;
+  // Ids only; the years themselves always come from the id cache
+  private final BoundedCache<String, List<Integer>> availableAcademicYearIds;
+  private final BoundedCache<String, Optional<YearSession>> yearSessions;
+
+  // Bumped on every eviction; a loader only publishes if nothing was evicted meanwhile
+  private long generation = 0;
+
+  public ReferenceDataServiceImpl(
+      DepartmentRepository departmentRepository,
+      AcademicYearRepository academicYearRepository,
+      YearSessionRepository yearSessionRepository,
+      @Value("${app.cache.reference.maxEntries:1000}") int maxEntries) {
+    this.departmentRepository = departmentRepository;
+    this.academicYearRepository = academicYearRepository;
+    this.yearSessionRepository = yearSessionRepository;
+    this.departments = new BoundedCache<>(maxEntries);
+    this.academicYears = new BoundedCache<>(maxEntries);
+    this.availableAcademicYearIds = new BoundedCache<>(1);
+    this.yearSessions = new BoundedCache<>(maxEntries);
+  }
+
+  @Override
+  public Optional<Department> findDepartment(Integer id) {
+    if (id == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(
+        departments.get(id, () -> departmentRepository.findById(id).orElse(null)));
+  }
+
+  @Override
+  public Optional<AcademicYear> findAcademicYear(Integer id) {
+    if (id == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(
+        academicYears.get(id, () -> academicYearRepository.findById(id).orElse(null)));
+  }
+
+  @Override
+  public List<AcademicYear> findAvailableAcademicYears() {
+    List<Integer> ids =
+        availableAcademicYearIds.get(
+            AVAILABLE_YEARS,
+            () ->
+                academicYearRepository
+                    .findByIsActiveTrueAndStatus(AcademicYearStatus.START)
+                    .stream()
+                    .map(AcademicYear::getId)
+                    .toList());
+    // Re-check: the id list and the year entries are evicted together, but loaded separately
+    return ids.stream()
+        .map(this::findAcademicYear)
+        .flatMap(Optional::stream)
+        .filter(
+            y ->
+                Boolean.TRUE.equals(y.getIsActive())
+                    && y.getStatus() == AcademicYearStatus.START)
+        .toList();
+  }
+
+  @Override
+  public Optional<YearSession> findYearSession(Integer academicYearId, Integer departmentId) {
+    if (academicYearId == null || departmentId == null) {
+      return Optional.empty();
+    }
+    // Absent sessions are cached too: every topic of a department without a session asks again
+    return yearSessions.get(
+        sessionKey(academicYearId, departmentId),
+        () ->
+            yearSessionRepository.findByAcademicYearIdAndDepartmentId(
+                academicYearId, departmentId));
+  }
+
+  @Override
+  public void evictDepartment(Integer departmentId) {
+    String suffix = ":" + departmentId;
+    afterCommit(
+        () -> {
+          departments.remove(departmentId);
+          yearSessions.removeKeysIf(key -> key.endsWith(suffix));
+        });
+  }
+
+  @Override
+  public void evictAcademicYear(Integer academicYearId) {
+    String prefix = academicYearId + ":";
+    afterCommit(
+        () -> {
+          academicYears.remove(academicYearId);
+          // Any change of isActive/status may add or drop a year from the list
+          availableAcademicYearIds.remove(AVAILABLE_YEARS);
+          yearSessions.removeKeysIf(key -> key.startsWith(prefix));
+        });
+  }
+
+  @Override
+  public void evictYearSession(Integer academicYearId, Integer departmentId) {
+    String key = sessionKey(academicYearId, departmentId);
+    afterCommit(() -> yearSessions.remove(key));
+  }
+
+  @Override
+  public Map<String, Object> getStats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("departments", departments.stats());
+    stats.put("academicYears", academicYears.stats());
+    stats.put("availableAcademicYears", availableAcademicYearIds.stats());
+    stats.put("yearSessions", yearSessions.stats());
+    return stats;
+  }
+
+  private String sessionKey(Integer academicYearId, Integer departmentId) {
+    return academicYearId + ":" + departmentId;
+  }
+
+  private synchronized long currentGeneration() {
+    return generation;
+  }
+
+  // Evict only once the writing transaction has committed, so readers never cache
+  // a rolled-back state; outside a transaction the write is already visible.
+  private void afterCommit(Runnable eviction) {
+    Runnable action =
+        () -> {
+          synchronized (this) {
+            generation++;
+            eviction.run();
+          }
+        };
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              action.run();
+            }
+          });
+    } else {
+      action.run();
+    }
+  }
+
+  /**
+   * LRU map with a fixed capacity. Null loader results are not cached (the next call loads again);
+   * wrap the value in Optional to cache absence.
+   */
+  private final class BoundedCache<K, V> {
+    private final int maxEntries;
+    private final LinkedHashMap<K, V> map;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    BoundedCache(int maxEntries) {
+      this.maxEntries = maxEntries;
+      this.map =
+          new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+              return size() > BoundedCache.this.maxEntries;
+            }
+          };
+    }
+
+    V get(K key, Supplier<V> loader) {
+      synchronized (map) {
+        V value = map.get(key);
+        if (value != null) {
+          hits.increment();
+          return value;
+        }
+      }
+      misses.increment();
+      long startGeneration = currentGeneration();
+      V loaded = loader.get();
+      if (loaded != null) {
+        // Lock order: service (generation) before map, as in eviction
+        synchronized (ReferenceDataServiceImpl.this) {
+          if (generation == startGeneration) {
+            synchronized (map) {
+              map.put(key, loaded);
+            }
+          }
+        }
+      }
+      return loaded;
+    }
+
+    void remove(K key) {
+      synchronized (map) {
+        map.remove(key);
+      }
+    }
+
+    void removeKeysIf(Predicate<K> keyMatches) {
+      synchronized (map) {
+        map.keySet().removeIf(keyMatches);
+      }
+    }
+
+    Map<String, Object> stats() {
+      long hitCount = hits.sum();
+      long missCount = misses.sum();
+      Map<String, Object> stats = new LinkedHashMap<>();
+      stats.put("hits", hitCount);
+      stats.put("misses", missCount);
+      stats.put(
+          "hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+      int size;
+      synchronized (map) {
+        size = map.size();
+      }
+      stats.put("size", size);
+      stats.put("maxEntries", maxEntries);
+      return stats;
+    }
+  }
+}
@@ -0,0 +1,184 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import vn.edu.husc.researchhub.dto.request.ProposeTopicRequest;
+import vn.edu.husc.researchhub.exception.TooManyRequestsException;
+import vn.edu.husc.researchhub.service.RegistrationGatewayService;
+import vn.edu.husc.researchhub.service.TopicService;
+
+// Deliberately not @Transactional: the stripe lock must be held until TopicService has committed
+@Service
+public class RegistrationGatewayServiceImpl implements RegistrationGatewayService {
+
+  private final TopicService topicService;
+  private final Semaphore admission;
+  private final int maxInFlight;
+  private final long admissionWaitMs;
+  private final long lockWaitMs;
+  private final long retryAfterSeconds;
+  private final long duplicateWindowMs;
+  private final ReentrantLock[] topicStripes;
+  private final ReentrantLock[] proposerStripes;
+
+  // Last accepted proposal per user, to swallow double-submits of the same form
+  private final Map<String, RecentProposal> recentProposals = new ConcurrentHashMap<>();
+
+  private final LongAdder admitted = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder duplicates = new LongAdder();
+
+  public RegistrationGatewayServiceImpl(
+      TopicService topicService,
+      @Value("${app.registration.maxInFlight:32}") int maxInFlight,
+      @Value("${app.registration.admissionWaitMs:200}") long admissionWaitMs,
+      @Value("${app.registration.lockWaitMs:${app.registration.admissionWaitMs:200}}")
+          long lockWaitMs,
+      @Value("${app.registration.retryAfterSeconds:2}") long retryAfterSeconds,
+      @Value("${app.registration.stripes:64}") int stripes,
+      @Value("${app.registration.duplicateWindowMs:10000}") long duplicateWindowMs) {
+    this.topicService = topicService;
+    this.maxInFlight = Math.max(1, maxInFlight);
+    this.admission = new Semaphore(this.maxInFlight, true);
+    this.admissionWaitMs = Math.max(0, admissionWaitMs);
+    this.lockWaitMs = Math.max(0, lockWaitMs);
+    this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    this.duplicateWindowMs = Math.max(0, duplicateWindowMs);
+    this.topicStripes = newStripes(stripes);
+    this.proposerStripes = newStripes(stripes);
+  }
+
+  @Override
+  public void registerTopic(Integer topicId) {
+    admit();
+    try {
+      ReentrantLock lock = stripeFor(topicStripes, topicId);
+      lockOrReject(lock);
+      try {
+        topicService.registerTopic(topicId);
+      } catch (DataIntegrityViolationException e) {
+        // Another instance inserted the same (topic, user) row first; unique key keeps it single
+        duplicates.increment();
+      } finally {
+        lock.unlock();
+      }
+    } finally {
+      admission.release();
+    }
+  }
+
+  @Override
+  public void proposeTopic(ProposeTopicRequest request) {
+    admit();
+    try {
+      String username = SecurityContextHolder.getContext().getAuthentication().getName();
+      int fingerprint = fingerprint(request);
+      ReentrantLock lock = stripeFor(proposerStripes, username);
+      lockOrReject(lock);
+      try {
+        long now = System.currentTimeMillis();
+        RecentProposal last = recentProposals.get(username);
+        if (last != null
+            && last.fingerprint() == fingerprint
+            && now - last.acceptedAt() < duplicateWindowMs) {
+          duplicates.increment();
+          return;
+        }
+        topicService.proposeTopic(request);
+        recentProposals.put(username, new RecentProposal(fingerprint, now));
+        pruneRecentProposals(now);
+      } finally {
+        lock.unlock();
+      }
+    } finally {
+      admission.release();
+    }
+  }
+
+  @Override
+  public Map<String, Object> getStats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("maxInFlight", maxInFlight);
+    stats.put("inFlight", maxInFlight - admission.availablePermits());
+    stats.put("waiting", admission.getQueueLength());
+    stats.put("admitted", admitted.sum());
+    stats.put("rejected", rejected.sum());
+    stats.put("duplicates", duplicates.sum());
+    return stats;
+  }
+
+  private void admit() {
+    boolean acquired;
+    try {
+      acquired = admission.tryAcquire(admissionWaitMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      acquired = false;
+    }
+    if (!acquired) {
+      rejected.increment();
+      throw new TooManyRequestsException(
+          "Hệ thống đang quá tải yêu cầu đăng ký, vui lòng thử lại sau ít giây", retryAfterSeconds);
+    }
+    admitted.increment();
+  }
+
+  // Bounded like admission: a slow holder of the stripe must not pin the caller (and its permit)
+  // indefinitely. On timeout the caller's finally block releases the permit.
+  private void lockOrReject(ReentrantLock lock) {
+    boolean locked;
+    try {
+      locked = lock.tryLock(lockWaitMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      locked = false;
+    }
+    if (!locked) {
+      rejected.increment();
+      throw new TooManyRequestsException(
+          "Yêu cầu đăng ký đang được xử lý, vui lòng thử lại sau ít giây", retryAfterSeconds);
+    }
+  }
+
+  private void pruneRecentProposals(long now) {
+    if (recentProposals.size() > 10_000) {
+      recentProposals.values().removeIf(p -> now - p.acceptedAt() >= duplicateWindowMs);
+    }
+  }
+
+  private static int fingerprint(ProposeTopicRequest request) {
+    return Objects.hash(
+        request.getTitle(),
+        request.getDescription(),
+        request.getObjective(),
+        request.getContent(),
+        request.getBudget(),
+        request.getNote(),
+        request.getAdvisorId(),
+        request.getAcademicYearId());
+  }
+
+  private static ReentrantLock[] newStripes(int count) {
+    ReentrantLock[] stripes = new ReentrantLock[Math.max(1, count)];
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new ReentrantLock();
+    }
+    return stripes;
+  }
+
+  private static ReentrantLock stripeFor(ReentrantLock[] stripes, Object key) {
+    return stripes[Math.floorMod(Objects.hashCode(key), stripes.length)];
+  }
+
+  private record RecentProposal(int fingerprint, long acceptedAt) {}
+}
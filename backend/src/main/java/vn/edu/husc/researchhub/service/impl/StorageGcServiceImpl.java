@@ -0,0 +1,257 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import vn.edu.husc.researchhub.model.StoredBlob;
+import vn.edu.husc.researchhub.repository.ApprovedTopicDocumentRepository;
+import vn.edu.husc.researchhub.repository.StoredBlobRepository;
+import vn.edu.husc.researchhub.repository.UserRepository;
+import vn.edu.husc.researchhub.service.FileService;
+import vn.edu.husc.researchhub.service.StorageGcService;
+
+@Service
+public class StorageGcServiceImpl implements StorageGcService {
+
+  private final FileService fileService;
+  private final StoredBlobRepository storedBlobRepository;
+  private final ApprovedTopicDocumentRepository approvedTopicDocumentRepository;
+  private final UserRepository userRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${app.storage.gc.enabled:true}")
+  private boolean enabled;
+
+  @Value("${app.storage.gc.intervalMinutes:360}")
+  private long intervalMinutes;
+
+  // Objects younger than this are never collected: presigned uploads awaiting finalize and
+  // uploads whose transaction has not committed yet look unreferenced for a while
+  @Value("${app.storage.gc.graceHours:24}")
+  private long graceHours;
+
+  @Value("${app.storage.gc.prefixes:documents/,avatars/,blobs/}")
+  private String prefixes;
+
+  @Value("${app.storage.gc.batchSize:500}")
+  private int batchSize;
+
+  private ScheduledExecutorService scheduler;
+  // Scheduled and manual runs must not overlap
+  private final ReentrantLock running = new ReentrantLock();
+  private volatile Map<String, Object> lastRun = Map.of("status", "NEVER_RUN");
+
+  public StorageGcServiceImpl(
+      FileService fileService,
+      StoredBlobRepository storedBlobRepository,
+      ApprovedTopicDocumentRepository approvedTopicDocumentRepository,
+      UserRepository userRepository,
+      PlatformTransactionManager transactionManager) {
+    this.fileService = fileService;
+    this.storedBlobRepository = storedBlobRepository;
+    this.approvedTopicDocumentRepository = approvedTopicDocumentRepository;
+    this.userRepository = userRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @PostConstruct
+  void start() {
+    if (!enabled) {
+      return;
+    }
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "storage-gc");
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduler.scheduleWithFixedDelay(
+        () -> {
+          try {
+            sweep();
+          } catch (Exception e) {
+            System.err.println("Storage GC failed: " + e.getMessage());
+          }
+        },
+        intervalMinutes,
+        intervalMinutes,
+        TimeUnit.MINUTES);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+  }
+
+  @Override
+  public Map<String, Object> sweep() {
+    if (!running.tryLock()) {
+      throw new RuntimeException("Đang có một lượt dọn storage khác chạy");
+    }
+    try {
+      long startedAt = System.currentTimeMillis();
+      LocalDateTime cutoff = LocalDateTime.now().minusHours(graceHours);
+      Set<String> referenced = loadReferencedKeys();
+
+      long[] blobs = sweepUnreferencedBlobs(cutoff, referenced);
+      long[] orphans = sweepOrphanObjects(cutoff, referenced);
+
+      Map<String, Object> result = new LinkedHashMap<>();
+      result.put("status", "OK");
+      result.put("finishedAt", LocalDateTime.now());
+      result.put("durationMs", System.currentTimeMillis() - startedAt);
+      result.put("unreferencedBlobsDeleted", blobs[0]);
+      result.put("orphanObjectsDeleted", orphans[0]);
+      result.put("reclaimedBytes", blobs[1] + orphans[1]);
+      lastRun = result;
+      System.out.println("Storage GC: " + result);
+      return result;
+    } finally {
+      running.unlock();
+    }
+  }
+
+  @Override
+  public Map<String, Object> getLastRun() {
+    return lastRun;
+  }
+
+  private Set<String> loadReferencedKeys() {
+    Set<String> keys = new HashSet<>();
+    List<String> urls = new ArrayList<>(approvedTopicDocumentRepository.findAllFileUrls());
+    for (Object[] avatarUrls : userRepository.findAllAvatarUrls()) {
+      for (Object url : avatarUrls) {
+        if (url != null) {
+          urls.add((String) url);
+        }
+      }
+    }
+    for (String url : urls) {
+      String key = fileService.getKeyFromUrl(url);
+      if (key != null) {
+        keys.add(key);
+      }
+    }
+    return keys;
+  }
+
+  // Blobs whose reference count dropped to zero. Rows are first marked DELETING and committed,
+  // so no row lock is held during storage calls and an upload of the same content stores a new
+  // object instead of reusing this one. Rows whose object could not be deleted are put back for
+  // the next run; the others are removed.
+  private long[] sweepUnreferencedBlobs(LocalDateTime cutoff, Set<String> referenced) {
+    long deleted = 0;
+    long bytes = 0;
+    long afterId = 0;
+    while (true) {
+      long fromId = afterId;
+      List<StoredBlob> rows = new ArrayList<>();
+      List<StoredBlob> collectable =
+          transactionTemplate.execute(
+              status -> {
+                rows.addAll(storedBlobRepository.lockUnreferenced(cutoff, fromId, batchSize));
+                // A row still referenced means its count drifted; keep the object
+                List<StoredBlob> marked =
+                    rows.stream().filter(b -> !referenced.contains(b.getObjectKey())).toList();
+                if (!marked.isEmpty()) {
+                  storedBlobRepository.setUnreferencedState(
+                      marked.stream().map(StoredBlob::getId).toList(),
+                      StoredBlobRepository.DELETING);
+                }
+                return marked;
+              });
+
+      if (!collectable.isEmpty()) {
+        List<String> failedKeys;
+        try {
+          failedKeys =
+              fileService.deleteObjects(
+                  collectable.stream().map(StoredBlob::getObjectKey).toList());
+        } catch (RuntimeException e) {
+          System.err.println("Storage GC: blob delete failed: " + e.getMessage());
+          failedKeys = collectable.stream().map(StoredBlob::getObjectKey).toList();
+        }
+        Set<String> failed = new HashSet<>(failedKeys);
+        List<StoredBlob> removed =
+            collectable.stream().filter(b -> !failed.contains(b.getObjectKey())).toList();
+        List<Long> restoreIds =
+            collectable.stream()
+                .filter(b -> failed.contains(b.getObjectKey()))
+                .map(StoredBlob::getId)
+                .toList();
+        transactionTemplate.executeWithoutResult(
+            status -> {
+              if (!removed.isEmpty()) {
+                storedBlobRepository.deleteIfDeleting(
+                    removed.stream().map(StoredBlob::getId).toList());
+              }
+              if (!restoreIds.isEmpty()) {
+                storedBlobRepository.setUnreferencedState(restoreIds, 0);
+              }
+            });
+        deleted += removed.size();
+        bytes += removed.stream().mapToLong(StoredBlob::getSizeBytes).sum();
+      }
+
+      afterId = rows.isEmpty() ? fromId : rows.get(rows.size() - 1).getId();
+      if (rows.size() < batchSize) {
+        return new long[] {deleted, bytes};
+      }
+    }
+  }
+
+  // Objects under the managed prefixes that no row points at (replaced or deleted files)
+  private long[] sweepOrphanObjects(LocalDateTime cutoff, Set<String> referenced) {
+    Instant cutoffInstant = cutoff.atZone(java.time.ZoneId.systemDefault()).toInstant();
+    Set<String> blobKeys = new HashSet<>(storedBlobRepository.findAllObjectKeys());
+    long deleted = 0;
+    long bytes = 0;
+    for (String prefix : Arrays.asList(prefixes.split(","))) {
+      if (prefix.isBlank()) {
+        continue;
+      }
+      List<String> batch = new ArrayList<>(batchSize);
+      long batchBytes = 0;
+      for (FileService.StoredObject object : fileService.listObjects(prefix.trim())) {
+        if (referenced.contains(object.key())
+            || blobKeys.contains(object.key())
+            || !object.lastModified().isBefore(cutoffInstant)) {
+          continue;
+        }
+        batch.add(object.key());
+        batchBytes += object.size();
+        if (batch.size() == batchSize) {
+          deleted += batch.size() - fileService.deleteObjects(batch).size();
+          bytes += batchBytes;
+          batch.clear();
+          batchBytes = 0;
+        }
+      }
+      if (!batch.isEmpty()) {
+        deleted += batch.size() - fileService.deleteObjects(batch).size();
+        bytes += batchBytes;
+      }
+    }
+    return new long[] {deleted, bytes};
+  }
+}
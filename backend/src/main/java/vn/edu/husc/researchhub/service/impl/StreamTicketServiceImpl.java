@@ -0,0 +1,62 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import vn.edu.husc.researchhub.exception.TooManyRequestsException;
+import vn.edu.husc.researchhub.security.JwtUserPrincipal;
+import vn.edu.husc.researchhub.service.StreamTicketService;
+
+@Service
+public class StreamTicketServiceImpl implements StreamTicketService {
+
+  private final SecureRandom random = new SecureRandom();
+  private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+  private final long ttlMs;
+  private final int maxTickets;
+
+  private record Ticket(JwtUserPrincipal principal, long expiresAt) {}
+
+  public StreamTicketServiceImpl(
+      @Value("${app.messages.stream.ticketTtlSeconds:30}") long ttlSeconds,
+      @Value("${app.messages.stream.maxTickets:10000}") int maxTickets) {
+    this.ttlMs = Math.max(1, ttlSeconds) * 1000;
+    this.maxTickets = Math.max(100, maxTickets);
+  }
+
+  @Override
+  public String issue(JwtUserPrincipal principal) {
+    long now = System.currentTimeMillis();
+    if (tickets.size() >= maxTickets) {
+      tickets.values().removeIf(t -> t.expiresAt() <= now);
+      if (tickets.size() >= maxTickets) {
+        throw new TooManyRequestsException("Hệ thống đang bận, vui lòng thử lại sau", 1);
+      }
+    }
+    byte[] bytes = new byte[32];
+    random.nextBytes(bytes);
+    String ticket = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    tickets.put(ticket, new Ticket(principal, now + ttlMs));
+    return ticket;
+  }
+
+  @Override
+  public JwtUserPrincipal redeem(String ticket) {
+    if (ticket == null || ticket.isEmpty()) {
+      return null;
+    }
+    Ticket redeemed = tickets.remove(ticket);
+    if (redeemed == null || redeemed.expiresAt() <= System.currentTimeMillis()) {
+      return null;
+    }
+    return redeemed.principal();
+  }
+
+  @Override
+  public long getTtlSeconds() {
+    return ttlMs / 1000;
+  }
+}
@@ -0,0 +1,105 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import vn.edu.husc.researchhub.model.User;
+import vn.edu.husc.researchhub.repository.UserRepository;
+import vn.edu.husc.researchhub.service.TokenRevocationService;
+
+@Service
+// token_version is added by SchemaInitializer, which must run before the initial load
+@DependsOn("schemaInitializer")
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+  private final UserRepository userRepository;
+
+  // userId -> current token_version; users still at 0 are absent. Versions only grow, so
+  // updates are merged with max and a stale reload can never move one back.
+  private final Map<Integer, Integer> versions = new ConcurrentHashMap<>();
+
+  private final long refreshSeconds;
+  private ScheduledExecutorService scheduler;
+
+  public TokenRevocationServiceImpl(
+      UserRepository userRepository,
+      @Value("${app.auth.tokenVersion.refreshSeconds:30}") long refreshSeconds) {
+    this.userRepository = userRepository;
+    this.refreshSeconds = refreshSeconds;
+  }
+
+  @PostConstruct
+  void start() {
+    reload();
+    // Picks up revocations committed on other instances
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "token-version-refresh");
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduler.scheduleWithFixedDelay(
+        () -> {
+          try {
+            reload();
+          } catch (Exception e) {
+            System.err.println("Token version refresh failed: " + e.getMessage());
+          }
+        },
+        refreshSeconds,
+        refreshSeconds,
+        TimeUnit.SECONDS);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+  }
+
+  @Override
+  public void revokeAll(User user) {
+    int version = user.getTokenVersion() + 1;
+    user.setTokenVersion(version);
+    Integer userId = user.getId();
+    // Only once the change (password, role, username) has committed: a rolled-back change
+    // must not log the user out
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              versions.merge(userId, version, Math::max);
+            }
+          });
+    } else {
+      versions.merge(userId, version, Math::max);
+    }
+  }
+
+  @Override
+  public boolean isRevoked(Integer userId, Integer tokenVersion) {
+    Integer current = versions.get(userId);
+    if (current == null) {
+      return false;
+    }
+    return (tokenVersion != null ? tokenVersion : 0) < current;
+  }
+
+  private void reload() {
+    for (Object[] row : userRepository.findTokenVersions()) {
+      versions.merge((Integer) row[0], ((Number) row[1]).intValue(), Math::max);
+    }
+  }
+}
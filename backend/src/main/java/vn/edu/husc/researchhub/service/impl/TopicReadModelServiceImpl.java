@@ -0,0 +1,533 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import vn.edu.husc.researchhub.dto.response.TopicResponse;
+import vn.edu.husc.researchhub.model.ApprovedTopic;
+import vn.edu.husc.researchhub.model.Role;
+import vn.edu.husc.researchhub.model.Topic;
+import vn.edu.husc.researchhub.model.TopicMember;
+import vn.edu.husc.researchhub.model.User;
+import vn.edu.husc.researchhub.model.YearSession;
+import vn.edu.husc.researchhub.model.enums.MemberStatus;
+import vn.edu.husc.researchhub.model.enums.TopicMemberRole;
+import vn.edu.husc.researchhub.model.enums.YearSessionStatus;
+import vn.edu.husc.researchhub.repository.ApprovedTopicRepository;
+import vn.edu.husc.researchhub.repository.TopicMemberRepository;
+import vn.edu.husc.researchhub.repository.TopicRepository;
+import vn.edu.husc.researchhub.repository.YearSessionRepository;
+import vn.edu.husc.researchhub.service.TopicReadModelService;
+
+@Service
+public class TopicReadModelServiceImpl implements TopicReadModelService {
+
+  private static final int REBUILD_BATCH_SIZE = 200;
+
+  private final TopicRepository topicRepository;
+  private final TopicMemberRepository topicMemberRepository;
+  private final ApprovedTopicRepository approvedTopicRepository;
+  private final YearSessionRepository yearSessionRepository;
+
+  private final int maxEntries;
+
+  // Projection: topicId -> flattened response (+ keys used for invalidation), LRU-bounded.
+  // All access, including reads (which reorder the LRU), is guarded by this service's monitor.
+  private final LinkedHashMap<Integer, Entry> entries;
+
+  // Reverse indexes so session/user invalidation touches only the affected topics
+  private final Map<String, Set<Integer>> topicIdsBySession = new HashMap<>();
+  private final Map<Integer, Set<Integer>> topicIdsByUser = new HashMap<>();
+
+  // Bumped on every invalidation. A loader remembers the value it started at and, when it
+  // publishes, drops only the entries invalidated since then (per topic, user or session), so
+  // writes to one topic do not discard concurrent cache fills of the others.
+  private long sequence = 0;
+  private long clearedAt = 0;
+  private final Map<Integer, Long> topicInvalidatedAt = new HashMap<>();
+  private final Map<Integer, Long> userInvalidatedAt = new HashMap<>();
+  private final Map<String, Long> sessionInvalidatedAt = new HashMap<>();
+  // Start sequence -> number of loads in flight; invalidation marks are only kept while a load
+  // that started before them is still running
+  private final TreeMap<Long, Integer> loadsInFlight = new TreeMap<>();
+
+  private record Entry(TopicResponse response, String sessionKey, Set<Integer> userIds) {}
+
+  public TopicReadModelServiceImpl(
+      TopicRepository topicRepository,
+      TopicMemberRepository topicMemberRepository,
+      ApprovedTopicRepository approvedTopicRepository,
+      YearSessionRepository yearSessionRepository,
+      @Value("${app.cache.topicReadModel.maxEntries:5000}") int maxEntries) {
+    this.topicRepository = topicRepository;
+    this.topicMemberRepository = topicMemberRepository;
+    this.approvedTopicRepository = approvedTopicRepository;
+    this.yearSessionRepository = yearSessionRepository;
+    this.maxEntries = Math.max(1, maxEntries);
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public TopicResponse getTopic(Integer topicId) {
+    Entry entry;
+    synchronized (this) {
+      entry = entries.get(topicId);
+    }
+    if (entry != null) {
+      return copy(entry.response());
+    }
+    long start = beginLoad();
+    try {
+      Topic topic =
+          topicRepository
+              .findById(topicId)
+              .orElseThrow(() -> new RuntimeException("Không tìm thấy đề tài"));
+      return copy(load(List.of(topic), start).get(topicId).response());
+    } finally {
+      endLoad(start);
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<TopicResponse> getTopics(List<Integer> topicIds) {
+    Map<Integer, Entry> found = new HashMap<>();
+    List<Integer> missing = new ArrayList<>();
+    synchronized (this) {
+      for (Integer id : topicIds) {
+        Entry entry = entries.get(id);
+        if (entry != null) {
+          found.put(id, entry);
+        } else {
+          missing.add(id);
+        }
+      }
+    }
+
+    if (!missing.isEmpty()) {
+      long start = beginLoad();
+      try {
+        found.putAll(load(topicRepository.findAllById(missing), start));
+      } finally {
+        endLoad(start);
+      }
+    }
+
+    return topicIds.stream()
+        .map(found::get)
+        .filter(Objects::nonNull)
+        .map(entry -> copy(entry.response()))
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public void invalidateTopic(Integer topicId) {
+    afterCommit(
+        seq -> {
+          mark(topicInvalidatedAt, topicId, seq);
+          removeEntry(topicId);
+        });
+  }
+
+  @Override
+  public void invalidateSession(Integer academicYearId, Integer departmentId) {
+    String key = sessionKey(academicYearId, departmentId);
+    afterCommit(
+        seq -> {
+          mark(sessionInvalidatedAt, key, seq);
+          removeEntries(topicIdsBySession.get(key));
+        });
+  }
+
+  @Override
+  public void invalidateUser(Integer userId) {
+    afterCommit(
+        seq -> {
+          mark(userInvalidatedAt, userId, seq);
+          removeEntries(topicIdsByUser.get(userId));
+        });
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public int rebuild() {
+    synchronized (this) {
+      // Loads started before this point must not republish what is being cleared
+      clearedAt = ++sequence;
+      entries.clear();
+      topicIdsBySession.clear();
+      topicIdsByUser.clear();
+    }
+
+    long start = beginLoad();
+    try {
+      int count = 0;
+      int page = 0;
+      Page<Topic> batch;
+      do {
+        batch =
+            topicRepository.findAll(PageRequest.of(page++, REBUILD_BATCH_SIZE, Sort.by("id")));
+        count += load(batch.getContent(), start).size();
+      } while (batch.hasNext());
+      return count;
+    } finally {
+      endLoad(start);
+    }
+  }
+
+  // Callers get their own copy, so filtering members on a response cannot corrupt the cache
+  private static TopicResponse copy(TopicResponse response) {
+    return response.toBuilder()
+        .pendingMembers(copyMembers(response.getPendingMembers()))
+        .approvedMembers(copyMembers(response.getApprovedMembers()))
+        .rejectedMembers(copyMembers(response.getRejectedMembers()))
+        .advisors(copyMembers(response.getAdvisors()))
+        .build();
+  }
+
+  private static List<TopicResponse.MemberResponse> copyMembers(
+      List<TopicResponse.MemberResponse> members) {
+    if (members == null) {
+      return null;
+    }
+    return members.stream().map(m -> m.toBuilder().build()).collect(Collectors.toList());
+  }
+
+  // Must be taken before the first DB read of a load, and released with endLoad
+  private synchronized long beginLoad() {
+    long start = sequence;
+    loadsInFlight.merge(start, 1, Integer::sum);
+    return start;
+  }
+
+  private synchronized void endLoad(long start) {
+    loadsInFlight.computeIfPresent(start, (k, n) -> n > 1 ? n - 1 : null);
+    if (loadsInFlight.isEmpty()) {
+      topicInvalidatedAt.clear();
+      userInvalidatedAt.clear();
+      sessionInvalidatedAt.clear();
+    } else {
+      // Marks at or before the oldest running load can no longer reject anything
+      long oldest = loadsInFlight.firstKey();
+      topicInvalidatedAt.values().removeIf(seq -> seq <= oldest);
+      userInvalidatedAt.values().removeIf(seq -> seq <= oldest);
+      sessionInvalidatedAt.values().removeIf(seq -> seq <= oldest);
+    }
+  }
+
+  // The helpers below must be called while holding this service's monitor
+
+  private <K> void mark(Map<K, Long> invalidatedAt, K key, long seq) {
+    // Only a load that is still running can publish stale data
+    if (!loadsInFlight.isEmpty()) {
+      invalidatedAt.put(key, seq);
+    }
+  }
+
+  private boolean invalidatedSince(Integer topicId, Entry entry, long start) {
+    if (clearedAt > start
+        || topicInvalidatedAt.getOrDefault(topicId, 0L) > start
+        || (entry.sessionKey() != null
+            && sessionInvalidatedAt.getOrDefault(entry.sessionKey(), 0L) > start)) {
+      return true;
+    }
+    for (Integer userId : entry.userIds()) {
+      if (userInvalidatedAt.getOrDefault(userId, 0L) > start) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void putEntry(Integer topicId, Entry entry) {
+    removeEntry(topicId);
+    entries.put(topicId, entry);
+    if (entry.sessionKey() != null) {
+      topicIdsBySession.computeIfAbsent(entry.sessionKey(), k -> new HashSet<>()).add(topicId);
+    }
+    for (Integer userId : entry.userIds()) {
+      topicIdsByUser.computeIfAbsent(userId, k -> new HashSet<>()).add(topicId);
+    }
+    while (entries.size() > maxEntries) {
+      removeEntry(entries.keySet().iterator().next());
+    }
+  }
+
+  private void removeEntries(Set<Integer> topicIds) {
+    if (topicIds != null) {
+      for (Integer topicId : new ArrayList<>(topicIds)) {
+        removeEntry(topicId);
+      }
+    }
+  }
+
+  private void removeEntry(Integer topicId) {
+    Entry removed = entries.remove(topicId);
+    if (removed == null) {
+      return;
+    }
+    if (removed.sessionKey() != null) {
+      unindex(topicIdsBySession, removed.sessionKey(), topicId);
+    }
+    for (Integer userId : removed.userIds()) {
+      unindex(topicIdsByUser, userId, topicId);
+    }
+  }
+
+  private static <K> void unindex(Map<K, Set<Integer>> index, K key, Integer topicId) {
+    Set<Integer> topicIds = index.get(key);
+    if (topicIds != null) {
+      topicIds.remove(topicId);
+      if (topicIds.isEmpty()) {
+        index.remove(key);
+      }
+    }
+  }
+
+  // Evict only once the writing transaction has committed, so readers never cache
+  // a rolled-back state; outside a transaction the write is already visible.
+  private void afterCommit(java.util.function.LongConsumer eviction) {
+    Runnable action =
+        () -> {
+          synchronized (this) {
+            eviction.accept(++sequence);
+          }
+        };
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              action.run();
+            }
+          });
+    } else {
+      action.run();
+    }
+  }
+
+  /**
+   * Dựng bản đọc cho một nhóm đề tài và đưa vào projection.
+   * Thành viên, đề tài đã duyệt và trạng thái phiên được nạp theo lô (3 truy vấn cố định),
+   * sau đó ghép trong bộ nhớ nên số truy vấn không phụ thuộc số đề tài.
+   * Đề tài nào bị vô hiệu (theo đề tài, thành viên hoặc phiên) sau thời điểm start
+   * (lấy bằng beginLoad trước lần đọc DB đầu tiên) thì không được ghi vào projection.
+   */
+  private Map<Integer, Entry> load(Collection<Topic> topics, long start) {
+    if (topics.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    List<Integer> topicIds = topics.stream().map(Topic::getId).collect(Collectors.toList());
+
+    Map<Integer, List<TopicMember>> membersByTopic =
+        topicMemberRepository.findWithUserByTopicIdIn(topicIds).stream()
+            .collect(Collectors.groupingBy(m -> m.getTopic().getId()));
+
+    Map<Integer, ApprovedTopic> approvedByTopic =
+        approvedTopicRepository.findByTopicIdIn(topicIds).stream()
+            .collect(Collectors.toMap(at -> at.getTopic().getId(), at -> at));
+
+    Map<String, YearSessionStatus> sessionStatuses = loadSessionStatuses(topics);
+
+    Map<Integer, Entry> loaded = new HashMap<>();
+    for (Topic topic : topics) {
+      List<TopicMember> members =
+          membersByTopic.getOrDefault(topic.getId(), Collections.emptyList());
+      String key = sessionKey(topic);
+      TopicResponse response =
+          buildResponse(
+              topic, members, approvedByTopic.get(topic.getId()), sessionStatuses.get(key));
+      Set<Integer> userIds =
+          members.stream().map(m -> m.getUser().getId()).collect(Collectors.toSet());
+      loaded.put(topic.getId(), new Entry(response, key, userIds));
+    }
+
+    synchronized (this) {
+      loaded.forEach(
+          (topicId, entry) -> {
+            if (!invalidatedSince(topicId, entry, start)) {
+              putEntry(topicId, entry);
+            }
+          });
+    }
+    return loaded;
+  }
+
+  private Map<String, YearSessionStatus> loadSessionStatuses(Collection<Topic> topics) {
+    Set<Integer> academicYearIds =
+        topics.stream()
+            .filter(t -> t.getAcademicYear() != null)
+            .map(t -> t.getAcademicYear().getId())
+            .collect(Collectors.toSet());
+    Set<Integer> departmentIds =
+        topics.stream()
+            .filter(t -> t.getDepartment() != null)
+            .map(t -> t.getDepartment().getId())
+            .collect(Collectors.toSet());
+
+    Map<String, YearSessionStatus> statuses = new HashMap<>();
+    if (academicYearIds.isEmpty() || departmentIds.isEmpty()) {
+      return statuses;
+    }
+
+    for (YearSession session :
+        yearSessionRepository.findByAcademicYearIdInAndDepartmentIdIn(
+            academicYearIds, departmentIds)) {
+      statuses.put(
+          sessionKey(session.getAcademicYear().getId(), session.getDepartment().getId()),
+          session.getStatus());
+    }
+    return statuses;
+  }
+
+  private String sessionKey(Topic topic) {
+    if (topic.getAcademicYear() == null || topic.getDepartment() == null) {
+      return null;
+    }
+    return sessionKey(topic.getAcademicYear().getId(), topic.getDepartment().getId());
+  }
+
+  private String sessionKey(Integer academicYearId, Integer departmentId) {
+    return academicYearId + ":" + departmentId;
+  }
+
+  private TopicResponse buildResponse(
+      Topic topic,
+      List<TopicMember> members,
+      ApprovedTopic approvedTopic,
+      YearSessionStatus sessionStatus) {
+    TopicMember advisor =
+        members.stream()
+            .filter(m -> m.getRole() == TopicMemberRole.ADVISOR)
+            .findFirst()
+            .orElse(null);
+
+    TopicMember leader =
+        members.stream()
+            .filter(
+                m ->
+                    m.getRole() == TopicMemberRole.LEADER && m.getStatus() == MemberStatus.APPROVED)
+            .findFirst()
+            .orElse(null);
+
+    List<TopicResponse.MemberResponse> pendingMembers =
+        members.stream()
+            .filter(m -> m.getStatus() == MemberStatus.PENDING)
+            .map(
+                m ->
+                    new TopicResponse.MemberResponse(
+                        m.getUser().getId(),
+                        m.getUser().getFullName(),
+                        m.getUser().getEmail(),
+                        m.getUser().getUsername(),
+                        m.getUser().getPhoneNumber(),
+                        m.getUser().getListAvatarUrl()))
+            .collect(Collectors.toList());
+
+    List<TopicResponse.MemberResponse> approvedMembers =
+        members.stream()
+            .filter(
+                m ->
+                    m.getStatus() == MemberStatus.APPROVED && m.getUser().getRole() == Role.STUDENT)
+            .map(
+                m ->
+                    new TopicResponse.MemberResponse(
+                        m.getUser().getId(),
+                        m.getUser().getFullName(),
+                        m.getUser().getEmail(),
+                        m.getUser().getUsername(),
+                        m.getUser().getPhoneNumber(),
+                        m.getUser().getListAvatarUrl()))
+            .collect(Collectors.toList());
+
+    List<TopicResponse.MemberResponse> rejectedMembers =
+        members.stream()
+            .filter(m -> m.getStatus() == MemberStatus.REJECTED)
+            .map(
+                m ->
+                    new TopicResponse.MemberResponse(
+                        m.getUser().getId(),
+                        m.getUser().getFullName(),
+                        m.getUser().getEmail(),
+                        m.getUser().getUsername(),
+                        m.getUser().getPhoneNumber(),
+                        m.getUser().getListAvatarUrl()))
+            .collect(Collectors.toList());
+
+    return TopicResponse.builder()
+        .id(topic.getId())
+        .code(approvedTopic != null ? approvedTopic.getCode() : null)
+        .prize(approvedTopic != null ? approvedTopic.getPrize() : null)
+        .title(topic.getName())
+        .shortDescription(topic.getDescription()) // Assuming description is short description
+        .objective(topic.getTarget()) // Assuming target is objective
+        .content(topic.getMainContent())
+        .budget(topic.getBudget())
+        .note(topic.getNote())
+        .researchField(approvedTopic != null ? approvedTopic.getFieldResearch() : null)
+        .researchType(approvedTopic != null ? approvedTopic.getTypeResearch() : null)
+        .status(topic.getStatus())
+        .approvedStatus(approvedTopic != null ? approvedTopic.getStatus() : null)
+        .createdAt(topic.getCreatedAt())
+        .sessionStatus(sessionStatus)
+        .advisorId(advisor != null ? advisor.getUser().getId() : null)
+        .advisorName(advisor != null ? getFullNameWithDegree(advisor.getUser()) : null)
+        .advisorUsername(advisor != null ? advisor.getUser().getUsername() : null)
+        .advisorEmail(advisor != null ? advisor.getUser().getEmail() : null)
+        .advisorPhone(advisor != null ? advisor.getUser().getPhoneNumber() : null)
+        .advisorAvatar(advisor != null ? advisor.getUser().getListAvatarUrl() : null)
+        .studentLeaderId(leader != null ? leader.getUser().getId() : null)
+        .studentLeaderName(leader != null ? leader.getUser().getFullName() : null)
+        .studentLeaderEmail(leader != null ? leader.getUser().getEmail() : null)
+        .studentLeaderPhone(leader != null ? leader.getUser().getPhoneNumber() : null)
+        .studentLeaderAvatar(leader != null ? leader.getUser().getListAvatarUrl() : null)
+        .pendingMembers(pendingMembers)
+        .approvedMembers(approvedMembers)
+        .rejectedMembers(rejectedMembers)
+        .advisors(
+            members.stream()
+                .filter(
+                    m ->
+                        m.getRole() == TopicMemberRole.ADVISOR
+                            && m.getStatus() == MemberStatus.APPROVED)
+                .map(
+                    m ->
+                        new TopicResponse.MemberResponse(
+                            m.getUser().getId(),
+                            getFullNameWithDegree(m.getUser()),
+                            m.getUser().getEmail(),
+                            m.getUser().getUsername(),
+                            m.getUser().getPhoneNumber(),
+                            m.getUser().getListAvatarUrl()))
+                .collect(Collectors.toList()))
+        .build();
+  }
+
+  private String getFullNameWithDegree(User user) {
+    if (user == null) return null;
+    String fullName = user.getFullName();
+    if (user.getAcademicDegree() != null && !user.getAcademicDegree().isEmpty()) {
+      return user.getAcademicDegree() + " " + fullName;
+    }
+    return fullName;
+  }
+}
@@ -0,0 +1,241 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import vn.edu.husc.researchhub.model.ApprovedTopic;
+import vn.edu.husc.researchhub.model.Topic;
+import vn.edu.husc.researchhub.model.enums.ApprovedTopicStatus;
+import vn.edu.husc.researchhub.model.enums.TopicStatus;
+import vn.edu.husc.researchhub.repository.ApprovedTopicRepository;
+import vn.edu.husc.researchhub.repository.TopicRepository;
+import vn.edu.husc.researchhub.service.TopicSearchService;
+
+@Service
+@RequiredArgsConstructor
+public class TopicSearchServiceImpl implements TopicSearchService {
+
+  // Indexes the search path relies on: {table, index name, DDL}
+  private static final List<String[]> INDEXES =
+      List.of(
+          new String[] {
+            "topic",
+            "ft_topic_name",
+            "ALTER TABLE topic ADD FULLTEXT INDEX ft_topic_name (name) WITH PARSER ngram"
+          },
+          new String[] {
+            "topic",
+            "ft_topic_content",
+            "ALTER TABLE topic ADD FULLTEXT INDEX ft_topic_content"
+                + " (name, description, target, main_content) WITH PARSER ngram"
+          },
+          new String[] {
+            "approved_topic",
+            "idx_approved_topic_code",
+            "ALTER TABLE approved_topic ADD INDEX idx_approved_topic_code (code)"
+          });
+
+  private final TopicRepository topicRepository;
+  private final ApprovedTopicRepository approvedTopicRepository;
+  private final JdbcTemplate jdbcTemplate;
+
+  @Value("${app.search.fulltext.enabled:true}")
+  private boolean fullTextEnabled;
+
+  private volatile boolean fullTextReady = false;
+
+  /**
+   * Tạo các chỉ mục tìm kiếm nếu chưa có (chạy sau khi ứng dụng khởi động xong,
+   * trong lúc đó tìm kiếm vẫn dùng LIKE).
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void ensureIndexes() {
+    if (!fullTextEnabled) {
+      return;
+    }
+    try {
+      for (String[] index : INDEXES) {
+        Integer existing =
+            jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema ="
+                    + " DATABASE() AND table_name = ? AND index_name = ?",
+                Integer.class,
+                index[0],
+                index[1]);
+        if (existing == null || existing == 0) {
+          System.out.println("Creating search index " + index[1] + " on " + index[0]);
+          jdbcTemplate.execute(index[2]);
+        }
+      }
+      fullTextReady = true;
+    } catch (Exception e) {
+      System.err.println("Full-text search unavailable, using LIKE search: " + e.getMessage());
+    }
+  }
+
+  @Override
+  public boolean isFullTextReady() {
+    return fullTextReady;
+  }
+
+  @Override
+  public Page<Topic> searchTopics(
+      Integer departmentId,
+      Integer academicYearId,
+      String keyword,
+      TopicStatus status,
+      int page,
+      int size) {
+    if (!useFullText(keyword)) {
+      return topicRepository.search(
+          departmentId,
+          academicYearId,
+          keyword,
+          status,
+          PageRequest.of(page, size, Sort.by("createdAt").descending()));
+    }
+    // Ordering (relevance, then newest) is part of the native query
+    return topicRepository.fullTextSearch(
+        departmentId,
+        academicYearId,
+        keyword.trim(),
+        phrase(keyword),
+        status != null ? status.name() : null,
+        PageRequest.of(page, size));
+  }
+
+  @Override
+  public List<Topic> searchTopicsAfter(
+      Integer departmentId,
+      Integer academicYearId,
+      String keyword,
+      TopicStatus status,
+      LocalDateTime cursorCreatedAt,
+      Integer cursorId,
+      int limit) {
+    if (!useFullText(keyword)) {
+      return topicRepository.searchAfter(
+          departmentId,
+          academicYearId,
+          keyword,
+          status,
+          cursorCreatedAt,
+          cursorId,
+          PageRequest.of(0, limit));
+    }
+    return topicRepository.fullTextSearchAfter(
+        departmentId,
+        academicYearId,
+        keyword.trim(),
+        phrase(keyword),
+        status != null ? status.name() : null,
+        cursorCreatedAt,
+        cursorId,
+        PageRequest.of(0, limit));
+  }
+
+  @Override
+  public long countTopics(
+      Integer departmentId, Integer academicYearId, String keyword, TopicStatus status) {
+    if (!useFullText(keyword)) {
+      return topicRepository.countSearch(departmentId, academicYearId, keyword, status);
+    }
+    return topicRepository.countFullTextSearch(
+        departmentId,
+        academicYearId,
+        keyword.trim(),
+        phrase(keyword),
+        status != null ? status.name() : null);
+  }
+
+  @Override
+  public Page<ApprovedTopic> searchApprovedTopics(
+      Integer departmentId,
+      Integer academicYearId,
+      String keyword,
+      ApprovedTopicStatus status,
+      int page,
+      int size) {
+    if (!useFullText(keyword)) {
+      return approvedTopicRepository.search(
+          departmentId,
+          academicYearId,
+          keyword,
+          status,
+          PageRequest.of(page, size, Sort.by("createdAt").descending()));
+    }
+    return approvedTopicRepository.fullTextSearch(
+        departmentId,
+        academicYearId,
+        keyword.trim(),
+        phrase(keyword),
+        status != null ? status.name() : null,
+        PageRequest.of(page, size));
+  }
+
+  @Override
+  public List<ApprovedTopic> searchApprovedTopicsAfter(
+      Integer departmentId,
+      Integer academicYearId,
+      String keyword,
+      ApprovedTopicStatus status,
+      LocalDateTime cursorCreatedAt,
+      Integer cursorId,
+      int limit) {
+    if (!useFullText(keyword)) {
+      return approvedTopicRepository.searchAfter(
+          departmentId,
+          academicYearId,
+          keyword,
+          status,
+          cursorCreatedAt,
+          cursorId,
+          PageRequest.of(0, limit));
+    }
+    return approvedTopicRepository.fullTextSearchAfter(
+        departmentId,
+        academicYearId,
+        keyword.trim(),
+        phrase(keyword),
+        status != null ? status.name() : null,
+        cursorCreatedAt,
+        cursorId,
+        PageRequest.of(0, limit));
+  }
+
+  @Override
+  public long countApprovedTopics(
+      Integer departmentId, Integer academicYearId, String keyword, ApprovedTopicStatus status) {
+    if (!useFullText(keyword)) {
+      return approvedTopicRepository.countSearch(departmentId, academicYearId, keyword, status);
+    }
+    return approvedTopicRepository.countFullTextSearch(
+        departmentId,
+        academicYearId,
+        keyword.trim(),
+        phrase(keyword),
+        status != null ? status.name() : null);
+  }
+
+  // ngram tokens are 2 characters, so shorter keywords stay on the LIKE path
+  private boolean useFullText(String keyword) {
+    return fullTextReady
+        && StringUtils.hasText(keyword)
+        && keyword.replace("\"", "").trim().length() >= 2;
+  }
+
+  // Boolean-mode phrase: every bigram of the keyword must match, adjacent and in order.
+  // Double quotes are the only operator inside a phrase, so they are dropped.
+  private static String phrase(String keyword) {
+    return "\"" + keyword.replace("\"", "").trim() + "\"";
+  }
+}
@@ -4,11 +4,9 @@ import java.util.List;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import vn.edu.husc.researchhub.dto.response.CursorPageResponse;
 import vn.edu.husc.researchhub.dto.response.PageResponse;
 import vn.edu.husc.researchhub.dto.response.TopicResponse;
 import vn.edu.husc.researchhub.model.Role;
@@ -21,6 +19,7 @@ import vn.edu.husc.researchhub.model.enums.TopicStatus;
 import vn.edu.husc.researchhub.repository.TopicMemberRepository;
 import vn.edu.husc.researchhub.repository.TopicRepository;
 import vn.edu.husc.researchhub.repository.UserRepository;
+import vn.edu.husc.researchhub.service.TopicReadModelService;
 import vn.edu.husc.researchhub.service.TopicService;
 
 @Service
@@ -31,7 +30,9 @@ public class TopicServiceImpl implements TopicService {
   private final TopicMemberRepository topicMemberRepository;
   private final UserRepository userRepository;
   private final vn.edu.husc.researchhub.repository.ApprovedTopicRepository approvedTopicRepository;
-  private final vn.edu.husc.researchhub.repository.YearSessionRepository yearSessionRepository;
+  private final vn.edu.husc.researchhub.service.ReferenceDataService referenceDataService;
+  private final TopicReadModelService topicReadModelService;
+  private final vn.edu.husc.researchhub.service.TopicSearchService topicSearchService;
 
   @Override
   public PageResponse<TopicResponse> getAllTopics(
@@ -41,13 +42,13 @@ public class TopicServiceImpl implements TopicService {
       Integer academicYearId,
       int page,
       int size) {
-    Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-
     Page<Topic> topicPage =
-        topicRepository.search(departmentId, academicYearId, keyword, status, pageable);
+        topicSearchService.searchTopics(
+            departmentId, academicYearId, keyword, status, page, size);
 
     List<TopicResponse> content =
-        topicPage.getContent().stream().map(this::mapToResponse).collect(Collectors.toList());
+        topicReadModelService.getTopics(
+            topicPage.getContent().stream().map(Topic::getId).collect(Collectors.toList()));
 
     return PageResponse.<TopicResponse>builder()
         .content(content)
@@ -58,13 +59,50 @@ public class TopicServiceImpl implements TopicService {
         .build();
   }
 
+  @Override
+  public CursorPageResponse<TopicResponse> getTopicsByCursor(
+      String keyword,
+      TopicStatus status,
+      Integer departmentId,
+      Integer academicYearId,
+      String cursor,
+      int size,
+      boolean includeTotal) {
+    size = KeysetCursor.pageSize(size);
+    KeysetCursor after = KeysetCursor.decodeTimed(cursor);
+    List<Topic> rows =
+        topicSearchService.searchTopicsAfter(
+            departmentId,
+            academicYearId,
+            keyword,
+            status,
+            after.createdAt(),
+            after.id(),
+            size + 1);
+
+    boolean hasNext = rows.size() > size;
+    List<Topic> pageRows = hasNext ? rows.subList(0, size) : rows;
+    Topic last = pageRows.isEmpty() ? null : pageRows.get(pageRows.size() - 1);
+
+    List<TopicResponse> content =
+        topicReadModelService.getTopics(
+            pageRows.stream().map(Topic::getId).collect(Collectors.toList()));
+
+    return CursorPageResponse.<TopicResponse>builder()
+        .content(content)
+        .size(size)
+        .hasNext(hasNext)
+        .nextCursor(hasNext ? KeysetCursor.encode(last.getCreatedAt(), last.getId()) : null)
+        .totalElements(
+            includeTotal
+                ? topicSearchService.countTopics(departmentId, academicYearId, keyword, status)
+                : null)
+        .build();
+  }
+
   @Override
   public TopicResponse getTopicDetail(Integer id) {
-    Topic topic =
-        topicRepository
-            .findById(id)
-            .orElseThrow(() -> new RuntimeException("Không tìm thấy đề tài"));
-    return mapToResponse(topic);
+    return topicReadModelService.getTopic(id);
   }
 
   @Override
@@ -86,6 +124,7 @@ public class TopicServiceImpl implements TopicService {
     }
 
     topicRepository.save(topic);
+    topicReadModelService.invalidateTopic(id);
 
     // Create ApprovedTopic if status is APPROVED and it doesn't exist
     // Validation: When Approving or Rejecting a Topic
@@ -151,6 +190,7 @@ public class TopicServiceImpl implements TopicService {
     topic.setBudget(request.getBudget());
     topic.setNote(request.getNote());
     Topic saved = topicRepository.save(topic);
+    topicReadModelService.invalidateTopic(id);
 
     // Sync with ApprovedTopic if exists
     java.util.Optional<vn.edu.husc.researchhub.model.ApprovedTopic> approvedTopicOpt =
@@ -170,6 +210,7 @@ public class TopicServiceImpl implements TopicService {
         topicRepository
             .findById(topicId)
             .orElseThrow(() -> new RuntimeException("Không tìm thấy đề tài"));
+    topicReadModelService.invalidateTopic(topicId);
 
     if (teacherId != null) {
       // Validation removed: Advisor limit relaxed per user request
@@ -207,6 +248,7 @@ public class TopicServiceImpl implements TopicService {
         topicRepository
             .findById(topicId)
             .orElseThrow(() -> new RuntimeException("Không tìm thấy đề tài"));
+    topicReadModelService.invalidateTopic(topicId);
 
     if (studentId != null) {
       // Validation removed: Student leader limit relaxed per user request
@@ -262,6 +304,7 @@ public class TopicServiceImpl implements TopicService {
 
     member.setStatus(MemberStatus.APPROVED);
     topicMemberRepository.save(member);
+    topicReadModelService.invalidateTopic(topicId);
   }
 
   @Override
@@ -273,6 +316,7 @@ public class TopicServiceImpl implements TopicService {
             .orElseThrow(() -> new RuntimeException("Không tìm thấy yêu cầu thành viên"));
     member.setStatus(MemberStatus.REJECTED);
     topicMemberRepository.save(member);
+    topicReadModelService.invalidateTopic(topicId);
   }
 
   @Override
@@ -298,8 +342,8 @@ public class TopicServiceImpl implements TopicService {
     }
 
     vn.edu.husc.researchhub.model.YearSession session =
-        yearSessionRepository
-            .findByAcademicYearIdAndDepartmentId(academicYearId, departmentId)
+        referenceDataService
+            .findYearSession(academicYearId, departmentId)
             .orElseThrow(
                 () ->
                     new RuntimeException("Không tìm thấy phiên làm việc cho khoa và năm học này"));
@@ -326,6 +370,7 @@ public class TopicServiceImpl implements TopicService {
 
     // Save Topic first to get ID
     topic = topicRepository.save(topic);
+    topicReadModelService.invalidateTopic(topic.getId());
 
     // 5. Assign Members based on Role
     if (currentUser.getRole() == Role.STUDENT) {
@@ -383,8 +428,8 @@ public class TopicServiceImpl implements TopicService {
     Integer academicYearId = topic.getAcademicYear().getId();
 
     vn.edu.husc.researchhub.model.YearSession session =
-        yearSessionRepository
-            .findByAcademicYearIdAndDepartmentId(academicYearId, departmentId)
+        referenceDataService
+            .findYearSession(academicYearId, departmentId)
             .orElseThrow(() -> new RuntimeException("Không tìm thấy phiên làm việc phù hợp"));
 
     if (session.getStatus()
@@ -392,11 +437,11 @@ public class TopicServiceImpl implements TopicService {
       throw new RuntimeException("Phiên đăng ký đã đóng");
     }
 
-    // 3. Check existing registration
+    // 3. Check existing registration (a repeated click is a no-op, not an error)
     boolean isMember =
         topicMemberRepository.findByTopicIdAndUserId(topicId, student.getId()).isPresent();
     if (isMember) {
-      throw new RuntimeException("Bạn đã đăng ký tham gia đề tài này");
+      return;
     }
 
     // 4. Create Member Request
@@ -406,7 +451,7 @@ public class TopicServiceImpl implements TopicService {
     member.setRole(TopicMemberRole.MEMBER);
     member.setStatus(MemberStatus.PENDING);
     topicMemberRepository.save(member);
-    topicMemberRepository.save(member);
+    topicReadModelService.invalidateTopic(topicId);
   }
 
   @Override
@@ -414,11 +459,11 @@ public class TopicServiceImpl implements TopicService {
     User student = getCurrentUser();
     List<TopicMember> memberships = topicMemberRepository.findByUserId(student.getId());
 
-    return memberships.stream()
-        .map(TopicMember::getTopic)
-        .distinct()
-        .map(this::mapToResponse)
-        .collect(Collectors.toList());
+    return topicReadModelService.getTopics(
+        memberships.stream()
+            .map(m -> m.getTopic().getId())
+            .distinct()
+            .collect(Collectors.toList()));
   }
 
   // Helper to get current user from SecurityContext
@@ -431,148 +476,4 @@ public class TopicServiceImpl implements TopicService {
         .findByUsername(username)
         .orElseThrow(() -> new RuntimeException("Không tìm thấy người dùng"));
   }
-
-  private TopicResponse mapToResponse(Topic topic) {
-    List<TopicMember> members = topicMemberRepository.findByTopicId(topic.getId());
-
-    TopicMember advisor =
-        members.stream()
-            .filter(m -> m.getRole() == TopicMemberRole.ADVISOR)
-            .findFirst()
-            .orElse(null);
-
-    TopicMember leader =
-        members.stream()
-            .filter(
-                m ->
-                    m.getRole() == TopicMemberRole.LEADER && m.getStatus() == MemberStatus.APPROVED)
-            .findFirst()
-            .orElse(null);
-
-    List<TopicResponse.MemberResponse> pendingMembers =
-        members.stream()
-            .filter(m -> m.getStatus() == MemberStatus.PENDING)
-            .map(
-                m ->
-                    new TopicResponse.MemberResponse(
-                        m.getUser().getId(),
-                        m.getUser().getFullName(),
-                        m.getUser().getEmail(),
-                        m.getUser().getUsername(),
-                        m.getUser().getPhoneNumber(),
-                        m.getUser().getAvatarUrl()))
-            .collect(Collectors.toList());
-
-    List<TopicResponse.MemberResponse> approvedMembers =
-        members.stream()
-            .filter(
-                m ->
-                    m.getStatus() == MemberStatus.APPROVED && m.getUser().getRole() == Role.STUDENT)
-            .map(
-                m ->
-                    new TopicResponse.MemberResponse(
-                        m.getUser().getId(),
-                        m.getUser().getFullName(),
-                        m.getUser().getEmail(),
-                        m.getUser().getUsername(),
-                        m.getUser().getPhoneNumber(),
-                        m.getUser().getAvatarUrl()))
-            .collect(Collectors.toList());
-
-    List<TopicResponse.MemberResponse> rejectedMembers =
-        members.stream()
-            .filter(m -> m.getStatus() == MemberStatus.REJECTED)
-            .map(
-                m ->
-                    new TopicResponse.MemberResponse(
-                        m.getUser().getId(),
-                        m.getUser().getFullName(),
-                        m.getUser().getEmail(),
-                        m.getUser().getUsername(),
-                        m.getUser().getPhoneNumber(),
-                        m.getUser().getAvatarUrl()))
-            .collect(Collectors.toList());
-
-    return TopicResponse.builder()
-        .id(topic.getId())
-        .code(
-            approvedTopicRepository
-                .findByTopicId(topic.getId())
-                .map(vn.edu.husc.researchhub.model.ApprovedTopic::getCode)
-                .orElse(null))
-        .prize(
-            approvedTopicRepository
-                .findByTopicId(topic.getId())
-                .map(vn.edu.husc.researchhub.model.ApprovedTopic::getPrize)
-                .orElse(null))
-        .title(topic.getName())
-        .shortDescription(topic.getDescription()) // Assuming description is short description
-        .objective(topic.getTarget()) // Assuming target is objective
-        .content(topic.getMainContent())
-        .budget(topic.getBudget())
-        .note(topic.getNote())
-        .researchField(
-            approvedTopicRepository
-                .findByTopicId(topic.getId())
-                .map(vn.edu.husc.researchhub.model.ApprovedTopic::getFieldResearch)
-                .orElse(null))
-        .researchType(
-            approvedTopicRepository
-                .findByTopicId(topic.getId())
-                .map(vn.edu.husc.researchhub.model.ApprovedTopic::getTypeResearch)
-                .orElse(null))
-        .status(topic.getStatus())
-        .approvedStatus(
-            approvedTopicRepository
-                .findByTopicId(topic.getId())
-                .map(vn.edu.husc.researchhub.model.ApprovedTopic::getStatus)
-                .orElse(null))
-        .createdAt(topic.getCreatedAt())
-        .sessionStatus(
-            yearSessionRepository
-                .findByAcademicYearIdAndDepartmentId(
-                    topic.getAcademicYear().getId(), topic.getDepartment().getId())
-                .map(vn.edu.husc.researchhub.model.YearSession::getStatus)
-                .orElse(null))
-        .advisorId(advisor != null ? advisor.getUser().getId() : null)
-        .advisorName(advisor != null ? getFullNameWithDegree(advisor.getUser()) : null)
-        .advisorUsername(advisor != null ? advisor.getUser().getUsername() : null)
-        .advisorEmail(advisor != null ? advisor.getUser().getEmail() : null)
-        .advisorPhone(advisor != null ? advisor.getUser().getPhoneNumber() : null)
-        .advisorAvatar(advisor != null ? advisor.getUser().getAvatarUrl() : null)
-        .studentLeaderId(leader != null ? leader.getUser().getId() : null)
-        .studentLeaderName(leader != null ? leader.getUser().getFullName() : null)
-        .studentLeaderEmail(leader != null ? leader.getUser().getEmail() : null)
-        .studentLeaderPhone(leader != null ? leader.getUser().getPhoneNumber() : null)
-        .studentLeaderAvatar(leader != null ? leader.getUser().getAvatarUrl() : null)
-        .pendingMembers(pendingMembers)
-        .approvedMembers(approvedMembers)
-        .rejectedMembers(rejectedMembers)
-        .advisors(
-            members.stream()
-                .filter(
-                    m ->
-                        m.getRole() == TopicMemberRole.ADVISOR
-                            && m.getStatus() == MemberStatus.APPROVED)
-                .map(
-                    m ->
-                        new TopicResponse.MemberResponse(
-                            m.getUser().getId(),
-                            getFullNameWithDegree(m.getUser()),
-                            m.getUser().getEmail(),
-                            m.getUser().getUsername(),
-                            m.getUser().getPhoneNumber(),
-                            m.getUser().getAvatarUrl()))
-                .collect(Collectors.toList()))
-        .build();
-  }
-
-  private String getFullNameWithDegree(User user) {
-    if (user == null) return null;
-    String fullName = user.getFullName();
-    if (user.getAcademicDegree() != null && !user.getAcademicDegree().isEmpty()) {
-      return user.getAcademicDegree() + " " + fullName;
-    }
-    return fullName;
-  }
 }
@@ -0,0 +1,460 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import vn.edu.husc.researchhub.dto.response.ImportJobResponse;
+import vn.edu.husc.researchhub.model.Department;
+import vn.edu.husc.researchhub.model.Role;
+import vn.edu.husc.researchhub.repository.DepartmentRepository;
+import vn.edu.husc.researchhub.repository.UserRepository;
+import vn.edu.husc.researchhub.service.EmailService;
+import vn.edu.husc.researchhub.service.UserImportService;
+import vn.edu.husc.researchhub.service.UserSearchIndexService;
+
+/**
+ * Import chạy nền theo lô: đọc file dạng stream, tra cứu mã người dùng và khoa trong bộ nhớ,
+ * băm mật khẩu song song, ghi bằng JDBC batch (mỗi lô một transaction ngắn), email gửi qua hàng
+ * đợi nền. Dòng bị bỏ qua/lỗi được ghi vào báo cáo CSV.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserImportServiceImpl implements UserImportService {
+
+  // Columns: username, fullName, role, department (id, code or name)
+  private static final int IMPORT_COLUMNS = 4;
+  // Rows hashed and inserted together; also bounds what is held in memory at once
+  private static final int CHUNK_SIZE = 500;
+  // Finished jobs (and their report files) are kept this long
+  private static final long JOB_RETENTION_HOURS = 24;
+
+  private static final String INSERT_SQL =
+      "INSERT INTO `user` (username, password, full_name, role, department_id, created_at,"
+          + " updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String PASSWORD_CHARS =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789!@#$%";
+
+  private final UserRepository userRepository;
+  private final DepartmentRepository departmentRepository;
+  private final PasswordEncoder passwordEncoder;
+  private final JdbcTemplate jdbcTemplate;
+  private final PlatformTransactionManager transactionManager;
+  private final EmailService emailService;
+  private final UserSearchIndexService userSearchIndexService;
+
+  private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+  // Jobs run one at a time; each already uses every core for hashing
+  private final ExecutorService worker =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "user-import");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  // BCrypt is CPU-bound; a dedicated pool keeps it off the common pool used by other streams
+  private final ForkJoinPool hashPool =
+      new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+  private record ImportRow(
+      int rowNumber,
+      String username,
+      String fullName,
+      Role role,
+      Integer departmentId,
+      String rawPassword) {}
+
+  private static final class ImportJob {
+    final String id = UUID.randomUUID().toString();
+    final String fileName;
+    final File source;
+    final File report;
+    final LocalDateTime submittedAt = LocalDateTime.now();
+    final AtomicInteger processed = new AtomicInteger();
+    final AtomicInteger created = new AtomicInteger();
+    final AtomicInteger skipped = new AtomicInteger();
+    final AtomicInteger failed = new AtomicInteger();
+    volatile String status = "QUEUED";
+    volatile String error;
+    volatile LocalDateTime finishedAt;
+
+    ImportJob(String fileName, File source, File report) {
+      this.fileName = fileName;
+      this.source = source;
+      this.report = report;
+    }
+  }
+
+  @Override
+  public ImportJobResponse submit(MultipartFile file) {
+    if (file == null || file.isEmpty()) {
+      throw new RuntimeException("Vui lòng chọn file Excel để import");
+    }
+    purgeExpiredJobs();
+
+    File source = null;
+    try {
+      // The multipart temp file is gone once the request ends, so keep our own copy
+      source = File.createTempFile("user-import-", ".xlsx");
+      file.transferTo(source);
+      File report = File.createTempFile("user-import-report-", ".csv");
+
+      ImportJob job = new ImportJob(file.getOriginalFilename(), source, report);
+      jobs.put(job.id, job);
+      worker.execute(() -> run(job));
+      return toResponse(job);
+    } catch (IOException e) {
+      if (source != null) {
+        source.delete();
+      }
+      throw new RuntimeException("Lỗi khi nhận file Excel: " + e.getMessage());
+    }
+  }
+
+  @Override
+  public ImportJobResponse getJob(String jobId) {
+    return toResponse(findJob(jobId));
+  }
+
+  @Override
+  public Resource getReport(String jobId) {
+    ImportJob job = findJob(jobId);
+    if (job.finishedAt == null) {
+      throw new RuntimeException("Job import chưa hoàn tất");
+    }
+    return new FileSystemResource(job.report);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    worker.shutdownNow();
+    hashPool.shutdown();
+  }
+
+  private void run(ImportJob job) {
+    job.status = "RUNNING";
+    try (ReportWriter report = new ReportWriter(job.report)) {
+      Set<String> knownUsernames = new HashSet<>(userRepository.findAllUsernames());
+      DepartmentLookup departments = new DepartmentLookup(departmentRepository.findAll());
+      List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+
+      try (OPCPackage pkg = OPCPackage.open(job.source, PackageAccess.READ)) {
+        XlsxRowReader.read(
+            pkg,
+            IMPORT_COLUMNS,
+            true,
+            (rowNum, cells) -> {
+              job.processed.incrementAndGet();
+              ImportRow row = toRow(rowNum + 1, cells, knownUsernames, departments, job, report);
+              if (row == null) {
+                return;
+              }
+              chunk.add(row);
+              if (chunk.size() == CHUNK_SIZE) {
+                flushChunk(job, chunk, report);
+              }
+            });
+      }
+      flushChunk(job, chunk, report);
+      job.status = "COMPLETED";
+    } catch (Exception e) {
+      System.err.println("User import job " + job.id + " failed: " + e.getMessage());
+      job.error = e.getMessage();
+      job.status = "FAILED";
+    } finally {
+      job.source.delete();
+      job.finishedAt = LocalDateTime.now();
+    }
+  }
+
+  // Returns null for rows that are skipped or rejected; both are written to the report
+  private ImportRow toRow(
+      int rowNumber,
+      String[] cells,
+      Set<String> knownUsernames,
+      DepartmentLookup departments,
+      ImportJob job,
+      ReportWriter report) {
+    String username = cells[0];
+    if (username == null || username.isEmpty()) {
+      job.skipped.incrementAndGet();
+      report.write(rowNumber, null, "SKIPPED", "Thiếu mã người dùng");
+      return null;
+    }
+    if (knownUsernames.contains(username)) {
+      job.skipped.incrementAndGet();
+      report.write(rowNumber, username, "SKIPPED", "Mã người dùng đã tồn tại");
+      return null;
+    }
+
+    String roleStr = cells[2];
+    Role role;
+    try {
+      role = roleStr != null ? Role.valueOf(roleStr.toUpperCase()) : Role.STUDENT;
+    } catch (IllegalArgumentException e) {
+      job.failed.incrementAndGet();
+      report.write(rowNumber, username, "FAILED", "Vai trò không hợp lệ: " + roleStr);
+      return null;
+    }
+
+    String departmentValue = cells[3];
+    Department department = departments.resolve(departmentValue);
+    if (departmentValue != null && department == null) {
+      job.failed.incrementAndGet();
+      report.write(rowNumber, username, "FAILED", "Không tìm thấy khoa: " + departmentValue);
+      return null;
+    }
+
+    // Reserve the username only for rows that will be inserted; catches duplicates in the file
+    knownUsernames.add(username);
+    String fullName = cells[1];
+    return new ImportRow(
+        rowNumber,
+        username,
+        fullName != null ? fullName : username,
+        role,
+        department != null ? department.getId() : null,
+        generateRandomPassword());
+  }
+
+  private void flushChunk(ImportJob job, List<ImportRow> chunk, ReportWriter report) {
+    if (chunk.isEmpty()) {
+      return;
+    }
+    // Hash before opening the transaction so no connection is held during CPU work
+    List<String> hashes = hashPasswords(chunk);
+    List<ImportRow> rows = new ArrayList<>(chunk);
+    chunk.clear();
+    insertOrBisect(job, rows, hashes, report);
+  }
+
+  // One transaction per chunk; when it fails, the halves are retried separately until the
+  // failing rows are isolated, so one bad row fails alone with its own error
+  private void insertOrBisect(
+      ImportJob job, List<ImportRow> rows, List<String> hashes, ReportWriter report) {
+    try {
+      new TransactionTemplate(transactionManager)
+          .executeWithoutResult(status -> insertChunk(rows, hashes));
+      job.created.addAndGet(rows.size());
+    } catch (RuntimeException e) {
+      if (rows.size() == 1) {
+        job.failed.incrementAndGet();
+        ImportRow row = rows.get(0);
+        report.write(row.rowNumber(), row.username(), "FAILED", "Lỗi khi lưu: " + e.getMessage());
+        return;
+      }
+      int mid = rows.size() / 2;
+      insertOrBisect(job, rows.subList(0, mid), hashes.subList(0, mid), report);
+      insertOrBisect(
+          job, rows.subList(mid, rows.size()), hashes.subList(mid, hashes.size()), report);
+    }
+  }
+
+  private void insertChunk(List<ImportRow> rows, List<String> hashes) {
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    jdbcTemplate.batchUpdate(
+        INSERT_SQL,
+        new BatchPreparedStatementSetter() {
+          @Override
+          public void setValues(PreparedStatement ps, int i) throws SQLException {
+            ImportRow row = rows.get(i);
+            ps.setString(1, row.username());
+            ps.setString(2, hashes.get(i));
+            ps.setString(3, row.fullName());
+            ps.setString(4, row.role().name());
+            if (row.departmentId() != null) {
+              ps.setInt(5, row.departmentId());
+            } else {
+              ps.setNull(5, Types.INTEGER);
+            }
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+          }
+
+          @Override
+          public int getBatchSize() {
+            return rows.size();
+          }
+        });
+
+    // Ids are assigned by the database; read the chunk back once to index it for search
+    List<String> usernames = rows.stream().map(ImportRow::username).collect(Collectors.toList());
+    userRepository.findByUsernameIn(usernames).forEach(userSearchIndexService::index);
+
+    // Send email only for STUDENT and TEACHER; outbox rows commit together with the chunk
+    for (ImportRow row : rows) {
+      if (row.role() == Role.STUDENT || row.role() == Role.TEACHER) {
+        emailService.sendAccountInfo(
+            row.username() + "@husc.edu.vn", row.username(), row.rawPassword());
+      }
+    }
+  }
+
+  private List<String> hashPasswords(List<ImportRow> rows) {
+    try {
+      return hashPool
+          .submit(
+              () ->
+                  rows.parallelStream()
+                      .map(row -> passwordEncoder.encode(row.rawPassword()))
+                      .collect(Collectors.toList()))
+          .get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Import bị gián đoạn");
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Lỗi khi mã hóa mật khẩu: " + e.getCause().getMessage());
+    }
+  }
+
+  private ImportJob findJob(String jobId) {
+    ImportJob job = jobs.get(jobId);
+    if (job == null) {
+      throw new RuntimeException("Không tìm thấy job import: " + jobId);
+    }
+    return job;
+  }
+
+  private void purgeExpiredJobs() {
+    LocalDateTime cutoff = LocalDateTime.now().minusHours(JOB_RETENTION_HOURS);
+    jobs.values()
+        .removeIf(
+            job -> {
+              boolean expired = job.finishedAt != null && job.finishedAt.isBefore(cutoff);
+              if (expired) {
+                job.report.delete();
+              }
+              return expired;
+            });
+  }
+
+  private ImportJobResponse toResponse(ImportJob job) {
+    return ImportJobResponse.builder()
+        .jobId(job.id)
+        .fileName(job.fileName)
+        .status(job.status)
+        .processed(job.processed.get())
+        .created(job.created.get())
+        .skipped(job.skipped.get())
+        .failed(job.failed.get())
+        .error(job.error)
+        .reportAvailable(job.finishedAt != null)
+        .submittedAt(job.submittedAt)
+        .finishedAt(job.finishedAt)
+        .build();
+  }
+
+  private String generateRandomPassword() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 10; i++) {
+      sb.append(PASSWORD_CHARS.charAt(random.nextInt(PASSWORD_CHARS.length())));
+    }
+    return sb.toString();
+  }
+
+  /** Same resolution order as before: numeric id, then code, then name. */
+  private static final class DepartmentLookup {
+    private final Map<Integer, Department> byId = new HashMap<>();
+    private final Map<String, Department> byCode = new HashMap<>();
+    private final Map<String, Department> byName = new HashMap<>();
+
+    DepartmentLookup(List<Department> departments) {
+      for (Department department : departments) {
+        byId.put(department.getId(), department);
+        if (department.getCode() != null) byCode.putIfAbsent(department.getCode(), department);
+        if (department.getName() != null) byName.putIfAbsent(department.getName(), department);
+      }
+    }
+
+    Department resolve(String value) {
+      if (value == null || value.isEmpty()) {
+        return null;
+      }
+      Department department = null;
+      try {
+        department = byId.get(Integer.parseInt(value));
+      } catch (NumberFormatException e) {
+        // Not an ID
+      }
+      if (department == null) {
+        department = byCode.get(value);
+      }
+      if (department == null) {
+        department = byName.get(value);
+      }
+      return department;
+    }
+  }
+
+  /** CSV of skipped/failed rows; UTF-8 with BOM so Excel shows Vietnamese correctly. */
+  private static final class ReportWriter implements Closeable {
+    private final BufferedWriter writer;
+
+    ReportWriter(File file) throws IOException {
+      writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+      writer.write('\uFEFF');
+      writer.write("Dòng,Mã người dùng,Trạng thái,Lý do");
+      writer.newLine();
+    }
+
+    void write(int rowNumber, String username, String status, String reason) {
+      try {
+        writer.write(rowNumber + "," + csv(username) + "," + status + "," + csv(reason));
+        writer.newLine();
+      } catch (IOException e) {
+        throw new java.io.UncheckedIOException(e);
+      }
+    }
+
+    private static String csv(String value) {
+      if (value == null) {
+        return "";
+      }
+      return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    @Override
+    public void close() throws IOException {
+      writer.close();
+    }
+  }
+}
@@ -0,0 +1,224 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import vn.edu.husc.researchhub.dto.response.ChatPartnerResponse;
+import vn.edu.husc.researchhub.model.Role;
+import vn.edu.husc.researchhub.model.User;
+import vn.edu.husc.researchhub.repository.UserRepository;
+import vn.edu.husc.researchhub.service.UserSearchIndexService;
+
+@Service
+@RequiredArgsConstructor
+public class UserSearchIndexServiceImpl implements UserSearchIndexService {
+
+  private static final int GRAM = 3;
+  private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+  private final UserRepository userRepository;
+
+  private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+  private final Map<PartitionKey, Partition> partitions = new ConcurrentHashMap<>();
+
+  private volatile boolean ready = false;
+
+  private record PartitionKey(Integer departmentId, Role role) {}
+
+  // Snapshot of the fields served to search results; text = "username\nfull name", normalized
+  private record Entry(
+      Integer id,
+      String username,
+      String fullName,
+      String avatarUrl,
+      Role role,
+      Integer departmentId,
+      String text) {}
+
+  private static final class Partition {
+    final Set<Integer> ids = ConcurrentHashMap.newKeySet();
+    final Map<String, Set<Integer>> grams = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Nạp toàn bộ người dùng vào chỉ mục khi ứng dụng khởi động xong.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    for (User user : userRepository.findAll()) {
+      putIfAbsent(toEntry(user));
+    }
+    ready = true;
+  }
+
+  @Override
+  public boolean isReady() {
+    return ready;
+  }
+
+  @Override
+  public List<Integer> searchIds(String query, Collection<Role> roles, Integer departmentId) {
+    return search(query, roles, departmentId, null, true).stream()
+        .map(Entry::id)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<ChatPartnerResponse> searchChatPartners(
+      String query, Collection<Role> roles, Integer departmentId, Integer excludeId) {
+    return search(query, roles, departmentId, excludeId, false).stream()
+        .map(
+            e ->
+                ChatPartnerResponse.builder()
+                    .id(e.id())
+                    .fullName(e.fullName())
+                    .username(e.username())
+                    .avatarUrl(e.avatarUrl())
+                    .role(e.role().name())
+                    .build())
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public void index(User user) {
+    Entry entry = toEntry(user);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              put(entry);
+            }
+          });
+    } else {
+      put(entry);
+    }
+  }
+
+  private List<Entry> search(
+      String query,
+      Collection<Role> roles,
+      Integer departmentId,
+      Integer excludeId,
+      boolean newestFirst) {
+    String q = normalize(query).trim();
+    List<Entry> result = new ArrayList<>();
+
+    for (Map.Entry<PartitionKey, Partition> p : partitions.entrySet()) {
+      PartitionKey key = p.getKey();
+      if (roles != null && !roles.contains(key.role())) continue;
+      if (departmentId != null && !departmentId.equals(key.departmentId())) continue;
+
+      for (Integer id : candidates(p.getValue(), q)) {
+        Entry e = entries.get(id);
+        if (e == null || id.equals(excludeId)) continue;
+        // Re-check partition: the entry may have moved since the postings were read
+        if (!key.equals(new PartitionKey(e.departmentId(), e.role()))) continue;
+        if (q.isEmpty() || e.text().contains(q)) {
+          result.add(e);
+        }
+      }
+    }
+
+    Comparator<Entry> byId = Comparator.comparing(Entry::id);
+    result.sort(newestFirst ? byId.reversed() : byId);
+    return result;
+  }
+
+  // Smallest trigram posting list of the query, or the whole partition for short queries
+  private Collection<Integer> candidates(Partition partition, String q) {
+    if (q.length() < GRAM) {
+      return partition.ids;
+    }
+    Collection<Integer> best = null;
+    for (String gram : grams(q)) {
+      Set<Integer> posting = partition.grams.get(gram);
+      if (posting == null) {
+        return Collections.emptySet();
+      }
+      if (best == null || posting.size() < best.size()) {
+        best = posting;
+      }
+    }
+    return best;
+  }
+
+  // Startup load must not overwrite an entry already refreshed by a committed write
+  private synchronized void putIfAbsent(Entry entry) {
+    if (!entries.containsKey(entry.id())) {
+      put(entry);
+    }
+  }
+
+  private synchronized void put(Entry entry) {
+    Entry old = entries.put(entry.id(), entry);
+    if (old != null) {
+      Partition partition = partitions.get(new PartitionKey(old.departmentId(), old.role()));
+      if (partition != null) {
+        partition.ids.remove(old.id());
+        for (String gram : grams(old.text())) {
+          Set<Integer> posting = partition.grams.get(gram);
+          if (posting != null) {
+            posting.remove(old.id());
+            if (posting.isEmpty()) partition.grams.remove(gram);
+          }
+        }
+      }
+    }
+
+    Partition partition =
+        partitions.computeIfAbsent(
+            new PartitionKey(entry.departmentId(), entry.role()), k -> new Partition());
+    for (String gram : grams(entry.text())) {
+      partition.grams.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(entry.id());
+    }
+    partition.ids.add(entry.id());
+  }
+
+  private Entry toEntry(User user) {
+    return new Entry(
+        user.getId(),
+        user.getUsername(),
+        user.getFullName(),
+        user.getListAvatarUrl(),
+        user.getRole(),
+        user.getDepartment() != null ? user.getDepartment().getId() : null,
+        normalize(user.getUsername()) + "\n" + normalize(user.getFullName()));
+  }
+
+  static Set<String> grams(String text) {
+    Set<String> grams = new HashSet<>();
+    for (int i = 0; i + GRAM <= text.length(); i++) {
+      grams.add(text.substring(i, i + GRAM));
+    }
+    return grams;
+  }
+
+  /** Bỏ dấu tiếng Việt (kể cả đ/Đ) và chuyển về chữ thường. */
+  static String normalize(String text) {
+    if (text == null) {
+      return "";
+    }
+    String stripped =
+        COMBINING_MARKS
+            .matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+            .replaceAll("");
+    return stripped.replace('đ', 'd').replace('Đ', 'D').toLowerCase(Locale.ROOT);
+  }
+}
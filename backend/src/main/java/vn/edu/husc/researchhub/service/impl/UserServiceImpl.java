@@ -9,11 +9,11 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import vn.edu.husc.researchhub.dto.request.UserRequest;
 import vn.edu.husc.researchhub.dto.response.ChatPartnerResponse;
+import vn.edu.husc.researchhub.dto.response.CursorPageResponse;
 import vn.edu.husc.researchhub.dto.response.UserResponse;
 import vn.edu.husc.researchhub.model.Department;
 import vn.edu.husc.researchhub.model.Role;
 import vn.edu.husc.researchhub.model.User;
-import vn.edu.husc.researchhub.repository.DepartmentRepository;
 import vn.edu.husc.researchhub.repository.UserRepository;
 import vn.edu.husc.researchhub.service.UserService;
 
@@ -23,19 +23,82 @@ import vn.edu.husc.researchhub.service.UserService;
 public class UserServiceImpl implements UserService {
 
   private final UserRepository userRepository;
-  private final DepartmentRepository departmentRepository;
+  private final vn.edu.husc.researchhub.service.ReferenceDataService referenceDataService;
   private final PasswordEncoder passwordEncoder;
   private final vn.edu.husc.researchhub.service.EmailService emailService;
   private final vn.edu.husc.researchhub.service.FileService fileService;
+  private final vn.edu.husc.researchhub.service.AvatarService avatarService;
+  private final vn.edu.husc.researchhub.service.TopicReadModelService topicReadModelService;
+  private final vn.edu.husc.researchhub.service.UserSearchIndexService userSearchIndexService;
+  private final vn.edu.husc.researchhub.service.ConversationSummaryService conversationSummaryService;
+  private final vn.edu.husc.researchhub.service.TokenRevocationService tokenRevocationService;
 
   @Override
   public Page<UserResponse> getAll(
       String keyword, Role role, Integer departmentId, int page, int size) {
     Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
+    if (keyword != null && !keyword.isBlank() && userSearchIndexService.isReady()) {
+      return searchFromIndex(keyword, role, departmentId, pageable);
+    }
     Page<User> userPage = userRepository.search(keyword, role, departmentId, pageable);
     return userPage.map(this::mapToResponse);
   }
 
+  // Match ids in the in-memory name index, then load only the requested page from the DB
+  private Page<UserResponse> searchFromIndex(
+      String keyword, Role role, Integer departmentId, Pageable pageable) {
+    java.util.List<Integer> ids =
+        userSearchIndexService.searchIds(
+            keyword, role != null ? java.util.List.of(role) : null, departmentId);
+
+    int from = (int) Math.min(pageable.getOffset(), ids.size());
+    int to = Math.min(from + pageable.getPageSize(), ids.size());
+    java.util.List<Integer> pageIds = ids.subList(from, to);
+
+    java.util.Map<Integer, User> users =
+        userRepository.findAllById(pageIds).stream()
+            .collect(java.util.stream.Collectors.toMap(User::getId, u -> u));
+    java.util.List<UserResponse> content =
+        pageIds.stream()
+            .map(users::get)
+            .filter(java.util.Objects::nonNull)
+            .map(this::mapToResponse)
+            .collect(java.util.stream.Collectors.toList());
+
+    return new org.springframework.data.domain.PageImpl<>(content, pageable, ids.size());
+  }
+
+  @Override
+  public CursorPageResponse<UserResponse> getAllByCursor(
+      String keyword,
+      Role role,
+      Integer departmentId,
+      String cursor,
+      int size,
+      boolean includeTotal) {
+    size = KeysetCursor.pageSize(size);
+    KeysetCursor after = KeysetCursor.decode(cursor);
+    java.util.List<User> rows =
+        userRepository.searchAfter(
+            keyword, role, departmentId, after.id(), PageRequest.of(0, size + 1));
+
+    boolean hasNext = rows.size() > size;
+    java.util.List<User> pageRows = hasNext ? rows.subList(0, size) : rows;
+    User last = pageRows.isEmpty() ? null : pageRows.get(pageRows.size() - 1);
+
+    return CursorPageResponse.<UserResponse>builder()
+        .content(
+            pageRows.stream()
+                .map(this::mapToResponse)
+                .collect(java.util.stream.Collectors.toList()))
+        .size(size)
+        .hasNext(hasNext)
+        .nextCursor(hasNext ? KeysetCursor.encode(last.getId()) : null)
+        .totalElements(
+            includeTotal ? userRepository.countSearch(keyword, role, departmentId) : null)
+        .build();
+  }
+
   @Override
   public UserResponse create(UserRequest request) {
     if (userRepository.existsByUsername(request.getUsername())) {
@@ -71,8 +134,8 @@ public class UserServiceImpl implements UserService {
 
     if (request.getDepartmentId() != null) {
       Department department =
-          departmentRepository
-              .findById(request.getDepartmentId())
+          referenceDataService
+              .findDepartment(request.getDepartmentId())
               .orElseThrow(
                   () ->
                       new RuntimeException(
@@ -81,6 +144,7 @@ public class UserServiceImpl implements UserService {
     }
 
     User saved = userRepository.save(user);
+    userSearchIndexService.index(saved);
 
     // Send email only for STUDENT and TEACHER
     if (saved.getRole() == Role.STUDENT || saved.getRole() == Role.TEACHER) {
@@ -117,6 +181,11 @@ public class UserServiceImpl implements UserService {
       throw new RuntimeException("Mã người dùng đã tồn tại: " + request.getUsername());
     }
 
+    // Username and role are carried in the JWT, so existing tokens must not outlive a change
+    boolean identityChanged =
+        !user.getUsername().equals(request.getUsername())
+            || (request.getRole() != null && request.getRole() != user.getRole());
+
     user.setUsername(request.getUsername());
     user.setFullName(request.getFullName());
     if (request.getRole() != null) {
@@ -125,8 +194,8 @@ public class UserServiceImpl implements UserService {
 
     if (request.getDepartmentId() != null) {
       Department department =
-          departmentRepository
-              .findById(request.getDepartmentId())
+          referenceDataService
+              .findDepartment(request.getDepartmentId())
               .orElseThrow(
                   () ->
                       new RuntimeException(
@@ -137,7 +206,12 @@ public class UserServiceImpl implements UserService {
     }
     // Remove the else block that sets department to null to prevent accidental clearing
 
+    if (identityChanged) {
+      tokenRevocationService.revokeAll(user);
+    }
     User saved = userRepository.save(user);
+    topicReadModelService.invalidateUser(saved.getId());
+    userSearchIndexService.index(saved);
     return mapToResponse(saved);
   }
 
@@ -164,6 +238,7 @@ public class UserServiceImpl implements UserService {
 
     String rawPassword = generateRandomPassword();
     user.setPassword(passwordEncoder.encode(rawPassword));
+    tokenRevocationService.revokeAll(user);
 
     userRepository.save(user);
 
@@ -177,99 +252,6 @@ public class UserServiceImpl implements UserService {
     return response;
   }
 
-  @Override
-  public void importUsers(org.springframework.web.multipart.MultipartFile file) {
-    try (java.io.InputStream inputStream = file.getInputStream();
-        org.apache.poi.ss.usermodel.Workbook workbook =
-            new org.apache.poi.xssf.usermodel.XSSFWorkbook(inputStream)) {
-
-      org.apache.poi.ss.usermodel.Sheet sheet = workbook.getSheetAt(0);
-      java.util.Iterator<org.apache.poi.ss.usermodel.Row> rows = sheet.iterator();
-
-      // Skip header
-      if (rows.hasNext()) {
-        rows.next();
-      }
-
-      while (rows.hasNext()) {
-        org.apache.poi.ss.usermodel.Row currentRow = rows.next();
-
-        String username = getCellValue(currentRow.getCell(0));
-        if (username == null || username.isEmpty()) continue;
-
-        if (userRepository.existsByUsername(username)) {
-          continue;
-        }
-
-        String fullName = getCellValue(currentRow.getCell(1));
-        String roleStr = getCellValue(currentRow.getCell(2));
-        String departmentCode = getCellValue(currentRow.getCell(3));
-
-        User user = new User();
-        user.setUsername(username);
-        user.setFullName(fullName != null ? fullName : username);
-
-        try {
-          user.setRole(roleStr != null ? Role.valueOf(roleStr.toUpperCase()) : Role.STUDENT);
-        } catch (IllegalArgumentException e) {
-          user.setRole(Role.STUDENT);
-        }
-
-        String rawPassword = generateRandomPassword();
-        user.setPassword(passwordEncoder.encode(rawPassword));
-
-        if (departmentCode != null && !departmentCode.isEmpty()) {
-          Department department = null;
-          try {
-            Integer deptId = Integer.parseInt(departmentCode);
-            department = departmentRepository.findById(deptId).orElse(null);
-          } catch (NumberFormatException e) {
-            // Not an ID
-          }
-
-          if (department == null) {
-            department = departmentRepository.findByCode(departmentCode).orElse(null);
-          }
-
-          if (department == null) {
-            department = departmentRepository.findByName(departmentCode).orElse(null);
-          }
-
-          if (department != null) {
-            user.setDepartment(department);
-          }
-        }
-
-        userRepository.save(user);
-
-        // Send email only for STUDENT and TEACHER
-        if (user.getRole() == Role.STUDENT || user.getRole() == Role.TEACHER) {
-          String email = username + "@husc.edu.vn";
-          emailService.sendAccountInfo(email, username, rawPassword);
-        }
-      }
-    } catch (java.io.IOException e) {
-      throw new RuntimeException("Lỗi khi xử lý file Excel: " + e.getMessage());
-    }
-  }
-
-  private String getCellValue(org.apache.poi.ss.usermodel.Cell cell) {
-    if (cell == null) return null;
-    switch (cell.getCellType()) {
-      case STRING:
-        return cell.getStringCellValue();
-      case NUMERIC:
-        if (org.apache.poi.ss.usermodel.DateUtil.isCellDateFormatted(cell)) {
-          return cell.getDateCellValue().toString();
-        }
-        return String.valueOf((int) cell.getNumericCellValue());
-      case BOOLEAN:
-        return String.valueOf(cell.getBooleanCellValue());
-      default:
-        return null;
-    }
-  }
-
   private String generateRandomPassword() {
     String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789!@#$%";
     StringBuilder sb = new StringBuilder();
@@ -296,10 +278,12 @@ public class UserServiceImpl implements UserService {
     }
 
     user.setPassword(passwordEncoder.encode(newPassword));
+    tokenRevocationService.revokeAll(user);
     userRepository.save(user);
   }
 
   @Override
+  @org.springframework.transaction.annotation.Transactional
   public UserResponse updateProfile(
       String username,
       vn.edu.husc.researchhub.dto.request.UpdateProfileRequest request,
@@ -337,17 +321,19 @@ public class UserServiceImpl implements UserService {
           request.getAcademicDegree().isEmpty() ? null : request.getAcademicDegree());
 
     if (Boolean.TRUE.equals(request.getDeleteAvatar())) {
-      user.setAvatarUrl(null);
+      avatarService.removeAvatar(user);
     } else if (avatar != null && !avatar.isEmpty()) {
-      String fileUrl = fileService.storeFile(avatar, "avatars");
-      user.setAvatarUrl(fileUrl);
+      replaceAvatar(user, avatar);
     }
 
     User saved = userRepository.save(user);
+    topicReadModelService.invalidateUser(saved.getId());
+    userSearchIndexService.index(saved);
     return mapToResponse(saved);
   }
 
   @Override
+  @org.springframework.transaction.annotation.Transactional
   public String updateAvatar(
       String username, org.springframework.web.multipart.MultipartFile file) {
     User user =
@@ -355,12 +341,57 @@ public class UserServiceImpl implements UserService {
             .findByUsername(username)
             .orElseThrow(() -> new RuntimeException("Không tìm thấy người dùng: " + username));
 
-    String fileUrl = fileService.storeFile(file, "avatars");
+    replaceAvatar(user, file);
+
+    userRepository.save(user);
+    topicReadModelService.invalidateUser(user.getId());
+    userSearchIndexService.index(user);
+
+    return user.getAvatarUrl();
+  }
+
+  private void replaceAvatar(User user, org.springframework.web.multipart.MultipartFile file) {
+    try (java.io.InputStream in = file.getInputStream()) {
+      avatarService.replaceAvatar(user, in);
+    } catch (java.io.IOException e) {
+      throw new RuntimeException("Không đọc được file ảnh", e);
+    }
+  }
+
+  @Override
+  public vn.edu.husc.researchhub.dto.response.PresignedUploadResponse presignAvatarUpload(
+      String username, String fileName, String contentType) {
+    if (contentType == null || !contentType.startsWith("image/")) {
+      throw new RuntimeException("Ảnh đại diện phải là file hình ảnh");
+    }
+    userRepository
+        .findByUsername(username)
+        .orElseThrow(() -> new RuntimeException("Không tìm thấy người dùng: " + username));
+    return fileService.presignUpload("avatars", fileName, contentType);
+  }
+
+  @Override
+  @org.springframework.transaction.annotation.Transactional
+  public String finalizeAvatarUpload(String username, String key) {
+    User user =
+        userRepository
+            .findByUsername(username)
+            .orElseThrow(() -> new RuntimeException("Không tìm thấy người dùng: " + username));
+
+    fileService.confirmUpload(key, "avatars/");
+    // Only the generated variants are kept; the uploaded original is dropped once processed
+    try (java.io.InputStream in = fileService.openObject(key)) {
+      avatarService.replaceAvatar(user, in);
+    } catch (java.io.IOException e) {
+      throw new RuntimeException("Không đọc được file ảnh", e);
+    }
+    fileService.deleteObject(key);
 
-    user.setAvatarUrl(fileUrl);
     userRepository.save(user);
+    topicReadModelService.invalidateUser(user.getId());
+    userSearchIndexService.index(user);
 
-    return fileUrl;
+    return user.getAvatarUrl();
   }
 
   @Override
@@ -394,6 +425,8 @@ public class UserServiceImpl implements UserService {
     response.setSex(user.getSex());
     response.setBornDate(user.getBornDate() != null ? user.getBornDate().toString() : null);
     response.setAvatarUrl(user.getAvatarUrl());
+    response.setAvatarSmallUrl(user.getAvatarSmallUrl());
+    response.setAvatarTinyUrl(user.getAvatarTinyUrl());
     response.setCourse(user.getCourse());
     response.setClassName(user.getClassName());
     response.setAcademicDegree(user.getAcademicDegree());
@@ -415,6 +448,7 @@ public class UserServiceImpl implements UserService {
 
     String rawPassword = generateRandomPassword();
     user.setPassword(passwordEncoder.encode(rawPassword));
+    tokenRevocationService.revokeAll(user);
     userRepository.save(user);
 
     String email = user.getUsername() + "@husc.edu.vn";
@@ -430,14 +464,14 @@ public class UserServiceImpl implements UserService {
     User currentUser = userRepository.findByUsername(username)
         .orElseThrow(() -> new RuntimeException("User not found"));
 
-    java.util.List<User> partners = new java.util.ArrayList<>();
+    java.util.List<ChatPartnerResponse> partners = new java.util.ArrayList<>();
     String safeQuery = (query == null) ? "" : query.toLowerCase().trim();
 
     // Logic based on Role
     if (currentUser.getRole() == Role.STUDENT) {
       // Students can chat with: Students and Lecturers in SAME Department
       if (currentUser.getDepartment() != null) {
-        partners.addAll(userRepository.searchChatPartners(
+        partners.addAll(searchChatPartners(
             currentUser.getDepartment().getId(),
             java.util.List.of(Role.STUDENT, Role.TEACHER),
             safeQuery,
@@ -447,7 +481,7 @@ public class UserServiceImpl implements UserService {
     } else if (currentUser.getRole() == Role.TEACHER) {
       // Lecturers can chat with: Students and Assistants in SAME Department
       if (currentUser.getDepartment() != null) {
-        partners.addAll(userRepository.searchChatPartners(
+        partners.addAll(searchChatPartners(
             currentUser.getDepartment().getId(),
             java.util.List.of(Role.STUDENT, Role.ASSISTANT),
             safeQuery,
@@ -458,7 +492,7 @@ public class UserServiceImpl implements UserService {
       // Assistants can chat with:
       // 1. Lecturers in SAME Department
       if (currentUser.getDepartment() != null) {
-        partners.addAll(userRepository.searchChatPartners(
+        partners.addAll(searchChatPartners(
             currentUser.getDepartment().getId(),
             java.util.List.of(Role.TEACHER),
             safeQuery,
@@ -466,28 +500,44 @@ public class UserServiceImpl implements UserService {
         ));
       }
       // 2. Admins (Global)
-      partners.addAll(userRepository.searchGlobalChatPartners(
+      partners.addAll(searchChatPartners(
+          null,
           java.util.List.of(Role.ADMIN),
           safeQuery,
           currentUser.getId()
       ));
     } else if (currentUser.getRole() == Role.ADMIN) {
       // Admins can chat with: Assistants (Global)
-      partners.addAll(userRepository.searchGlobalChatPartners(
+      partners.addAll(searchChatPartners(
+          null,
           java.util.List.of(Role.ASSISTANT),
           safeQuery,
           currentUser.getId()
       ));
     }
 
-    // Convert to DTO
-    // Note: We are ignoring "last message" and "unread count" for now in this search method
-    // In a real app, this would be computed or fetched via a separate efficient query
-    return partners.stream().map(u -> ChatPartnerResponse.builder()
+    // Last message and unread count come from the conversation summary (one indexed query)
+    conversationSummaryService.attachSummaries(currentUser.getId(), partners);
+    return partners;
+  }
+
+  // departmentId == null searches globally.
+  // Served from the in-memory name index once loaded (accent-insensitive), DB query until then.
+  private java.util.List<ChatPartnerResponse> searchChatPartners(
+      Integer departmentId, java.util.List<Role> roles, String query, Integer excludeId) {
+    if (userSearchIndexService.isReady()) {
+      return userSearchIndexService.searchChatPartners(query, roles, departmentId, excludeId);
+    }
+
+    java.util.List<User> users = departmentId != null
+        ? userRepository.searchChatPartners(departmentId, roles, query, excludeId)
+        : userRepository.searchGlobalChatPartners(roles, query, excludeId);
+
+    return users.stream().map(u -> ChatPartnerResponse.builder()
         .id(u.getId())
         .fullName(u.getFullName())
         .username(u.getUsername())
-        .avatarUrl(u.getAvatarUrl())
+        .avatarUrl(u.getListAvatarUrl())
         .role(u.getRole().name())
         .build()
   ).collect(java.util.stream.Collectors.toList());
@@ -0,0 +1,112 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * Đọc sheet đầu tiên của file .xlsx theo kiểu SAX: mỗi dòng được đưa cho consumer rồi bỏ đi,
+ * nên bộ nhớ không tăng theo số dòng (khác với XSSFWorkbook dựng toàn bộ sheet trong heap).
+ * Giá trị ô là chuỗi đã định dạng như Excel hiển thị; ô trống là null.
+ */
+final class XlsxRowReader {
+
+  private XlsxRowReader() {}
+
+  /** Nhận một dòng; rowNum là chỉ số dòng trong sheet (bắt đầu từ 0). */
+  @FunctionalInterface
+  interface RowHandler {
+    void handle(int rowNum, String[] cells);
+  }
+
+  /**
+   * @param columns số cột cần đọc (các cột phía sau bị bỏ qua)
+   * @param skipHeader bỏ qua dòng có dữ liệu đầu tiên
+   */
+  static void read(OPCPackage pkg, int columns, boolean skipHeader, RowHandler rowHandler)
+      throws IOException {
+    try {
+      XSSFReader reader = new XSSFReader(pkg);
+      ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+      XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+      if (!sheets.hasNext()) {
+        return;
+      }
+
+      try (InputStream sheet = sheets.next()) {
+        XMLReader parser = XMLHelper.newXMLReader();
+        parser.setContentHandler(
+            new XSSFSheetXMLHandler(
+                reader.getStylesTable(),
+                null,
+                strings,
+                new RowCollector(columns, skipHeader, rowHandler),
+                new DataFormatter(),
+                false));
+        parser.parse(new InputSource(sheet));
+      }
+    } catch (OpenXML4JException | SAXException | javax.xml.parsers.ParserConfigurationException e) {
+      throw new IOException("File Excel không hợp lệ: " + e.getMessage(), e);
+    }
+  }
+
+  private static final class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+    private final int columns;
+    private final RowHandler rowHandler;
+    private boolean skipNext;
+    private String[] current;
+    private boolean hasValue;
+    private int lastColumn;
+
+    RowCollector(int columns, boolean skipHeader, RowHandler rowHandler) {
+      this.columns = columns;
+      this.skipNext = skipHeader;
+      this.rowHandler = rowHandler;
+    }
+
+    @Override
+    public void startRow(int rowNum) {
+      current = new String[columns];
+      hasValue = false;
+      lastColumn = -1;
+    }
+
+    @Override
+    public void endRow(int rowNum) {
+      // Blank rows are not returned, matching Sheet.iterator()
+      if (!hasValue) {
+        return;
+      }
+      if (skipNext) {
+        skipNext = false;
+        return;
+      }
+      rowHandler.handle(rowNum, current);
+    }
+
+    @Override
+    public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+      int col = cellReference != null ? new CellReference(cellReference).getCol() : lastColumn + 1;
+      lastColumn = col;
+      if (col < 0 || col >= columns || formattedValue == null) {
+        return;
+      }
+      String value = formattedValue.trim();
+      if (!value.isEmpty()) {
+        current[col] = value;
+        hasValue = true;
+      }
+    }
+  }
+}
@@ -12,8 +12,6 @@ import vn.edu.husc.researchhub.model.AcademicYear;
 import vn.edu.husc.researchhub.model.Department;
 import vn.edu.husc.researchhub.model.YearSession;
 import vn.edu.husc.researchhub.model.enums.YearSessionStatus;
-import vn.edu.husc.researchhub.repository.AcademicYearRepository;
-import vn.edu.husc.researchhub.repository.DepartmentRepository;
 import vn.edu.husc.researchhub.repository.YearSessionRepository;
 import vn.edu.husc.researchhub.service.YearSessionService;
 
@@ -22,10 +20,10 @@ import vn.edu.husc.researchhub.service.YearSessionService;
 public class YearSessionServiceImpl implements YearSessionService {
 
   private final YearSessionRepository yearSessionRepository;
-  private final AcademicYearRepository academicYearRepository;
-  private final DepartmentRepository departmentRepository;
   private final vn.edu.husc.researchhub.repository.ApprovedTopicRepository approvedTopicRepository;
   private final vn.edu.husc.researchhub.repository.TopicRepository topicRepository;
+  private final vn.edu.husc.researchhub.service.TopicReadModelService topicReadModelService;
+  private final vn.edu.husc.researchhub.service.ReferenceDataService referenceDataService;
 
   @Override
   public Page<YearSessionResponse> getAll(
@@ -48,13 +46,13 @@ public class YearSessionServiceImpl implements YearSessionService {
     }
 
     AcademicYear academicYear =
-        academicYearRepository
-            .findById(request.getAcademicYearId())
+        referenceDataService
+            .findAcademicYear(request.getAcademicYearId())
             .orElseThrow(() -> new RuntimeException("Không tìm thấy năm học"));
 
     Department department =
-        departmentRepository
-            .findById(request.getDepartmentId())
+        referenceDataService
+            .findDepartment(request.getDepartmentId())
             .orElseThrow(() -> new RuntimeException("Không tìm thấy khoa"));
 
     YearSession session = new YearSession();
@@ -64,7 +62,10 @@ public class YearSessionServiceImpl implements YearSessionService {
     session.setStatus(
         request.getStatus() != null ? request.getStatus() : YearSessionStatus.ON_REGISTRATION);
 
-    return mapToResponse(yearSessionRepository.save(session));
+    YearSession saved = yearSessionRepository.save(session);
+    topicReadModelService.invalidateSession(academicYear.getId(), department.getId());
+    referenceDataService.evictYearSession(academicYear.getId(), department.getId());
+    return mapToResponse(saved);
   }
 
   @Override
@@ -130,15 +131,25 @@ public class YearSessionServiceImpl implements YearSessionService {
     // Note: We typically don't allow changing Academic Year or Department after creation
     // but if needed, logic can be added here. For now, only status update is requested.
 
-    return mapToResponse(yearSessionRepository.save(session));
+    YearSession saved = yearSessionRepository.save(session);
+    topicReadModelService.invalidateSession(
+        session.getAcademicYear().getId(), session.getDepartment().getId());
+    referenceDataService.evictYearSession(
+        session.getAcademicYear().getId(), session.getDepartment().getId());
+    return mapToResponse(saved);
   }
 
   @Override
   public void delete(Integer id) {
-    if (!yearSessionRepository.existsById(id)) {
-      throw new RuntimeException("Không tìm thấy phiên năm học");
-    }
-    yearSessionRepository.deleteById(id);
+    YearSession session =
+        yearSessionRepository
+            .findById(id)
+            .orElseThrow(() -> new RuntimeException("Không tìm thấy phiên năm học"));
+    yearSessionRepository.delete(session);
+    topicReadModelService.invalidateSession(
+        session.getAcademicYear().getId(), session.getDepartment().getId());
+    referenceDataService.evictYearSession(
+        session.getAcademicYear().getId(), session.getDepartment().getId());
   }
 
   private YearSessionResponse mapToResponse(YearSession session) {
@@ -0,0 +1,109 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimiterServiceImplTest {
+
+  private static final long TARGET_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+  @Test
+  void rejectsOnceTheLimitIsInFlight() {
+    ConcurrencyLimiterServiceImpl.GroupLimiter limiter = limiter(1, 10, 2, 0.5);
+
+    assertTrue(limiter.tryAcquire());
+    assertTrue(limiter.tryAcquire());
+    assertFalse(limiter.tryAcquire());
+
+    limiter.release(FAST);
+    assertTrue(limiter.tryAcquire());
+    assertEquals(1L, limiter.stats().get("rejected"));
+  }
+
+  @Test
+  void slowCompletionBacksOffMultiplicatively() {
+    ConcurrencyLimiterServiceImpl.GroupLimiter limiter = limiter(2, 20, 16, 0.5);
+
+    limiter.tryAcquire();
+    limiter.release(SLOW);
+    assertEquals(8, limit(limiter));
+
+    limiter.tryAcquire();
+    limiter.release(SLOW);
+    limiter.tryAcquire();
+    limiter.release(SLOW);
+    limiter.tryAcquire();
+    limiter.release(SLOW);
+    // Never below minLimit
+    assertEquals(2, limit(limiter));
+    assertEquals(4L, limiter.stats().get("slow"));
+  }
+
+  @Test
+  void fastCompletionsGrowTheLimitByAboutOnePerRoundWhenSaturated() {
+    ConcurrencyLimiterServiceImpl.GroupLimiter limiter = limiter(1, 20, 4, 0.5);
+
+    // One round: fill the limit, then complete everything quickly
+    for (int i = 0; i < 4; i++) {
+      assertTrue(limiter.tryAcquire());
+    }
+    for (int i = 0; i < 4; i++) {
+      limiter.release(FAST);
+    }
+
+    // Releases with at least half the limit in flight count as busy (+1/limit each)
+    assertEquals(4, limit(limiter));
+    for (int i = 0; i < 4; i++) {
+      limiter.tryAcquire();
+    }
+    for (int i = 0; i < 4; i++) {
+      limiter.release(FAST);
+    }
+    assertEquals(5, limit(limiter));
+  }
+
+  @Test
+  void idleGroupDoesNotDriftUpwards() {
+    ConcurrencyLimiterServiceImpl.GroupLimiter limiter = limiter(1, 20, 10, 0.5);
+
+    for (int i = 0; i < 1000; i++) {
+      limiter.tryAcquire();
+      limiter.release(FAST);
+    }
+
+    assertEquals(10, limit(limiter));
+  }
+
+  @Test
+  void growthIsCappedAtMaxLimit() {
+    ConcurrencyLimiterServiceImpl.GroupLimiter limiter = limiter(1, 3, 3, 0.5);
+
+    for (int round = 0; round < 100; round++) {
+      while (limiter.tryAcquire()) {
+        // fill
+      }
+      for (int i = 0; i < 3; i++) {
+        limiter.release(FAST);
+      }
+    }
+
+    assertEquals(3, limit(limiter));
+  }
+
+  private static ConcurrencyLimiterServiceImpl.GroupLimiter limiter(
+      int minLimit, int maxLimit, int initialLimit, double backoffRatio) {
+    return new ConcurrencyLimiterServiceImpl.GroupLimiter(
+        List.of("/api/**"), minLimit, maxLimit, initialLimit, TARGET_NANOS, backoffRatio);
+  }
+
+  private static int limit(ConcurrencyLimiterServiceImpl.GroupLimiter limiter) {
+    return (Integer) limiter.stats().get("limit");
+  }
+}
@@ -0,0 +1,74 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+import vn.edu.husc.researchhub.exception.BadRequestException;
+
+class KeysetCursorTest {
+
+  @Test
+  void roundTripsTimedCursor() {
+    LocalDateTime createdAt = LocalDateTime.of(2024, 3, 15, 9, 30, 12, 123_456_000);
+
+    KeysetCursor decoded = KeysetCursor.decodeTimed(KeysetCursor.encode(createdAt, 42));
+
+    assertEquals(createdAt, decoded.createdAt());
+    assertEquals(42, decoded.id());
+  }
+
+  @Test
+  void roundTripsIdOnlyCursor() {
+    KeysetCursor decoded = KeysetCursor.decode(KeysetCursor.encode(7));
+
+    assertNull(decoded.createdAt());
+    assertEquals(7, decoded.id());
+  }
+
+  @Test
+  void encodesUrlSafeWithoutPadding() {
+    String cursor = KeysetCursor.encode(LocalDateTime.of(2024, 1, 1, 0, 0), 1);
+
+    assertEquals(-1, cursor.indexOf('='));
+    assertEquals(-1, cursor.indexOf('+'));
+    assertEquals(-1, cursor.indexOf('/'));
+  }
+
+  @Test
+  void emptyCursorMeansFirstPage() {
+    assertEquals(new KeysetCursor(null, null), KeysetCursor.decode(null));
+    assertEquals(new KeysetCursor(null, null), KeysetCursor.decodeTimed(""));
+  }
+
+  @Test
+  void rejectsMalformedCursor() {
+    assertThrows(BadRequestException.class, () -> KeysetCursor.decode("%%%"));
+    assertThrows(BadRequestException.class, () -> KeysetCursor.decode(raw("abc")));
+    assertThrows(BadRequestException.class, () -> KeysetCursor.decode(raw("not-a-date|5")));
+  }
+
+  @Test
+  void timedDecodeRejectsCursorWithoutCreatedAt() {
+    assertThrows(BadRequestException.class, () -> KeysetCursor.decodeTimed(raw("|5")));
+    assertThrows(
+        BadRequestException.class, () -> KeysetCursor.decodeTimed(KeysetCursor.encode(5)));
+  }
+
+  @Test
+  void clampsPageSize() {
+    assertEquals(1, KeysetCursor.pageSize(0));
+    assertEquals(20, KeysetCursor.pageSize(20));
+    assertEquals(KeysetCursor.MAX_PAGE_SIZE, KeysetCursor.pageSize(10_000));
+  }
+
+  private static String raw(String value) {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,88 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import vn.edu.husc.researchhub.exception.TooManyRequestsException;
+
+class LoginThrottleServiceImplTest {
+
+  private static final int MAX_ENTRIES = 1000;
+  private static final long INTERVAL = TimeUnit.SECONDS.toNanos(10);
+  private static final long NOW = TimeUnit.HOURS.toNanos(1);
+
+  private final LoginThrottleServiceImpl throttle =
+      new LoginThrottleServiceImpl(MAX_ENTRIES, 5, 12, 20, 3, 3, 600, 10, 60);
+
+  @Test
+  void allowsBurstThenReportsTimeUntilNextToken() {
+    LoginThrottleServiceImpl.Rate rate = new LoginThrottleServiceImpl.Rate("t:", 3, 10, false);
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals(0L, throttle.tryConsume(rate, "alice", NOW));
+    }
+    assertEquals(INTERVAL, throttle.tryConsume(rate, "alice", NOW));
+    // A rejected attempt does not take a token
+    assertEquals(INTERVAL - 1, throttle.tryConsume(rate, "alice", NOW + 1));
+  }
+
+  @Test
+  void refillsOneTokenPerInterval() {
+    LoginThrottleServiceImpl.Rate rate = new LoginThrottleServiceImpl.Rate("t:", 2, 10, false);
+    throttle.tryConsume(rate, "bob", NOW);
+    throttle.tryConsume(rate, "bob", NOW);
+
+    assertEquals(0L, throttle.tryConsume(rate, "bob", NOW + INTERVAL));
+    assertTrue(throttle.tryConsume(rate, "bob", NOW + INTERVAL) > 0);
+    // Idle long enough to be full again, but never more than the burst
+    assertEquals(0L, throttle.tryConsume(rate, "bob", NOW + 100 * INTERVAL));
+    assertEquals(0L, throttle.tryConsume(rate, "bob", NOW + 100 * INTERVAL));
+    assertTrue(throttle.tryConsume(rate, "bob", NOW + 100 * INTERVAL) > 0);
+  }
+
+  @Test
+  void keysAndScopesAreIndependent() {
+    LoginThrottleServiceImpl.Rate user = new LoginThrottleServiceImpl.Rate("u:", 1, 10, false);
+    LoginThrottleServiceImpl.Rate ip = new LoginThrottleServiceImpl.Rate("i:", 1, 10, true);
+
+    assertEquals(0L, throttle.tryConsume(user, "carol", NOW));
+    assertEquals(0L, throttle.tryConsume(user, "dave", NOW));
+    assertEquals(0L, throttle.tryConsume(ip, "carol", NOW));
+    assertTrue(throttle.tryConsume(user, "carol", NOW) > 0);
+  }
+
+  @Test
+  void fullTableSkipsNewUsernamesButSharesOneBucketForNewIps() {
+    LoginThrottleServiceImpl.Rate user = new LoginThrottleServiceImpl.Rate("u:", 1, 600, false);
+    LoginThrottleServiceImpl.Rate ip = new LoginThrottleServiceImpl.Rate("i:", 1, 600, true);
+    for (int i = 0; i < MAX_ENTRIES; i++) {
+      throttle.tryConsume(user, "sprayed" + i, NOW);
+    }
+
+    // New usernames are not tracked at all, so they are never locked out by the spray
+    for (int i = 0; i < 10; i++) {
+      assertEquals(0L, throttle.tryConsume(user, "legit", NOW));
+      assertEquals(0L, throttle.tryConsume(user, "other" + i, NOW));
+    }
+    // New IPs share one overflow bucket
+    assertEquals(0L, throttle.tryConsume(ip, "10.0.0.1", NOW));
+    assertTrue(throttle.tryConsume(ip, "10.0.0.2", NOW) > 0);
+  }
+
+  @Test
+  void checkThrowsWithRetryAfterRoundedUpToSeconds() {
+    LoginThrottleServiceImpl.Rate ip = new LoginThrottleServiceImpl.Rate("i:", 10, 1, true);
+    LoginThrottleServiceImpl.Rate user = new LoginThrottleServiceImpl.Rate("u:", 1, 10, false);
+    throttle.check(ip, "10.0.0.9", user, "Erin", NOW);
+
+    TooManyRequestsException e =
+        assertThrows(
+            TooManyRequestsException.class,
+            () -> throttle.check(ip, "10.0.0.9", user, " erin ", NOW + 1));
+    // Usernames are normalized, and 10s minus 1ns rounds up to 10s
+    assertEquals(10L, e.getRetryAfterSeconds());
+  }
+}
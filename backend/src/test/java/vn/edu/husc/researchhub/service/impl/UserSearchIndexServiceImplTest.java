@@ -0,0 +1,60 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.text.Normalizer;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class UserSearchIndexServiceImplTest {
+
+  @Test
+  void normalizeStripsVietnameseDiacritics() {
+    assertEquals("nguyen van an", UserSearchIndexServiceImpl.normalize("Nguyễn Văn Ân"));
+    assertEquals("tran thi hoa", UserSearchIndexServiceImpl.normalize("TRẦN THỊ HÒA"));
+  }
+
+  @Test
+  void normalizeMapsDStrokeToD() {
+    assertEquals("do duc dung", UserSearchIndexServiceImpl.normalize("Đỗ Đức Dũng"));
+    assertEquals("dang", UserSearchIndexServiceImpl.normalize("đăng"));
+  }
+
+  @Test
+  void normalizeHandlesPrecomposedAndDecomposedInput() {
+    String precomposed = "Phạm";
+    String decomposed = Normalizer.normalize(precomposed, Normalizer.Form.NFD);
+
+    assertEquals(
+        UserSearchIndexServiceImpl.normalize(precomposed),
+        UserSearchIndexServiceImpl.normalize(decomposed));
+  }
+
+  @Test
+  void normalizeTreatsNullAsEmpty() {
+    assertEquals("", UserSearchIndexServiceImpl.normalize(null));
+  }
+
+  @Test
+  void gramsAreDistinctOverlappingTrigrams() {
+    assertEquals(Set.of("abc", "bcd"), UserSearchIndexServiceImpl.grams("abcd"));
+    assertEquals(Set.of("aaa"), UserSearchIndexServiceImpl.grams("aaaaa"));
+    assertTrue(UserSearchIndexServiceImpl.grams("ab").isEmpty());
+  }
+
+  @Test
+  void queryWithDStrokeMatchesIndexedGrams() {
+    Set<String> indexed =
+        UserSearchIndexServiceImpl.grams(UserSearchIndexServiceImpl.normalize("Đặng Minh"));
+
+    for (String gram :
+        UserSearchIndexServiceImpl.grams(UserSearchIndexServiceImpl.normalize("dang"))) {
+      assertTrue(indexed.contains(gram), gram);
+    }
+    for (String gram :
+        UserSearchIndexServiceImpl.grams(UserSearchIndexServiceImpl.normalize("ĐẶNG"))) {
+      assertTrue(indexed.contains(gram), gram);
+    }
+  }
+}
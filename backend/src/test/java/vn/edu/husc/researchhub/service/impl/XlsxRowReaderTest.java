@@ -0,0 +1,128 @@
+package vn.edu.husc.researchhub.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+class XlsxRowReaderTest {
+
+  @Test
+  void skipsHeaderAndBlankRows() throws Exception {
+    byte[] xlsx =
+        workbook(
+            sheet -> {
+              cells(sheet.createRow(0), "Mã", "Họ tên", "Email");
+              cells(sheet.createRow(1), "SV01", "Nguyễn Văn A", "a@husc.edu.vn");
+              sheet.createRow(2).createCell(0).setCellValue("   ");
+              cells(sheet.createRow(4), "SV02", "Trần Thị B", "b@husc.edu.vn");
+            });
+
+    List<Integer> rowNums = new ArrayList<>();
+    List<String[]> rows = new ArrayList<>();
+    read(xlsx, 3, true, rowNums, rows);
+
+    assertEquals(List.of(1, 4), rowNums);
+    assertArrayEquals(new String[] {"SV01", "Nguyễn Văn A", "a@husc.edu.vn"}, rows.get(0));
+    assertArrayEquals(new String[] {"SV02", "Trần Thị B", "b@husc.edu.vn"}, rows.get(1));
+  }
+
+  @Test
+  void keepsHeaderWhenNotSkipped() throws Exception {
+    byte[] xlsx = workbook(sheet -> cells(sheet.createRow(0), "Mã", "Họ tên"));
+
+    List<String[]> rows = new ArrayList<>();
+    read(xlsx, 2, false, new ArrayList<>(), rows);
+
+    assertEquals(1, rows.size());
+    assertArrayEquals(new String[] {"Mã", "Họ tên"}, rows.get(0));
+  }
+
+  @Test
+  void mapsSparseCellsToTheirColumnsAndTrimsValues() throws Exception {
+    byte[] xlsx =
+        workbook(
+            sheet -> {
+              Row row = sheet.createRow(0);
+              row.createCell(0).setCellValue("  SV03 ");
+              row.createCell(2).setCellValue("c@husc.edu.vn");
+              row.createCell(5).setCellValue("ignored");
+            });
+
+    List<String[]> rows = new ArrayList<>();
+    read(xlsx, 3, false, new ArrayList<>(), rows);
+
+    assertArrayEquals(new String[] {"SV03", null, "c@husc.edu.vn"}, rows.get(0));
+  }
+
+  @Test
+  void formatsNumericCellsAsDisplayed() throws Exception {
+    byte[] xlsx =
+        workbook(
+            sheet -> {
+              Row row = sheet.createRow(0);
+              row.createCell(0).setCellValue(20231234);
+              row.createCell(1).setCellValue(true);
+            });
+
+    List<String[]> rows = new ArrayList<>();
+    read(xlsx, 2, false, new ArrayList<>(), rows);
+
+    assertArrayEquals(new String[] {"20231234", "TRUE"}, rows.get(0));
+  }
+
+  @Test
+  void rejectsNonWorkbookPackages() {
+    assertThrows(
+        Exception.class,
+        () -> {
+          try (OPCPackage pkg = OPCPackage.open(new ByteArrayInputStream(new byte[] {1, 2, 3}))) {
+            XlsxRowReader.read(pkg, 1, false, (rowNum, cells) -> {});
+          }
+        });
+  }
+
+  private static void read(
+      byte[] xlsx, int columns, boolean skipHeader, List<Integer> rowNums, List<String[]> rows)
+      throws Exception {
+    try (OPCPackage pkg = OPCPackage.open(new ByteArrayInputStream(xlsx))) {
+      XlsxRowReader.read(
+          pkg,
+          columns,
+          skipHeader,
+          (rowNum, cells) -> {
+            rowNums.add(rowNum);
+            rows.add(cells);
+          });
+    }
+  }
+
+  private static void cells(Row row, String... values) {
+    for (int i = 0; i < values.length; i++) {
+      row.createCell(i).setCellValue(values[i]);
+    }
+  }
+
+  private interface SheetWriter {
+    void write(Sheet sheet);
+  }
+
+  private static byte[] workbook(SheetWriter writer) throws IOException {
+    try (XSSFWorkbook workbook = new XSSFWorkbook();
+        ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+      writer.write(workbook.createSheet("Users"));
+      workbook.write(out);
+      return out.toByteArray();
+    }
+  }
+}
@@ -140,6 +140,21 @@ export default function UsersPage() {
     document.getElementById("file-upload")?.click();
   };
 
+  const downloadImportReport = async (jobId: string) => {
+    try {
+      const blob = await userService.getImportReport(jobId);
+      const url = URL.createObjectURL(blob);
+      const link = document.createElement("a");
+      link.href = url;
+      link.download = `import-${jobId}.csv`;
+      link.click();
+      URL.revokeObjectURL(url);
+    } catch (error) {
+      console.error("Failed to download import report", error);
+      toast.error("Không thể tải báo cáo import");
+    }
+  };
+
   const handleFileChange = async (
     event: React.ChangeEvent<HTMLInputElement>,
   ) => {
@@ -147,10 +162,31 @@ export default function UsersPage() {
     if (!file) return;
 
     try {
-      toast.info("Đang xử lý import...");
-      await userService.importUsers(file);
+      const progressToast = toast.loading("Đang xử lý import...");
+      const job = await userService.importUsers(file, (progress) => {
+        toast.loading(`Đang xử lý import... (${progress.processed} dòng)`, {
+          id: progressToast,
+        });
+      });
+      toast.dismiss(progressToast);
 
-      toast.success("Import người dùng thành công.");
+      if (job.status === "FAILED") {
+        toast.error(job.error || "Có lỗi xảy ra khi import dữ liệu");
+      } else if (job.skipped > 0 || job.failed > 0) {
+        toast.warning(
+          `Đã tạo ${job.created} người dùng, bỏ qua ${job.skipped}, lỗi ${job.failed}.`,
+          job.reportAvailable
+            ? {
+                action: {
+                  label: "Tải báo cáo",
+                  onClick: () => downloadImportReport(job.jobId),
+                },
+              }
+            : undefined,
+        );
+      } else {
+        toast.success(`Import thành công ${job.created} người dùng.`);
+      }
 
       const deptId =
         departmentFilter !== "0" ? parseInt(departmentFilter) : undefined;
@@ -2,11 +2,14 @@ import api from "@/lib/api";
 import { PageResponse } from "@/types/common";
 import {
   CreateUserRequest,
+  ImportJob,
   UpdateUserRequest,
   User,
   UserRole,
 } from "@/features/users/types";
 
+const IMPORT_POLL_INTERVAL_MS = 1500;
+
 export const userService = {
   /**
    * Lấy danh sách Người dùng (Admin).
@@ -56,15 +59,53 @@ export const userService = {
 
   /**
    * Import người dùng từ file Excel.
+   * Server xử lý nền (202): hàm này theo dõi job cho tới khi kết thúc
+   * và trả về kết quả cuối cùng (COMPLETED hoặc FAILED).
    */
-  importUsers: async (file: File): Promise<void> => {
+  importUsers: async (
+    file: File,
+    onProgress?: (job: ImportJob) => void,
+  ): Promise<ImportJob> => {
     const formData = new FormData();
     formData.append("file", file);
-    await api.post("/admin/users/import", formData, {
-      headers: {
-        "Content-Type": "multipart/form-data",
+    const response = await api.post<ImportJob>(
+      "/admin/users/import",
+      formData,
+      {
+        headers: {
+          "Content-Type": "multipart/form-data",
+        },
       },
-    });
+    );
+
+    let job = response.data;
+    while (job.status === "QUEUED" || job.status === "RUNNING") {
+      onProgress?.(job);
+      await new Promise((resolve) =>
+        setTimeout(resolve, IMPORT_POLL_INTERVAL_MS),
+      );
+      job = await userService.getImportJob(job.jobId);
+    }
+    return job;
+  },
+
+  /**
+   * Tiến độ job import.
+   */
+  getImportJob: async (jobId: string): Promise<ImportJob> => {
+    const response = await api.get<ImportJob>(`/admin/users/import/${jobId}`);
+    return response.data;
+  },
+
+  /**
+   * Tải báo cáo CSV các dòng bị bỏ qua/lỗi của job import.
+   */
+  getImportReport: async (jobId: string): Promise<Blob> => {
+    const response = await api.get<Blob>(
+      `/admin/users/import/${jobId}/report`,
+      { responseType: "blob" },
+    );
+    return response.data;
   },
 
   /**
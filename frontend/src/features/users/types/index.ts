@@ -45,3 +45,19 @@ export interface UpdateProfileRequest {
   academicDegree?: string;
   deleteAvatar?: boolean;
 }
+
+export type ImportJobStatus = "QUEUED" | "RUNNING" | "COMPLETED" | "FAILED";
+
+export interface ImportJob {
+  jobId: string;
+  fileName: string;
+  status: ImportJobStatus;
+  processed: number;
+  created: number;
+  skipped: number;
+  failed: number;
+  error?: string;
+  reportAvailable: boolean;
+  submittedAt: string;
+  finishedAt?: string;
+}